@@ -0,0 +1,85 @@
+package com.aws.sgmanager.controller;
+
+import com.aws.sgmanager.dto.AwsAccountRequestDTO;
+import com.aws.sgmanager.model.AwsAccount;
+import com.aws.sgmanager.service.AwsAccountService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/aws-accounts")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+@PreAuthorize("hasRole('ADMIN')")
+public class AwsAccountController {
+    
+    private final AwsAccountService awsAccountService;
+    
+    /**
+     * 등록된 AWS 계정 목록
+     */
+    @GetMapping
+    public ResponseEntity<List<AwsAccount>> getAllAccounts() {
+        try {
+            return ResponseEntity.ok(awsAccountService.getAllAccounts());
+        } catch (Exception e) {
+            log.error("Failed to get AWS accounts", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * AWS 계정 등록
+     */
+    @PostMapping
+    public ResponseEntity<AwsAccount> registerAccount(@Valid @RequestBody AwsAccountRequestDTO request,
+                                                      Authentication authentication) {
+        try {
+            AwsAccount created = awsAccountService.registerAccount(request, authentication.getName());
+            return ResponseEntity.status(HttpStatus.CREATED).body(created);
+        } catch (Exception e) {
+            log.error("Failed to register AWS account", e);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+    
+    /**
+     * AWS 계정 수정
+     */
+    @PutMapping("/{id}")
+    public ResponseEntity<AwsAccount> updateAccount(@PathVariable String id,
+                                                    @Valid @RequestBody AwsAccountRequestDTO request) {
+        try {
+            return ResponseEntity.ok(awsAccountService.updateAccount(id, request));
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected AWS account update {}: {}", id, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (RuntimeException e) {
+            log.error("Failed to update AWS account: {}", id, e);
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    /**
+     * AWS 계정 삭제
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteAccount(@PathVariable String id) {
+        try {
+            awsAccountService.deleteAccount(id);
+            return ResponseEntity.noContent().build();
+        } catch (RuntimeException e) {
+            log.error("Failed to delete AWS account: {}", id, e);
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
@@ -1,21 +1,34 @@
 package com.aws.sgmanager.controller;
 
 import com.aws.sgmanager.dto.SecurityGroupDTO;
+import com.aws.sgmanager.dto.SecurityGroupRuleBatchDTO;
 import com.aws.sgmanager.dto.SecurityGroupRuleDTO;
+import com.aws.sgmanager.dto.SecurityGroupSearchDTO;
+import com.aws.sgmanager.dto.SecurityGroupSummaryDTO;
+import com.aws.sgmanager.dto.SyncResultDTO;
+import com.aws.sgmanager.service.InventoryGenerationService;
+import com.aws.sgmanager.service.SecurityGroupExportService;
 import com.aws.sgmanager.service.SecurityGroupService;
+import com.aws.sgmanager.service.SecurityGroupSyncService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
 
 @Slf4j
 @RestController
@@ -24,17 +37,39 @@ import java.util.Optional;
 @CrossOrigin(origins = "*")
 public class SecurityGroupController {
     
+    private static final String LAST_SYNCED_HEADER = "X-Last-Synced-At";
+    
+    // 브라우저가 매번 If-None-Match로 재검증하도록 (사용자별 응답이므로 공유 캐시에는 저장하지 않음)
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+    
     private final SecurityGroupService securityGroupService;
+    private final SecurityGroupSyncService securityGroupSyncService;
+    private final SecurityGroupExportService securityGroupExportService;
+    private final InventoryGenerationService inventoryGenerationService;
     
     /**
-     * 모든 Security Group 조회
+     * 모든 Security Group 조회 (DB 기준, 마지막 동기화 시각을 헤더로 반환)
+     * 인벤토리 세대가 같으면 If-None-Match에 304로 응답한다.
      */
     @GetMapping
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    public ResponseEntity<List<SecurityGroupDTO>> getAllSecurityGroups() {
+    public ResponseEntity<List<SecurityGroupDTO>> getAllSecurityGroups(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
-            List<SecurityGroupDTO> securityGroups = securityGroupService.getAllSecurityGroups();
-            return ResponseEntity.ok(securityGroups);
+            // 세대를 데이터보다 먼저 읽음 (InventoryGenerationService 참고)
+            LocalDateTime asOf = inventoryGenerationService.asOf();
+            String etag = InventoryGenerationService.etag(inventoryGenerationService.current(), asOf);
+            if (notModified(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
+            }
+            
+            List<SecurityGroupDTO> securityGroups = securityGroupService.getAllSecurityGroups(asOf);
+            
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE);
+            securityGroupSyncService.getLastSyncedAt()
+                    .ifPresent(lastSyncedAt -> response.header(LAST_SYNCED_HEADER, lastSyncedAt.toString()));
+            
+            return response.body(securityGroups);
         } catch (Exception e) {
             log.error("Failed to get all security groups", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -42,16 +77,117 @@ public class SecurityGroupController {
     }
     
     /**
-     * 특정 Security Group 조회
+     * Security Group 검색 (조건/정렬/페이지를 서버에서 처리)
+     * 예: /search?vpcId=vpc-1&namePrefix=web&tagKey=env&tagValue=prod&hasExpiredRules=true&page=0&size=50&sort=groupName,asc
+     */
+    @GetMapping("/search")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<Page<SecurityGroupDTO>> searchSecurityGroups(SecurityGroupSearchDTO filter, Pageable pageable) {
+        try {
+            return ResponseEntity.ok(securityGroupService.searchSecurityGroups(filter, pageable));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            log.error("Failed to search security groups", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Security Group 요약 검색 (규칙 배열 제외, 대시보드/목록 화면용)
+     */
+    @GetMapping("/summary")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<Page<SecurityGroupSummaryDTO>> searchSecurityGroupSummaries(SecurityGroupSearchDTO filter, Pageable pageable) {
+        try {
+            return ResponseEntity.ok(securityGroupService.searchSecurityGroupSummaries(filter, pageable));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            log.error("Failed to search security group summaries", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * 전체 Security Group 내보내기 (관리자만, 감사용)
+     * NDJSON은 그룹당 한 줄, CSV는 규칙당 한 줄(규칙이 없는 그룹은 한 줄)이며 groupId 순으로 스트리밍한다.
+     * 중단된 경우 마지막으로 온전히 받은 groupId를 after로 넘기면 이어서 받을 수 있다.
+     * CSV는 마지막 groupId의 줄이 일부만 왔을 수 있으므로 그 줄들은 버리고 바로 앞 groupId를 넘긴다.
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportSecurityGroups(
+            @RequestParam(defaultValue = "NDJSON") SecurityGroupExportService.ExportFormat format,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        String extension = format == SecurityGroupExportService.ExportFormat.CSV ? "csv" : "ndjson";
+        MediaType contentType = format == SecurityGroupExportService.ExportFormat.CSV ?
+                MediaType.parseMediaType("text/csv;charset=UTF-8") :
+                MediaType.parseMediaType("application/x-ndjson;charset=UTF-8");
+        String filename = "security-groups." + extension + (gzip ? ".gz" : "");
+        
+        StreamingResponseBody body = outputStream -> {
+            if (gzip) {
+                try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream, 64 * 1024)) {
+                    securityGroupExportService.export(format, after, gzipOutputStream);
+                }
+            } else {
+                securityGroupExportService.export(format, after, outputStream);
+            }
+        };
+        
+        return ResponseEntity.ok()
+                .contentType(gzip ? MediaType.parseMediaType("application/gzip") : contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+    
+    /**
+     * AWS 즉시 동기화 (관리자만)
+     */
+    @PostMapping("/sync")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<SyncResultDTO> syncSecurityGroups() {
+        SyncResultDTO result = securityGroupSyncService.syncNow();
+        
+        if (result.getStatus() == SyncResultDTO.SyncRunStatus.SKIPPED) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(result);
+        } else if (result.getStatus() == SyncResultDTO.SyncRunStatus.FAILED) {
+            return ResponseEntity.status(HttpStatus.BAD_GATEWAY).body(result);
+        }
+        return ResponseEntity.ok(result);
+    }
+    
+    /**
+     * 마지막 동기화 결과 조회
+     */
+    @GetMapping("/sync/status")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<SyncResultDTO> getSyncStatus() {
+        return securityGroupSyncService.getLastResult()
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+    
+    /**
+     * 특정 Security Group 조회 (그룹 세대 기준 ETag)
      */
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    public ResponseEntity<SecurityGroupDTO> getSecurityGroup(@PathVariable String id) {
+    public ResponseEntity<SecurityGroupDTO> getSecurityGroup(
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
-            Optional<SecurityGroupDTO> securityGroup = securityGroupService.getSecurityGroup(id);
+            LocalDateTime asOf = inventoryGenerationService.asOf();
+            Optional<SecurityGroupDTO> securityGroup = securityGroupService.getSecurityGroup(id, asOf);
             
             if (securityGroup.isPresent()) {
-                return ResponseEntity.ok(securityGroup.get());
+                String etag = InventoryGenerationService.etag(securityGroup.get().getGeneration(), asOf);
+                if (notModified(ifNoneMatch, etag)) {
+                    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
+                }
+                return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).body(securityGroup.get());
             } else {
                 return ResponseEntity.notFound().build();
             }
@@ -155,6 +291,9 @@ public class SecurityGroupController {
             SecurityGroupDTO updated = securityGroupService.addInboundRule(id, ruleDTO, createdBy);
             
             return ResponseEntity.ok(updated);
+        } catch (IllegalStateException e) {
+            log.warn("Rejected duplicate rule for security group {}: {}", id, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (RuntimeException e) {
             if (e.getMessage().contains("not found")) {
                 return ResponseEntity.notFound().build();
@@ -178,6 +317,9 @@ public class SecurityGroupController {
             SecurityGroupDTO updated = securityGroupService.addOutboundRule(id, ruleDTO, createdBy);
             
             return ResponseEntity.ok(updated);
+        } catch (IllegalStateException e) {
+            log.warn("Rejected duplicate rule for security group {}: {}", id, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (RuntimeException e) {
             if (e.getMessage().contains("not found")) {
                 return ResponseEntity.notFound().build();
@@ -187,6 +329,58 @@ public class SecurityGroupController {
         }
     }
     
+    /**
+     * 인바운드 규칙 일괄 추가 (관리자만)
+     */
+    @PostMapping("/{id}/inbound-rules:batch")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<SecurityGroupDTO> addInboundRules(
+            @PathVariable String id,
+            @Valid @RequestBody SecurityGroupRuleBatchDTO batchDTO,
+            Authentication authentication) {
+        try {
+            String createdBy = authentication.getName();
+            SecurityGroupDTO updated = securityGroupService.addInboundRules(id, batchDTO.getRules(), createdBy);
+            
+            return ResponseEntity.ok(updated);
+        } catch (IllegalStateException e) {
+            log.warn("Rejected duplicate rule for security group {}: {}", id, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (RuntimeException e) {
+            if (e.getMessage().contains("not found")) {
+                return ResponseEntity.notFound().build();
+            }
+            log.error("Failed to add inbound rules to security group: {}", id, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * 아웃바운드 규칙 일괄 추가 (관리자만)
+     */
+    @PostMapping("/{id}/outbound-rules:batch")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<SecurityGroupDTO> addOutboundRules(
+            @PathVariable String id,
+            @Valid @RequestBody SecurityGroupRuleBatchDTO batchDTO,
+            Authentication authentication) {
+        try {
+            String createdBy = authentication.getName();
+            SecurityGroupDTO updated = securityGroupService.addOutboundRules(id, batchDTO.getRules(), createdBy);
+            
+            return ResponseEntity.ok(updated);
+        } catch (IllegalStateException e) {
+            log.warn("Rejected duplicate rule for security group {}: {}", id, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (RuntimeException e) {
+            if (e.getMessage().contains("not found")) {
+                return ResponseEntity.notFound().build();
+            }
+            log.error("Failed to add outbound rules to security group: {}", id, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
     /**
      * 만료된 Security Group 조회
      */
@@ -219,22 +413,45 @@ public class SecurityGroupController {
     }
     
     /**
-     * Security Group 시각화 데이터 조회
+     * Security Group 시각화 데이터 조회 (인벤토리 세대 기준 ETag)
      */
     @GetMapping("/visualization")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    public ResponseEntity<SecurityGroupVisualizationData> getVisualizationData() {
+    public ResponseEntity<SecurityGroupVisualizationData> getVisualizationData(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
-            List<SecurityGroupDTO> securityGroups = securityGroupService.getAllSecurityGroups();
+            LocalDateTime asOf = inventoryGenerationService.asOf();
+            String etag = InventoryGenerationService.etag(inventoryGenerationService.current(), asOf);
+            if (notModified(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
+            }
+            
+            List<SecurityGroupDTO> securityGroups = securityGroupService.getAllSecurityGroups(asOf);
             SecurityGroupVisualizationData data = buildVisualizationData(securityGroups);
             
-            return ResponseEntity.ok(data);
+            return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).body(data);
         } catch (Exception e) {
             log.error("Failed to get visualization data", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
     
+    /**
+     * If-None-Match에 현재 ETag가 있는지 확인 (본문을 만들기 전에 304 여부 판단)
+     */
+    private static boolean notModified(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag) || tag.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
     /**
      * 시각화 데이터 구성
      */
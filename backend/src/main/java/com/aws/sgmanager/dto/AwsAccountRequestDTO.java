@@ -0,0 +1,51 @@
+package com.aws.sgmanager.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * AWS 계정 등록/수정 요청
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AwsAccountRequestDTO {
+    
+    @NotBlank(message = "AWS account ID is required")
+    @Pattern(regexp = "\\d{12}", message = "AWS account ID must be 12 digits")
+    private String accountId;
+    
+    @Size(max = 100, message = "Name must not exceed 100 characters")
+    private String name;
+    
+    @NotBlank(message = "Role ARN is required")
+    @Pattern(regexp = "arn:aws[a-z-]*:iam::\\d{12}:role/[\\w+=,.@/-]+", message = "Role ARN must be an IAM role ARN")
+    private String roleArn;
+    
+    @Size(max = 1224, message = "External ID must not exceed 1224 characters")
+    private String externalId;
+    
+    private List<@Pattern(regexp = "[a-z]{2}(-[a-z]+)+-\\d", message = "Invalid AWS region") String> regions;
+    
+    private Boolean enabled; // 비어 있으면 등록 시 true, 수정 시 기존 값 유지
+    
+    /**
+     * AssumeRole 대상 역할은 등록하려는 계정에 있어야 함
+     */
+    @AssertTrue(message = "Role ARN must belong to the AWS account")
+    public boolean isRoleInAccount() {
+        if (accountId == null || roleArn == null) {
+            return true;
+        }
+        return roleArn.contains(":iam::" + accountId + ":role/");
+    }
+}
@@ -34,6 +34,10 @@ public class SecurityGroupDTO {
     
     private String ownerId;
     
+    private String accountId;
+    
+    private String region;
+    
     private List<SecurityGroupRuleDTO> inboundRules;
     
     private List<SecurityGroupRuleDTO> outboundRules;
@@ -54,6 +58,8 @@ public class SecurityGroupDTO {
     
     private SecurityGroup.SyncStatus syncStatus;
     
+    private long generation; // 그룹 단위 변경 세대 (ETag)
+    
     // 추가 정보
     private int totalInboundRules;
     
@@ -0,0 +1,22 @@
+package com.aws.sgmanager.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SecurityGroupRuleBatchDTO {
+    
+    @NotEmpty(message = "At least one rule is required")
+    @Size(max = 1000, message = "A batch must not exceed 1000 rules")
+    private List<@Valid SecurityGroupRuleDTO> rules;
+}
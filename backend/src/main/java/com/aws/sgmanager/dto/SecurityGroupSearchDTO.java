@@ -0,0 +1,33 @@
+package com.aws.sgmanager.dto;
+
+import com.aws.sgmanager.model.SecurityGroup;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+/**
+ * Security Group 목록 검색 조건 (모든 조건은 선택, 지정한 조건은 AND로 결합)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SecurityGroupSearchDTO {
+    
+    private String vpcId;
+    
+    private String accountId;
+    
+    private String region;
+    
+    private String namePrefix; // 그룹 이름 접두사
+    
+    private String tagKey;
+    
+    private String tagValue; // tagKey와 함께 사용 (없으면 태그 존재 여부만 확인)
+    
+    private Boolean hasExpiredRules;
+    
+    private SecurityGroup.SyncStatus syncStatus; // 없으면 DELETED 제외
+}
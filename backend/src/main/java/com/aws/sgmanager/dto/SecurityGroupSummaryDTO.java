@@ -0,0 +1,50 @@
+package com.aws.sgmanager.dto;
+
+import com.aws.sgmanager.model.SecurityGroup;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * 목록 화면용 Security Group 요약 (규칙 배열 제외)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SecurityGroupSummaryDTO {
+    
+    private String id;
+    
+    private String groupId;
+    
+    private String groupName;
+    
+    private String vpcId;
+    
+    private String accountId;
+    
+    private String region;
+    
+    private Map<String, String> tags;
+    
+    private LocalDateTime expiryDate;
+    
+    private boolean autoDelete;
+    
+    private LocalDateTime lastSyncedAt;
+    
+    private SecurityGroup.SyncStatus syncStatus;
+    
+    private int totalInboundRules;
+    
+    private int totalOutboundRules;
+    
+    private int expiredRulesCount;
+    
+    private boolean hasExpiredRules;
+}
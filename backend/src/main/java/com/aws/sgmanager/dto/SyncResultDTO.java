@@ -0,0 +1,68 @@
+package com.aws.sgmanager.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SyncResultDTO {
+    
+    private SyncRunStatus status;
+    
+    private String trigger; // SCHEDULED, MANUAL
+    
+    private LocalDateTime startedAt;
+    
+    private LocalDateTime completedAt;
+    
+    private long durationMs;
+    
+    // 처리 건수
+    private int pageCount;
+    
+    private int fetchedCount;
+    
+    private int createdCount;
+    
+    private int updatedCount;
+    
+    private int unchangedCount;
+    
+    private int deletedCount;
+    
+    private String errorMessage;
+    
+    private List<RegionResult> regionResults;
+    
+    public enum SyncRunStatus {
+        RUNNING,     // 동기화 진행 중
+        SUCCESS,     // 동기화 성공
+        PARTIAL,     // 일부 리전 실패
+        FAILED,      // 동기화 실패
+        SKIPPED      // 이미 실행 중이어서 건너뜀
+    }
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class RegionResult {
+        private String accountId; // null이면 기본 계정
+        private String region;
+        private SyncRunStatus status;
+        private int fetchedCount;
+        private int createdCount;
+        private int updatedCount;
+        private int unchangedCount;
+        private int deletedCount;
+        private long durationMs;
+        private String errorMessage;
+    }
+}
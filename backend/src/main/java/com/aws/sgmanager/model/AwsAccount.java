@@ -0,0 +1,42 @@
+package com.aws.sgmanager.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.index.Indexed;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "aws_accounts")
+public class AwsAccount {
+    
+    @Id
+    private String id;
+    
+    @Indexed(unique = true)
+    private String accountId; // AWS 계정 ID
+    
+    private String name;
+    
+    private String roleArn; // AssumeRole 대상 역할
+    
+    private String externalId;
+    
+    private List<String> regions; // 비어 있으면 aws.regions 사용
+    
+    private boolean enabled;
+    
+    private String createdBy;
+    
+    private LocalDateTime createdAt;
+    
+    private LocalDateTime updatedAt;
+}
@@ -9,6 +9,7 @@ import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.index.Indexed;
 
 import java.time.LocalDateTime;
+import java.util.Set;
 
 @Data
 @NoArgsConstructor
@@ -38,9 +39,7 @@ public class ExpirySchedule {
     private LocalDateTime updatedAt;
     
     // 알림 관련
-    private boolean notificationSent1Day;
-    
-    private boolean notificationSentSameDay;
+    private Set<String> notifiedHorizons; // 이미 알림을 보낸 경고 시점 (예: 7d, 1d, 1h)
     
     private LocalDateTime lastNotificationAt;
     
@@ -51,6 +50,14 @@ public class ExpirySchedule {
     
     private String errorMessage;
     
+    // 실행 선점 관련 (여러 인스턴스 중 하나만 실행)
+    private String claimedBy;
+    
+    private LocalDateTime claimedAt;
+    
+    @Indexed(sparse = true)
+    private String claimToken;
+    
     public enum ExpiryAction {
         DELETE_RULE,        // 규칙 삭제
         DELETE_GROUP,       // Security Group 삭제
@@ -60,6 +67,7 @@ public class ExpirySchedule {
     public enum ExpiryStatus {
         SCHEDULED,          // 예약됨
         NOTIFICATION_SENT,  // 알림 전송됨
+        EXECUTING,          // 실행 중 (인스턴스가 선점함)
         EXECUTED,           // 실행됨
         FAILED,             // 실행 실패
         CANCELLED           // 취소됨
@@ -0,0 +1,25 @@
+package com.aws.sgmanager.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "inventory_generations")
+public class InventoryGeneration {
+    
+    @Id
+    private String name; // 대상 인벤토리 (예: security-groups)
+    
+    private long generation; // 변경될 때마다 증가
+    
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,29 @@
+package com.aws.sgmanager.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "lease_locks")
+public class LeaseLock {
+    
+    @Id
+    private String name; // 잠금 이름 (작업 단위)
+    
+    private String owner; // 보유 인스턴스 ID
+    
+    private long fencingToken; // 획득할 때마다 증가 (문서를 지우지 않으므로 단조 증가)
+    
+    private LocalDateTime acquiredAt;
+    
+    private LocalDateTime expiresAt; // 해제 시 현재 시각으로 설정 (문서는 유지)
+}
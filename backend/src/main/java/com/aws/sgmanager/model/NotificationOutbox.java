@@ -0,0 +1,66 @@
+package com.aws.sgmanager.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "notification_outbox")
+@CompoundIndex(name = "status_next_attempt", def = "{'status': 1, 'nextAttemptAt': 1}")
+public class NotificationOutbox {
+    
+    @Id
+    private String id;
+    
+    private Channel channel;
+    
+    private String recipient; // 이메일 주소 또는 Slack 채널 이름 (webhook URL은 저장하지 않고 전송 시 설정에서 찾음)
+    
+    private String subject;
+    
+    private String message;
+    
+    private String color; // Slack 첨부 색상
+    
+    private boolean digest; // 요약 대상 (같은 window의 수신자별 알림과 묶어 전송)
+    
+    private OutboxStatus status;
+    
+    private int attempts;
+    
+    private LocalDateTime nextAttemptAt;
+    
+    private String lastError;
+    
+    // 전송 선점 관련
+    private String lockedBy;
+    
+    private LocalDateTime lockedAt;
+    
+    private LocalDateTime createdAt;
+    
+    @Indexed(expireAfterSeconds = 604800)
+    private LocalDateTime sentAt; // 전송 완료 후 7일 뒤 정리
+    
+    public enum Channel {
+        EMAIL,              // 이메일
+        SLACK               // Slack webhook
+    }
+    
+    public enum OutboxStatus {
+        PENDING,            // 전송 대기
+        SENDING,            // 전송 중
+        SENT,               // 전송 완료
+        DEAD                // 재시도 한도 초과
+    }
+}
@@ -25,18 +25,33 @@ public class SecurityGroup {
     @Indexed(unique = true)
     private String groupId; // AWS Security Group ID
     
+    @Indexed
     private String groupName;
     
     private String description;
     
+    @Indexed
     private String vpcId;
     
     private String ownerId;
     
+    @Indexed
+    private String accountId; // 등록된 AWS 계정 ID (null이면 기본 자격 증명 계정)
+    
+    @Indexed
+    private String region; // AWS 리전
+    
     private List<SecurityGroupRule> inboundRules;
     
     private List<SecurityGroupRule> outboundRules;
     
+    // 규칙 요약 (규칙이 바뀔 때 refreshRuleStats로 다시 계산해 함께 저장)
+    private int totalInboundRules;
+    
+    private int totalOutboundRules;
+    
+    private LocalDateTime earliestRuleExpiry;
+    
     private Map<String, String> tags;
     
     private LocalDateTime expiryDate;
@@ -49,8 +64,15 @@ public class SecurityGroup {
     
     private LocalDateTime updatedAt;
     
+    @Indexed
     private LocalDateTime lastSyncedAt;
     
+    // AWS 데이터 지문 (이름, 설명, 규칙, 태그) - 변경 없는 그룹은 동기화 시 재기록하지 않음
+    private String contentHash;
+    
+    // 문서가 바뀔 때마다 증가 (그룹 단위 ETag)
+    private long generation;
+    
     // AWS와 동기화 상태
     private SyncStatus syncStatus;
     
@@ -60,4 +82,26 @@ public class SecurityGroup {
         FAILED,      // 동기화 실패
         DELETED      // AWS에서 삭제됨
     }
+    
+    /**
+     * 규칙 개수, 가장 이른 규칙 만료일, 규칙별 포트 범위 다시 계산 (현재 시각과 무관한 값만)
+     */
+    public void refreshRuleStats() {
+        List<SecurityGroupRule> inbound = inboundRules != null ? inboundRules : List.of();
+        List<SecurityGroupRule> outbound = outboundRules != null ? outboundRules : List.of();
+        
+        LocalDateTime earliest = null;
+        for (List<SecurityGroupRule> rules : List.of(inbound, outbound)) {
+            for (SecurityGroupRule rule : rules) {
+                rule.setPortRange(SecurityGroupRule.formatPortRange(rule.getFromPort(), rule.getToPort()));
+                if (rule.getExpiryDate() != null && (earliest == null || rule.getExpiryDate().isBefore(earliest))) {
+                    earliest = rule.getExpiryDate();
+                }
+            }
+        }
+        
+        this.totalInboundRules = inbound.size();
+        this.totalOutboundRules = outbound.size();
+        this.earliestRuleExpiry = earliest;
+    }
 }
@@ -45,10 +45,22 @@ public class SecurityGroupRule {
     // 규칙 타입 (INBOUND, OUTBOUND)
     private RuleType ruleType;
     
+    private String portRange; // "80" or "80-443" or "All" (저장 시 계산)
+    
     public enum RuleType {
         INBOUND, OUTBOUND
     }
     
+    /**
+     * 포트 범위 표시 문자열 ("80", "80-443", "All")
+     */
+    public static String formatPortRange(Integer fromPort, Integer toPort) {
+        if (fromPort == null || toPort == null) {
+            return "All";
+        }
+        return fromPort.equals(toPort) ? fromPort.toString() : fromPort + "-" + toPort;
+    }
+    
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
@@ -0,0 +1,18 @@
+package com.aws.sgmanager.repository;
+
+import com.aws.sgmanager.model.AwsAccount;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AwsAccountRepository extends MongoRepository<AwsAccount, String> {
+    
+    Optional<AwsAccount> findByAccountId(String accountId);
+    
+    List<AwsAccount> findByEnabledTrue();
+    
+    boolean existsByAccountId(String accountId);
+}
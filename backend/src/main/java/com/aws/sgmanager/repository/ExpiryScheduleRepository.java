@@ -15,15 +15,11 @@ public interface ExpiryScheduleRepository extends MongoRepository<ExpirySchedule
     
     List<ExpirySchedule> findByStatus(ExpirySchedule.ExpiryStatus status);
     
+    List<ExpirySchedule> findByStatusAndExpiryDateBefore(ExpirySchedule.ExpiryStatus status, LocalDateTime before);
+    
     @Query("{ 'expiryDate' : { $lte : ?0 }, 'status' : 'SCHEDULED' }")
     List<ExpirySchedule> findSchedulesReadyForExecution(LocalDateTime currentTime);
     
-    @Query("{ 'expiryDate' : { $gte : ?0, $lte : ?1 }, 'status' : 'SCHEDULED', 'notificationSent1Day' : false }")
-    List<ExpirySchedule> findSchedulesForOneDayNotification(LocalDateTime startTime, LocalDateTime endTime);
-    
-    @Query("{ 'expiryDate' : { $gte : ?0, $lte : ?1 }, 'status' : 'SCHEDULED', 'notificationSentSameDay' : false }")
-    List<ExpirySchedule> findSchedulesForSameDayNotification(LocalDateTime startTime, LocalDateTime endTime);
-    
     List<ExpirySchedule> findBySecurityGroupIdAndRuleId(String securityGroupId, String ruleId);
     
     void deleteBySecurityGroupId(String securityGroupId);
@@ -0,0 +1,9 @@
+package com.aws.sgmanager.repository;
+
+import com.aws.sgmanager.model.NotificationOutbox;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface NotificationOutboxRepository extends MongoRepository<NotificationOutbox, String> {
+}
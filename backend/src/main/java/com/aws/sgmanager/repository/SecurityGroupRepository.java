@@ -6,6 +6,7 @@ import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,6 +15,11 @@ public interface SecurityGroupRepository extends MongoRepository<SecurityGroup,
     
     Optional<SecurityGroup> findByGroupId(String groupId);
     
+    @Query(value = "{ 'groupId' : ?0 }", fields = "{ '_id' : 1 }")
+    Optional<SecurityGroup> findIdByGroupId(String groupId);
+    
+    List<SecurityGroup> findByGroupIdIn(Collection<String> groupIds);
+    
     List<SecurityGroup> findByVpcId(String vpcId);
     
     List<SecurityGroup> findByCreatedBy(String createdBy);
@@ -33,4 +39,8 @@ public interface SecurityGroupRepository extends MongoRepository<SecurityGroup,
     List<SecurityGroup> findByGroupNameContainingIgnoreCase(String groupName);
     
     List<SecurityGroup> findBySyncStatus(SecurityGroup.SyncStatus syncStatus);
+    
+    List<SecurityGroup> findBySyncStatusNot(SecurityGroup.SyncStatus syncStatus);
+    
+    Optional<SecurityGroup> findFirstByOrderByLastSyncedAtDesc();
 }
@@ -0,0 +1,89 @@
+package com.aws.sgmanager.service;
+
+import com.aws.sgmanager.dto.AwsAccountRequestDTO;
+import com.aws.sgmanager.model.AwsAccount;
+import com.aws.sgmanager.repository.AwsAccountRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 동기화 대상 AWS 계정 레지스트리 관리
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AwsAccountService {
+    
+    private final AwsAccountRepository awsAccountRepository;
+    private final Ec2ClientPool ec2ClientPool;
+    
+    public List<AwsAccount> getAllAccounts() {
+        return awsAccountRepository.findAll();
+    }
+    
+    /**
+     * 계정 등록 (활성 여부를 지정하지 않으면 바로 동기화 대상에 포함)
+     */
+    public AwsAccount registerAccount(AwsAccountRequestDTO request, String createdBy) {
+        if (awsAccountRepository.existsByAccountId(request.getAccountId())) {
+            throw new RuntimeException("AWS account already registered: " + request.getAccountId());
+        }
+        
+        AwsAccount account = AwsAccount.builder()
+                .accountId(request.getAccountId())
+                .name(request.getName())
+                .roleArn(request.getRoleArn())
+                .externalId(request.getExternalId())
+                .regions(request.getRegions())
+                .enabled(request.getEnabled() == null || request.getEnabled())
+                .createdBy(createdBy)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+                
+        AwsAccount saved = awsAccountRepository.save(account);
+        log.info("Registered AWS account {} ({})", saved.getAccountId(), saved.getRoleArn());
+        return saved;
+    }
+    
+    /**
+     * 계정 수정 (역할/리전 변경 시 캐시된 자격 증명 폐기, 계정 ID는 변경 불가)
+     */
+    public AwsAccount updateAccount(String id, AwsAccountRequestDTO request) {
+        AwsAccount existing = awsAccountRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("AWS account not found: " + id));
+                
+        if (!existing.getAccountId().equals(request.getAccountId())) {
+            throw new IllegalArgumentException("AWS account ID cannot be changed: " + existing.getAccountId());
+        }
+        
+        existing.setName(request.getName());
+        existing.setRoleArn(request.getRoleArn());
+        existing.setExternalId(request.getExternalId());
+        existing.setRegions(request.getRegions());
+        if (request.getEnabled() != null) {
+            existing.setEnabled(request.getEnabled());
+        }
+        existing.setUpdatedAt(LocalDateTime.now());
+        
+        AwsAccount saved = awsAccountRepository.save(existing);
+        ec2ClientPool.evictAccount(saved.getAccountId());
+        return saved;
+    }
+    
+    /**
+     * 계정 삭제
+     */
+    public void deleteAccount(String id) {
+        AwsAccount existing = awsAccountRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("AWS account not found: " + id));
+                
+        awsAccountRepository.delete(existing);
+        ec2ClientPool.evictAccount(existing.getAccountId());
+        log.info("Deleted AWS account {}", existing.getAccountId());
+    }
+}
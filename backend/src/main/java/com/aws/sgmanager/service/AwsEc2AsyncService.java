@@ -0,0 +1,175 @@
+package com.aws.sgmanager.service;
+
+import com.aws.sgmanager.model.SecurityGroup;
+import com.aws.sgmanager.model.SecurityGroupRule;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.ec2.Ec2AsyncClient;
+import software.amazon.awssdk.services.ec2.model.*;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 비동기 EC2 호출 서비스 (Ec2AsyncClient 기반)
+ * 호출 스레드를 점유하지 않고 CompletableFuture를 반환하므로, 규칙 일괄 적용이나 만료 처리처럼
+ * 여러 요청을 동시에 보내야 하는 경로에서 적은 스레드로 요청을 겹쳐 보낼 수 있다.
+ * 모든 호출은 AwsRateLimiter를 거치며, 재시도 후에도 실패하면 future는 원인을 감싼 RuntimeException으로 완료된다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AwsEc2AsyncService {
+    
+    private final Ec2ClientPool ec2ClientPool;
+    private final SecurityGroupMapper securityGroupMapper;
+    private final AwsRateLimiter awsRateLimiter;
+    
+    /**
+     * 특정 Security Group 조회 (없으면 null)
+     */
+    public CompletableFuture<SecurityGroup> getSecurityGroup(AwsTarget target, String groupId) {
+        DescribeSecurityGroupsRequest request = DescribeSecurityGroupsRequest.builder()
+                .groupIds(groupId)
+                .build();
+                
+        AwsTarget resolved = ec2ClientPool.resolve(target);
+        return withErrorContext(call(target, "DescribeSecurityGroups", client -> client.describeSecurityGroups(request))
+                .thenApply(response -> response.securityGroups().isEmpty() ? null :
+                        securityGroupMapper.convertToSecurityGroup(response.securityGroups().get(0), resolved)),
+                "Failed to fetch security group from AWS", groupId);
+    }
+    
+    /**
+     * Security Group 생성
+     *
+     * @return 생성된 groupId
+     */
+    public CompletableFuture<String> createSecurityGroup(AwsTarget target, String groupName, String description, String vpcId) {
+        CreateSecurityGroupRequest request = CreateSecurityGroupRequest.builder()
+                .groupName(groupName)
+                .description(description)
+                .vpcId(vpcId)
+                .build();
+                
+        return withErrorContext(call(target, "CreateSecurityGroup", client -> client.createSecurityGroup(request))
+                .thenApply(response -> {
+                    log.info("Created security group: {}", response.groupId());
+                    return response.groupId();
+                }), "Failed to create security group", groupName);
+    }
+    
+    /**
+     * Security Group 삭제
+     */
+    public CompletableFuture<Void> deleteSecurityGroup(AwsTarget target, String groupId) {
+        DeleteSecurityGroupRequest request = DeleteSecurityGroupRequest.builder()
+                .groupId(groupId)
+                .build();
+                
+        return withErrorContext(call(target, "DeleteSecurityGroup", client -> client.deleteSecurityGroup(request))
+                .thenAccept(response -> log.info("Deleted security group: {}", groupId)),
+                "Failed to delete security group", groupId);
+    }
+    
+    /**
+     * 인바운드 규칙 추가 (여러 규칙을 한 번의 호출로 적용)
+     */
+    public CompletableFuture<Void> addInboundRules(AwsTarget target, String groupId, List<SecurityGroupRule> rules) {
+        AuthorizeSecurityGroupIngressRequest request = AuthorizeSecurityGroupIngressRequest.builder()
+                .groupId(groupId)
+                .ipPermissions(toIpPermissions(rules))
+                .build();
+                
+        return withErrorContext(call(target, "AuthorizeSecurityGroupIngress", client -> client.authorizeSecurityGroupIngress(request))
+                .thenAccept(response -> log.info("Added {} inbound rule(s) to security group: {}", rules.size(), groupId)),
+                "Failed to add inbound rule", groupId);
+    }
+    
+    /**
+     * 아웃바운드 규칙 추가 (여러 규칙을 한 번의 호출로 적용)
+     */
+    public CompletableFuture<Void> addOutboundRules(AwsTarget target, String groupId, List<SecurityGroupRule> rules) {
+        AuthorizeSecurityGroupEgressRequest request = AuthorizeSecurityGroupEgressRequest.builder()
+                .groupId(groupId)
+                .ipPermissions(toIpPermissions(rules))
+                .build();
+                
+        return withErrorContext(call(target, "AuthorizeSecurityGroupEgress", client -> client.authorizeSecurityGroupEgress(request))
+                .thenAccept(response -> log.info("Added {} outbound rule(s) to security group: {}", rules.size(), groupId)),
+                "Failed to add outbound rule", groupId);
+    }
+    
+    /**
+     * 인바운드 규칙 삭제 (여러 규칙을 한 번의 호출로 적용)
+     */
+    public CompletableFuture<Void> removeInboundRules(AwsTarget target, String groupId, List<SecurityGroupRule> rules) {
+        RevokeSecurityGroupIngressRequest request = RevokeSecurityGroupIngressRequest.builder()
+                .groupId(groupId)
+                .ipPermissions(toIpPermissions(rules))
+                .build();
+                
+        return withErrorContext(call(target, "RevokeSecurityGroupIngress", client -> client.revokeSecurityGroupIngress(request))
+                .thenAccept(response -> log.info("Removed {} inbound rule(s) from security group: {}", rules.size(), groupId)),
+                "Failed to remove inbound rule", groupId);
+    }
+    
+    /**
+     * 아웃바운드 규칙 삭제 (여러 규칙을 한 번의 호출로 적용)
+     */
+    public CompletableFuture<Void> removeOutboundRules(AwsTarget target, String groupId, List<SecurityGroupRule> rules) {
+        RevokeSecurityGroupEgressRequest request = RevokeSecurityGroupEgressRequest.builder()
+                .groupId(groupId)
+                .ipPermissions(toIpPermissions(rules))
+                .build();
+                
+        return withErrorContext(call(target, "RevokeSecurityGroupEgress", client -> client.revokeSecurityGroupEgress(request))
+                .thenAccept(response -> log.info("Removed {} outbound rule(s) from security group: {}", rules.size(), groupId)),
+                "Failed to remove outbound rule", groupId);
+    }
+    
+    /**
+     * 비동기 결과 대기 (CompletionException을 벗겨 원래 RuntimeException으로 전달)
+     */
+    public static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+    
+    /**
+     * 대상 클라이언트로 호출 (계정/리전별 속도 제한 적용)
+     */
+    private <T> CompletableFuture<T> call(AwsTarget target, String operation,
+                                          Function<Ec2AsyncClient, CompletableFuture<T>> request) {
+        AwsTarget resolved = ec2ClientPool.resolve(target);
+        Ec2AsyncClient client = ec2ClientPool.getAsyncClient(resolved);
+        return awsRateLimiter.execute(resolved, operation, () -> request.apply(client));
+    }
+    
+    private List<IpPermission> toIpPermissions(List<SecurityGroupRule> rules) {
+        return rules.stream()
+                .map(securityGroupMapper::convertToIpPermission)
+                .collect(Collectors.toList());
+    }
+    
+    private <T> CompletableFuture<T> withErrorContext(CompletableFuture<T> future, String message, String groupId) {
+        return future.handle((result, error) -> {
+            if (error == null) {
+                return result;
+            }
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            log.error("{}: {}", message, groupId, cause);
+            throw new RuntimeException(message, cause);
+        });
+    }
+}
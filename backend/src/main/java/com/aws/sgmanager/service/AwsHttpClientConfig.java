@@ -0,0 +1,84 @@
+package com.aws.sgmanager.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+
+import java.time.Duration;
+
+/**
+ * AWS SDK HTTP 클라이언트 설정
+ * 모든 계정/리전 클라이언트가 하나의 커넥션 풀을 공유하므로, SDK 클라이언트를 닫아도 풀은 유지되고
+ * 애플리케이션 종료 시 빈 소멸과 함께 닫힌다.
+ */
+@Slf4j
+@Configuration
+public class AwsHttpClientConfig {
+    
+    @Value("${aws.http.max-connections:50}")
+    private int maxConnections;
+    
+    @Value("${aws.http.connection-timeout-ms:2000}")
+    private long connectionTimeoutMs;
+    
+    @Value("${aws.http.socket-timeout-ms:30000}")
+    private long socketTimeoutMs;
+    
+    @Value("${aws.http.connection-max-idle-ms:60000}")
+    private long connectionMaxIdleMs;
+    
+    @Value("${aws.http.connection-ttl-ms:300000}")
+    private long connectionTtlMs;
+    
+    @Value("${aws.http.tcp-keep-alive:true}")
+    private boolean tcpKeepAlive;
+    
+    @Value("${aws.http.async-max-concurrency:100}")
+    private int asyncMaxConcurrency;
+    
+    @Value("${aws.http.async-max-pending-acquires:1000}")
+    private int asyncMaxPendingAcquires;
+    
+    /**
+     * 동기 클라이언트용 Apache HTTP 클라이언트
+     */
+    @Bean(destroyMethod = "close")
+    public SdkHttpClient sdkHttpClient() {
+        log.info("Creating Apache HTTP client for AWS SDK (maxConnections={}, keepAlive={})", maxConnections, tcpKeepAlive);
+        
+        return ApacheHttpClient.builder()
+                .maxConnections(maxConnections)
+                .connectionTimeout(Duration.ofMillis(connectionTimeoutMs))
+                .socketTimeout(Duration.ofMillis(socketTimeoutMs))
+                .connectionMaxIdleTime(Duration.ofMillis(connectionMaxIdleMs))
+                .connectionTimeToLive(Duration.ofMillis(connectionTtlMs))
+                .tcpKeepAlive(tcpKeepAlive)
+                .useIdleConnectionReaper(true)
+                .build();
+    }
+    
+    /**
+     * 비동기 클라이언트용 Netty HTTP 클라이언트
+     */
+    @Bean(destroyMethod = "close")
+    public SdkAsyncHttpClient sdkAsyncHttpClient() {
+        log.info("Creating Netty HTTP client for AWS SDK (maxConcurrency={}, keepAlive={})", asyncMaxConcurrency, tcpKeepAlive);
+        
+        return NettyNioAsyncHttpClient.builder()
+                .maxConcurrency(asyncMaxConcurrency)
+                .maxPendingConnectionAcquires(asyncMaxPendingAcquires)
+                .connectionTimeout(Duration.ofMillis(connectionTimeoutMs))
+                .readTimeout(Duration.ofMillis(socketTimeoutMs))
+                .writeTimeout(Duration.ofMillis(socketTimeoutMs))
+                .connectionMaxIdleTime(Duration.ofMillis(connectionMaxIdleMs))
+                .connectionTimeToLive(Duration.ofMillis(connectionTtlMs))
+                .tcpKeepAlive(tcpKeepAlive)
+                .useIdleConnectionReaper(true)
+                .build();
+    }
+}
@@ -0,0 +1,290 @@
+package com.aws.sgmanager.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.exception.SdkServiceException;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 계정/리전별 EC2 호출 속도 제한기
+ * 대상마다 토큰 버킷을 두고, 스로틀링 응답을 받으면 허용 속도를 곱셈으로 줄이고 성공할 때마다 덧셈으로 늘린다(AIMD).
+ * 재시도는 대상별 재시도 예산에서 차감하므로 장애 시 재시도가 호출량을 증폭시키지 않는다.
+ * SDK 자체 재시도는 Ec2ClientPool에서 꺼 두고 이 클래스에서만 재시도한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AwsRateLimiter {
+    
+    private final MeterRegistry meterRegistry;
+    
+    @Value("${aws.rate-limit.initial-rate:20}")
+    private double initialRate;
+    
+    @Value("${aws.rate-limit.min-rate:1}")
+    private double minRate;
+    
+    @Value("${aws.rate-limit.max-rate:50}")
+    private double maxRate;
+    
+    @Value("${aws.rate-limit.burst:20}")
+    private double burst;
+    
+    @Value("${aws.rate-limit.increase-per-success:0.5}")
+    private double increasePerSuccess;
+    
+    @Value("${aws.rate-limit.decrease-factor:0.5}")
+    private double decreaseFactor;
+    
+    @Value("${aws.retry.max-attempts:5}")
+    private int maxAttempts;
+    
+    @Value("${aws.retry.base-delay-ms:100}")
+    private long baseDelayMs;
+    
+    @Value("${aws.retry.max-delay-ms:20000}")
+    private long maxDelayMs;
+    
+    @Value("${aws.retry.budget-capacity:100}")
+    private double retryBudgetCapacity;
+    
+    @Value("${aws.retry.budget-cost:5}")
+    private double retryCost;
+    
+    private final Map<AwsTarget, TargetLimiter> limiters = new ConcurrentHashMap<>();
+    
+    /**
+     * 비동기 호출 실행 (속도 제한 대기와 재시도 지연 모두 스레드를 점유하지 않음)
+     */
+    public <T> CompletableFuture<T> execute(AwsTarget target, String operation, Supplier<CompletableFuture<T>> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        attempt(limiterFor(target), operation, call, 1, result);
+        return result;
+    }
+    
+    /**
+     * 동기 호출 실행 (호출 스레드에서 대기)
+     */
+    public <T> T executeBlocking(AwsTarget target, String operation, Supplier<T> call) {
+        TargetLimiter limiter = limiterFor(target);
+        
+        for (int attempt = 1; ; attempt++) {
+            sleep(TimeUnit.NANOSECONDS.toMillis(limiter.reserve()));
+            try {
+                T value = call.get();
+                onSuccess(limiter, operation);
+                return value;
+            } catch (RuntimeException e) {
+                long retryDelayMs = onFailure(limiter, operation, e, attempt);
+                if (retryDelayMs < 0) {
+                    throw e;
+                }
+                sleep(retryDelayMs);
+            }
+        }
+    }
+    
+    /**
+     * 현재 허용 속도 (초당 요청 수)
+     */
+    public double getCurrentRate(AwsTarget target) {
+        return limiterFor(target).rate;
+    }
+    
+    private <T> void attempt(TargetLimiter limiter, String operation, Supplier<CompletableFuture<T>> call,
+                             int attempt, CompletableFuture<T> result) {
+        long waitNanos = limiter.reserve();
+        Executor executor = waitNanos > 0 ?
+                CompletableFuture.delayedExecutor(waitNanos, TimeUnit.NANOSECONDS) : Runnable::run;
+                
+        executor.execute(() -> {
+            CompletableFuture<T> future;
+            try {
+                future = call.get();
+            } catch (RuntimeException e) {
+                future = CompletableFuture.failedFuture(e);
+            }
+            
+            future.whenComplete((value, error) -> {
+                if (error == null) {
+                    onSuccess(limiter, operation);
+                    result.complete(value);
+                    return;
+                }
+                
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                long retryDelayMs = onFailure(limiter, operation, cause, attempt);
+                if (retryDelayMs < 0) {
+                    result.completeExceptionally(cause);
+                } else {
+                    CompletableFuture.delayedExecutor(retryDelayMs, TimeUnit.MILLISECONDS)
+                            .execute(() -> attempt(limiter, operation, call, attempt + 1, result));
+                }
+            });
+        });
+    }
+    
+    private void onSuccess(TargetLimiter limiter, String operation) {
+        limiter.onSuccess();
+        requestCounter(limiter, operation, "success").increment();
+    }
+    
+    /**
+     * 실패 처리
+     *
+     * @return 재시도 전 대기 시간(ms), 재시도하지 않으면 -1
+     */
+    private long onFailure(TargetLimiter limiter, String operation, Throwable error, int attempt) {
+        boolean throttled = isThrottling(error);
+        requestCounter(limiter, operation, throttled ? "throttled" : "error").increment();
+        
+        if (throttled) {
+            limiter.onThrottle();
+            log.warn("EC2 {} throttled for {}, rate limit lowered to {}/s", operation, limiter.target, String.format("%.2f", limiter.rate));
+        }
+        
+        if (!throttled && !isRetryable(error)) {
+            return -1;
+        }
+        if (attempt >= maxAttempts) {
+            return -1;
+        }
+        if (!limiter.tryAcquireRetry()) {
+            Counter.builder("aws.ec2.retry.budget.exhausted")
+                    .tag("target", limiter.target.toString())
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("Retry budget exhausted for {}, giving up on {}", limiter.target, operation);
+            return -1;
+        }
+        
+        Counter.builder("aws.ec2.retries")
+                .tag("target", limiter.target.toString())
+                .tag("operation", operation)
+                .register(meterRegistry)
+                .increment();
+                
+        // Full jitter 지수 백오프
+        long ceiling = Math.min(maxDelayMs, baseDelayMs << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+    
+    private boolean isThrottling(Throwable error) {
+        return error instanceof SdkServiceException serviceException && serviceException.isThrottlingException();
+    }
+    
+    private boolean isRetryable(Throwable error) {
+        if (error instanceof SdkServiceException serviceException) {
+            return serviceException.statusCode() >= 500;
+        }
+        return error instanceof SdkClientException;
+    }
+    
+    private Counter requestCounter(TargetLimiter limiter, String operation, String outcome) {
+        return Counter.builder("aws.ec2.requests")
+                .tag("target", limiter.target.toString())
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+    
+    private TargetLimiter limiterFor(AwsTarget target) {
+        return limiters.computeIfAbsent(target, key -> {
+            TargetLimiter limiter = new TargetLimiter(key);
+            Gauge.builder("aws.ec2.rate.limit", limiter, value -> value.rate)
+                    .tag("target", key.toString())
+                    .register(meterRegistry);
+            return limiter;
+        });
+    }
+    
+    private void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for AWS rate limit", e);
+        }
+    }
+    
+    /**
+     * 대상별 토큰 버킷 + 재시도 예산
+     */
+    private class TargetLimiter {
+        
+        private final AwsTarget target;
+        
+        private volatile double rate = initialRate;
+        
+        private double tokens = burst;
+        
+        private long lastRefillNanos = System.nanoTime();
+        
+        private long lastDecreaseNanos;
+        
+        private double retryBudget = retryBudgetCapacity;
+        
+        TargetLimiter(AwsTarget target) {
+            this.target = target;
+        }
+        
+        /**
+         * 토큰 1개 예약
+         *
+         * @return 토큰을 쓸 수 있을 때까지 기다려야 하는 시간(ns)
+         */
+        synchronized long reserve() {
+            refill();
+            tokens -= 1;
+            return tokens >= 0 ? 0 : (long) (-tokens / rate * TimeUnit.SECONDS.toNanos(1));
+        }
+        
+        synchronized void onSuccess() {
+            rate = Math.min(maxRate, rate + increasePerSuccess / rate);
+            retryBudget = Math.min(retryBudgetCapacity, retryBudget + 1);
+        }
+        
+        synchronized void onThrottle() {
+            long now = System.nanoTime();
+            // 같은 순간에 몰려온 스로틀링 응답으로 속도가 연쇄 감소하지 않도록 한 주기에 한 번만 감소
+            if (now - lastDecreaseNanos < TimeUnit.SECONDS.toNanos(1)) {
+                return;
+            }
+            refill();
+            lastDecreaseNanos = now;
+            rate = Math.max(minRate, rate * decreaseFactor);
+            tokens = Math.min(tokens, 0);
+        }
+        
+        synchronized boolean tryAcquireRetry() {
+            if (retryBudget < retryCost) {
+                return false;
+            }
+            retryBudget -= retryCost;
+            return true;
+        }
+        
+        private void refill() {
+            long now = System.nanoTime();
+            tokens = Math.min(burst, tokens + (now - lastRefillNanos) / (double) TimeUnit.SECONDS.toNanos(1) * rate);
+            lastRefillNanos = now;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.aws.sgmanager.service;
+
+import com.aws.sgmanager.model.SecurityGroup;
+
+/**
+ * AWS 호출 대상 (계정 + 리전)
+ * accountId가 null이면 기본 자격 증명(aws.accessKeyId 또는 기본 체인)을 사용한다.
+ */
+public record AwsTarget(String accountId, String region) {
+    
+    public static AwsTarget of(SecurityGroup securityGroup) {
+        return new AwsTarget(securityGroup.getAccountId(), securityGroup.getRegion());
+    }
+    
+    public boolean isBaseAccount() {
+        return accountId == null;
+    }
+    
+    @Override
+    public String toString() {
+        return (accountId != null ? accountId : "default") + "/" + region;
+    }
+}
@@ -0,0 +1,352 @@
+package com.aws.sgmanager.service;
+
+import com.aws.sgmanager.model.AwsAccount;
+import com.aws.sgmanager.repository.AwsAccountRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.ec2.Ec2AsyncClient;
+import software.amazon.awssdk.services.ec2.Ec2AsyncClientBuilder;
+import software.amazon.awssdk.services.ec2.Ec2Client;
+import software.amazon.awssdk.services.ec2.Ec2ClientBuilder;
+import software.amazon.awssdk.services.ec2.model.DescribeRegionsRequest;
+import software.amazon.awssdk.services.sts.StsClient;
+import software.amazon.awssdk.services.sts.StsClientBuilder;
+import software.amazon.awssdk.services.sts.auth.StsAssumeRoleCredentialsProvider;
+import software.amazon.awssdk.services.sts.model.AssumeRoleRequest;
+import software.amazon.awssdk.utils.SdkAutoCloseable;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 계정/리전별 EC2 클라이언트 풀
+ * 대상(계정 + 리전)마다 동기/비동기 클라이언트를 하나씩 만들어 재사용하고, 등록된 계정은 STS AssumeRole
+ * 자격 증명을 만료 전에 비동기로 갱신한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class Ec2ClientPool {
+    
+    private final AwsAccountRepository awsAccountRepository;
+    private final SdkHttpClient sdkHttpClient;
+    private final SdkAsyncHttpClient sdkAsyncHttpClient;
+    
+    @Value("${aws.accessKeyId:}")
+    private String accessKeyId;
+    
+    @Value("${aws.secretAccessKey:}")
+    private String secretAccessKey;
+    
+    @Value("${aws.region}")
+    private String defaultRegion;
+    
+    @Value("${aws.regions:}")
+    private String configuredRegions;
+    
+    @Value("${aws.include-base-account:true}")
+    private boolean includeBaseAccount;
+    
+    @Value("${aws.endpoint-override:}")
+    private String ec2EndpointOverride;
+    
+    @Value("${aws.sts.endpoint-override:}")
+    private String stsEndpointOverride;
+    
+    @Value("${aws.sts.session-duration-seconds:3600}")
+    private int sessionDurationSeconds;
+    
+    @Value("${aws.sts.prefetch-seconds:300}")
+    private long prefetchSeconds;
+    
+    @Value("${aws.http.api-call-timeout-ms:60000}")
+    private long apiCallTimeoutMs;
+    
+    @Value("${aws.http.api-call-attempt-timeout-ms:15000}")
+    private long apiCallAttemptTimeoutMs;
+    
+    @Value("${aws.http.warm-up:true}")
+    private boolean warmUp;
+    
+    @Value("${aws.evicted-client-close-delay-ms:360000}")
+    private long evictedClientCloseDelayMs;
+    
+    private AwsCredentialsProvider baseCredentialsProvider;
+    
+    private StsClient stsClient;
+    
+    private List<String> regions;
+    
+    private final Map<AwsTarget, Ec2Client> clients = new ConcurrentHashMap<>();
+    
+    private final Map<AwsTarget, Ec2AsyncClient> asyncClients = new ConcurrentHashMap<>();
+    
+    private final Map<String, AwsCredentialsProvider> accountCredentials = new ConcurrentHashMap<>();
+    
+    private final ScheduledExecutorService retiredCloser = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ec2-client-closer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    @PostConstruct
+    public void initialize() {
+        // 키가 없으면 기본 자격 증명 체인(환경 변수, 인스턴스 프로파일 등) 사용
+        this.baseCredentialsProvider = accessKeyId.isBlank() ?
+                DefaultCredentialsProvider.create() :
+                StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKeyId, secretAccessKey));
+                
+        List<String> parsed = Arrays.stream(configuredRegions.split(","))
+                .map(String::trim)
+                .filter(region -> !region.isEmpty())
+                .distinct()
+                .collect(Collectors.toList());
+        this.regions = parsed.isEmpty() ? List.of(defaultRegion) : List.copyOf(parsed);
+        
+        StsClientBuilder stsBuilder = StsClient.builder()
+                .region(Region.of(defaultRegion))
+                .httpClient(sdkHttpClient)
+                .credentialsProvider(baseCredentialsProvider);
+        if (!stsEndpointOverride.isBlank()) {
+            stsBuilder.endpointOverride(URI.create(stsEndpointOverride));
+        }
+        this.stsClient = stsBuilder.build();
+        
+        log.info("Configured AWS regions: {}", regions);
+    }
+    
+    /**
+     * 기본 동기화 대상 리전 목록
+     */
+    public List<String> getRegions() {
+        return regions;
+    }
+    
+    public String getDefaultRegion() {
+        return defaultRegion;
+    }
+    
+    /**
+     * 동기화 대상 목록 (기본 계정 × 리전 + 등록된 활성 계정 × 리전)
+     */
+    public List<AwsTarget> getTargets() {
+        List<AwsTarget> targets = new ArrayList<>();
+        
+        if (includeBaseAccount) {
+            regions.forEach(region -> targets.add(new AwsTarget(null, region)));
+        }
+        
+        for (AwsAccount account : awsAccountRepository.findByEnabledTrue()) {
+            List<String> accountRegions = account.getRegions() != null && !account.getRegions().isEmpty() ?
+                    account.getRegions() : regions;
+            accountRegions.forEach(region -> targets.add(new AwsTarget(account.getAccountId(), region)));
+        }
+        
+        return targets;
+    }
+    
+    /**
+     * 배포 직후 첫 동기화가 TLS 핸드셰이크/자격 증명 발급 비용을 떠안지 않도록 대상별로 연결을 미리 맺어 둔다.
+     * 시작을 막지 않도록 비동기로 실행하며 실패는 경고만 남긴다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpConnections() {
+        if (!warmUp) {
+            return;
+        }
+        
+        CompletableFuture.runAsync(() -> {
+            for (AwsTarget target : getTargets()) {
+                DescribeRegionsRequest request = DescribeRegionsRequest.builder()
+                        .regionNames(target.region())
+                        .build();
+                try {
+                    getClient(target).describeRegions(request);
+                    getAsyncClient(target).describeRegions(request).join();
+                    log.debug("Warmed up EC2 connections for {}", target);
+                } catch (Exception e) {
+                    log.warn("Failed to warm up EC2 connections for {}: {}", target, e.getMessage());
+                }
+            }
+        });
+    }
+    
+    /**
+     * 대상 클라이언트 조회 (region이 null이면 기본 리전)
+     */
+    public Ec2Client getClient(AwsTarget target) {
+        AwsTarget resolved = resolve(target);
+        return clients.computeIfAbsent(resolved, this::createClient);
+    }
+    
+    /**
+     * 대상 비동기 클라이언트 조회 (region이 null이면 기본 리전)
+     */
+    public Ec2AsyncClient getAsyncClient(AwsTarget target) {
+        AwsTarget resolved = resolve(target);
+        return asyncClients.computeIfAbsent(resolved, this::createAsyncClient);
+    }
+    
+    /**
+     * 리전이 비어 있는 대상을 기본 리전으로 보정
+     */
+    public AwsTarget resolve(AwsTarget target) {
+        return target.region() != null ? target : new AwsTarget(target.accountId(), defaultRegion);
+    }
+    
+    /**
+     * 계정 정보 변경/삭제 시 캐시된 클라이언트와 자격 증명 폐기
+     * 새 호출은 즉시 새 클라이언트를 받도록 풀에서 먼저 제거하고, 이미 클라이언트를 쥐고 있는 진행 중 동기화가
+     * 끝날 때까지 기다렸다가 닫는다.
+     */
+    public void evictAccount(String accountId) {
+        List<SdkAutoCloseable> retired = new ArrayList<>();
+        clients.entrySet().removeIf(entry -> {
+            if (accountId.equals(entry.getKey().accountId())) {
+                retired.add(entry.getValue());
+                return true;
+            }
+            return false;
+        });
+        asyncClients.entrySet().removeIf(entry -> {
+            if (accountId.equals(entry.getKey().accountId())) {
+                retired.add(entry.getValue());
+                return true;
+            }
+            return false;
+        });
+        
+        AwsCredentialsProvider provider = accountCredentials.remove(accountId);
+        if (provider instanceof SdkAutoCloseable closeable) {
+            retired.add(closeable);
+        }
+        
+        if (!retired.isEmpty()) {
+            retiredCloser.schedule(() -> retired.forEach(this::closeQuietly),
+                    evictedClientCloseDelayMs, TimeUnit.MILLISECONDS);
+        }
+        
+        log.info("Evicted cached EC2 clients for AWS account {} (closing in {}ms)", accountId, evictedClientCloseDelayMs);
+    }
+    
+    private void closeQuietly(SdkAutoCloseable closeable) {
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            log.warn("Failed to close evicted AWS client: {}", e.getMessage());
+        }
+    }
+    
+    private Ec2Client createClient(AwsTarget target) {
+        Ec2ClientBuilder builder = Ec2Client.builder()
+                .region(Region.of(target.region()))
+                .credentialsProvider(credentialsFor(target.accountId()))
+                .httpClient(sdkHttpClient)
+                .overrideConfiguration(overrideConfiguration());
+        if (!ec2EndpointOverride.isBlank()) {
+            builder.endpointOverride(URI.create(ec2EndpointOverride));
+        }
+        
+        log.debug("Created EC2 client for {}", target);
+        return builder.build();
+    }
+    
+    private Ec2AsyncClient createAsyncClient(AwsTarget target) {
+        Ec2AsyncClientBuilder builder = Ec2AsyncClient.builder()
+                .region(Region.of(target.region()))
+                .credentialsProvider(credentialsFor(target.accountId()))
+                .httpClient(sdkAsyncHttpClient)
+                .overrideConfiguration(overrideConfiguration());
+        if (!ec2EndpointOverride.isBlank()) {
+            builder.endpointOverride(URI.create(ec2EndpointOverride));
+        }
+        
+        log.debug("Created async EC2 client for {}", target);
+        return builder.build();
+    }
+    
+    private ClientOverrideConfiguration overrideConfiguration() {
+        // 재시도는 AwsRateLimiter가 담당하므로 SDK 재시도는 끈다
+        return ClientOverrideConfiguration.builder()
+                .retryPolicy(RetryPolicy.none())
+                .apiCallTimeout(Duration.ofMillis(apiCallTimeoutMs))
+                .apiCallAttemptTimeout(Duration.ofMillis(apiCallAttemptTimeoutMs))
+                .build();
+    }
+    
+    private AwsCredentialsProvider credentialsFor(String accountId) {
+        if (accountId == null) {
+            return baseCredentialsProvider;
+        }
+        return accountCredentials.computeIfAbsent(accountId, this::createAssumeRoleProvider);
+    }
+    
+    /**
+     * AssumeRole 자격 증명 제공자 (만료 prefetch-seconds 전부터 백그라운드 갱신)
+     */
+    private AwsCredentialsProvider createAssumeRoleProvider(String accountId) {
+        AwsAccount account = awsAccountRepository.findByAccountId(accountId)
+                .orElseThrow(() -> new RuntimeException("AWS account not found: " + accountId));
+                
+        AssumeRoleRequest.Builder request = AssumeRoleRequest.builder()
+                .roleArn(account.getRoleArn())
+                .roleSessionName("sg-manager-" + accountId)
+                .durationSeconds(sessionDurationSeconds);
+        if (account.getExternalId() != null && !account.getExternalId().isBlank()) {
+            request.externalId(account.getExternalId());
+        }
+        
+        return StsAssumeRoleCredentialsProvider.builder()
+                .stsClient(stsClient)
+                .refreshRequest(request.build())
+                .asyncCredentialUpdateEnabled(true)
+                .prefetchTime(Duration.ofSeconds(prefetchSeconds))
+                .staleTime(Duration.ofSeconds(Math.min(60, prefetchSeconds)))
+                .build();
+    }
+    
+    @PreDestroy
+    public void close() {
+        // 닫기를 기다리던 폐기 클라이언트도 함께 정리
+        retiredCloser.shutdownNow().forEach(Runnable::run);
+        
+        clients.values().forEach(Ec2Client::close);
+        clients.clear();
+        asyncClients.values().forEach(Ec2AsyncClient::close);
+        asyncClients.clear();
+        
+        accountCredentials.values().forEach(provider -> {
+            if (provider instanceof SdkAutoCloseable closeable) {
+                closeable.close();
+            }
+        });
+        accountCredentials.clear();
+        
+        stsClient.close();
+    }
+}
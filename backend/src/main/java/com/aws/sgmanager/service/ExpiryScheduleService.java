@@ -2,17 +2,45 @@ package com.aws.sgmanager.service;
 
 import com.aws.sgmanager.model.ExpirySchedule;
 import com.aws.sgmanager.model.SecurityGroup;
+import com.aws.sgmanager.model.SecurityGroupRule;
 import com.aws.sgmanager.repository.ExpiryScheduleRepository;
 import com.aws.sgmanager.repository.SecurityGroupRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Comparator;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -22,8 +50,97 @@ public class ExpiryScheduleService {
     
     private final ExpiryScheduleRepository expiryScheduleRepository;
     private final SecurityGroupRepository securityGroupRepository;
-    private final AwsEc2Service awsEc2Service;
+    private final AwsEc2AsyncService awsEc2AsyncService;
     private final NotificationService notificationService;
+    private final MongoTemplate mongoTemplate;
+    private final PartitionedTaskExecutor partitionedTaskExecutor;
+    private final MeterRegistry meterRegistry;
+    private final ExpiryTimingWheel expiryTimingWheel;
+    private final LeaseLockService leaseLockService;
+    private final SecurityGroupCache securityGroupCache;
+    private final InventoryGenerationService inventoryGenerationService;
+    
+    private static final String SWEEP_LEASE = "expiry-sweep";
+    private static final String NOTIFICATION_LEASE = "expiry-notification";
+    
+    @Value("${expiry.sweep-grace-seconds:300}")
+    private long sweepGraceSeconds;
+    
+    @Value("${expiry.lease-ttl-seconds:300}")
+    private long leaseTtlSeconds;
+    
+    @Value("${expiry.claim-timeout-seconds:900}")
+    private long claimTimeoutSeconds;
+    
+    @Value("${expiry.notification.horizons:7d,1d,1h}")
+    private String configuredHorizons;
+    
+    private List<NotificationHorizon> notificationHorizons;
+    
+    @PostConstruct
+    public void registerTimingWheelHandler() {
+        expiryTimingWheel.setHandler(this::executeDueSchedules);
+    }
+    
+    @PostConstruct
+    public void parseNotificationHorizons() {
+        // 긴 경고 시점부터 정렬 (예: 7d, 1d, 1h)
+        this.notificationHorizons = Arrays.stream(configuredHorizons.split(","))
+                .map(String::trim)
+                .filter(label -> !label.isEmpty())
+                .distinct()
+                .map(label -> new NotificationHorizon(label, DurationStyle.detectAndParse(label)))
+                .sorted(Comparator.comparing(NotificationHorizon::duration).reversed())
+                .collect(Collectors.toList());
+                
+        log.info("Configured expiry notification horizons: {}", configuredHorizons);
+    }
+    
+    /**
+     * 이전 알림 플래그(notificationSent1Day/notificationSentSameDay)를 notifiedHorizons로 이전
+     * 이미 경고를 받은 스케줄이 배포 직후 같은 경고를 다시 받지 않도록, 1일 전 알림은 1일 이상 경고 시점으로,
+     * 당일 알림은 모든 경고 시점으로 기록한 뒤 이전 필드를 제거한다. 여러 번 실행해도 결과가 같다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateLegacyNotificationFlags() {
+        Object[] allLabels = notificationHorizons.stream()
+                .map(NotificationHorizon::label)
+                .toArray();
+        Object[] dayOrLongerLabels = notificationHorizons.stream()
+                .filter(horizon -> horizon.duration().compareTo(Duration.ofDays(1)) >= 0)
+                .map(NotificationHorizon::label)
+                .toArray();
+                
+        try {
+            long sameDay = mongoTemplate.updateMulti(
+                    Query.query(Criteria.where("notificationSentSameDay").is(true)),
+                    legacyFlagMigration(allLabels), ExpirySchedule.class).getModifiedCount();
+            long oneDay = mongoTemplate.updateMulti(
+                    Query.query(Criteria.where("notificationSent1Day").is(true)),
+                    legacyFlagMigration(dayOrLongerLabels), ExpirySchedule.class).getModifiedCount();
+            mongoTemplate.updateMulti(
+                    Query.query(new Criteria().orOperator(
+                            Criteria.where("notificationSent1Day").exists(true),
+                            Criteria.where("notificationSentSameDay").exists(true))),
+                    legacyFlagMigration(new Object[0]), ExpirySchedule.class);
+                    
+            if (sameDay > 0 || oneDay > 0) {
+                log.info("Migrated legacy notification flags: {} same-day, {} one-day schedules", sameDay, oneDay);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to migrate legacy notification flags: {}", e.getMessage());
+        }
+    }
+    
+    private Update legacyFlagMigration(Object[] notifiedLabels) {
+        Update update = new Update()
+                .unset("notificationSent1Day")
+                .unset("notificationSentSameDay");
+        if (notifiedLabels.length > 0) {
+            update.addToSet("notifiedHorizons").each(notifiedLabels);
+        }
+        return update;
+    }
     
     /**
      * Security Group 만료 스케줄 등록
@@ -38,11 +155,10 @@ public class ExpiryScheduleService {
                 .createdBy(createdBy)
                 .createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now())
-                .notificationSent1Day(false)
-                .notificationSentSameDay(false)
                 .build();
         
         ExpirySchedule saved = expiryScheduleRepository.save(schedule);
+        expiryTimingWheel.schedule(saved.getId(), expiryDate);
         
         log.info("Scheduled Security Group expiry: {} at {}", securityGroupId, expiryDate);
         
@@ -62,17 +178,42 @@ public class ExpiryScheduleService {
                 .createdBy(createdBy)
                 .createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now())
-                .notificationSent1Day(false)
-                .notificationSentSameDay(false)
                 .build();
         
         ExpirySchedule saved = expiryScheduleRepository.save(schedule);
+        expiryTimingWheel.schedule(saved.getId(), expiryDate);
         
         log.info("Scheduled rule expiry: {} in Security Group {} at {}", ruleId, securityGroupId, expiryDate);
         
         return saved;
     }
     
+    /**
+     * 여러 규칙의 만료 스케줄 일괄 등록 (단일 bulk insert)
+     */
+    public List<ExpirySchedule> scheduleRuleExpiries(String securityGroupId, List<SecurityGroupRule> rules, String createdBy) {
+        LocalDateTime now = LocalDateTime.now();
+        List<ExpirySchedule> schedules = rules.stream()
+                .map(rule -> ExpirySchedule.builder()
+                        .securityGroupId(securityGroupId)
+                        .ruleId(rule.getRuleId())
+                        .expiryDate(rule.getExpiryDate())
+                        .action(ExpirySchedule.ExpiryAction.DELETE_RULE)
+                        .status(ExpirySchedule.ExpiryStatus.SCHEDULED)
+                        .createdBy(createdBy)
+                        .createdAt(now)
+                        .updatedAt(now)
+                        .build())
+                .collect(Collectors.toList());
+                
+        List<ExpirySchedule> saved = expiryScheduleRepository.insert(schedules);
+        saved.forEach(schedule -> expiryTimingWheel.schedule(schedule.getId(), schedule.getExpiryDate()));
+        
+        log.info("Scheduled {} rule expiries in Security Group {}", saved.size(), securityGroupId);
+        
+        return saved;
+    }
+    
     /**
      * Security Group 만료 스케줄 취소
      */
@@ -84,6 +225,7 @@ public class ExpiryScheduleService {
                 schedule.setStatus(ExpirySchedule.ExpiryStatus.CANCELLED);
                 schedule.setUpdatedAt(LocalDateTime.now());
                 expiryScheduleRepository.save(schedule);
+                expiryTimingWheel.cancel(schedule.getId());
             }
         }
         
@@ -101,6 +243,7 @@ public class ExpiryScheduleService {
                 schedule.setStatus(ExpirySchedule.ExpiryStatus.CANCELLED);
                 schedule.setUpdatedAt(LocalDateTime.now());
                 expiryScheduleRepository.save(schedule);
+                expiryTimingWheel.cancel(schedule.getId());
             }
         }
         
@@ -108,216 +251,493 @@ public class ExpiryScheduleService {
     }
     
     /**
-     * 1일 전 알림 전송 (매일 09:00 실행)
+     * 만료 예정 알림 전송 (설정된 경고 시점마다 한 번씩, 잠금을 얻은 인스턴스만)
      */
-    @Scheduled(cron = "0 0 9 * * *")
-    public void sendOneDayExpiryNotifications() {
-        log.info("Starting 1-day expiry notification job");
-        
+    @Scheduled(initialDelayString = "${expiry.notification.initial-delay-ms:60000}",
+            fixedDelayString = "${expiry.notification.interval-ms:300000}")
+    public void sendExpiryNotifications() {
+        leaseLockService.runIfAcquired(NOTIFICATION_LEASE, leaseTtl(), this::sweepExpiryNotifications);
+    }
+    
+    /**
+     * 알림 대상 스케줄을 한 번에 조회하고 Security Group은 $in 조회 한 번으로 묶은 뒤,
+     * 알림 전송 상태는 bulk 갱신 한 번으로 기록한다.
+     * 한 스케줄에 여러 경고 시점이 동시에 도래하면(예: 7일 전 알림 이후 생성되어 바로 1일 이내)
+     * 가장 임박한 시점의 알림만 보내고 나머지는 보낸 것으로 처리한다.
+     */
+    private void sweepExpiryNotifications() {
         LocalDateTime now = LocalDateTime.now();
-        LocalDateTime tomorrow = now.plusDays(1);
-        LocalDateTime tomorrowEnd = tomorrow.withHour(23).withMinute(59).withSecond(59);
         
-        List<ExpirySchedule> schedules = expiryScheduleRepository.findSchedulesForOneDayNotification(tomorrow, tomorrowEnd);
+        List<Criteria> dueHorizons = notificationHorizons.stream()
+                .map(horizon -> Criteria.where("expiryDate").lte(now.plus(horizon.duration()))
+                        .and("notifiedHorizons").ne(horizon.label()))
+                .collect(Collectors.toList());
+        Query query = Query.query(Criteria.where("status").is(ExpirySchedule.ExpiryStatus.SCHEDULED)
+                .and("expiryDate").gt(now)
+                .orOperator(dueHorizons));
+        List<ExpirySchedule> schedules = mongoTemplate.find(query, ExpirySchedule.class);
         
-        for (ExpirySchedule schedule : schedules) {
-            try {
-                Optional<SecurityGroup> securityGroupOpt = securityGroupRepository.findById(schedule.getSecurityGroupId());
+        if (schedules.isEmpty()) {
+            return;
+        }
+        
+        Map<String, SecurityGroup> securityGroups = new HashMap<>();
+        securityGroupRepository.findAllById(schedules.stream()
+                        .map(ExpirySchedule::getSecurityGroupId)
+                        .collect(Collectors.toSet()))
+                .forEach(securityGroup -> securityGroups.put(securityGroup.getId(), securityGroup));
                 
-                if (securityGroupOpt.isPresent()) {
-                    SecurityGroup securityGroup = securityGroupOpt.get();
-                    
-                    // 알림 전송
-                    notificationService.sendExpiryWarningNotification(schedule, securityGroup);
-                    
-                    // 알림 전송 상태 업데이트
-                    schedule.setNotificationSent1Day(true);
-                    schedule.setLastNotificationAt(LocalDateTime.now());
-                    schedule.setUpdatedAt(LocalDateTime.now());
-                    expiryScheduleRepository.save(schedule);
-                    
-                    log.info("Sent 1-day expiry notification for schedule: {}", schedule.getId());
-                } else {
-                    log.warn("Security Group not found for schedule: {}", schedule.getId());
-                }
+        BulkOperations notificationUpdates = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ExpirySchedule.class);
+        int sent = 0;
+        
+        for (ExpirySchedule schedule : schedules) {
+            Duration remaining = Duration.between(now, schedule.getExpiryDate());
+            Set<String> notified = schedule.getNotifiedHorizons() != null ? schedule.getNotifiedHorizons() : Set.of();
+            List<NotificationHorizon> due = notificationHorizons.stream()
+                    .filter(horizon -> remaining.compareTo(horizon.duration()) <= 0)
+                    .filter(horizon -> !notified.contains(horizon.label()))
+                    .collect(Collectors.toList());
+            if (due.isEmpty()) {
+                continue;
+            }
+            
+            SecurityGroup securityGroup = securityGroups.get(schedule.getSecurityGroupId());
+            if (securityGroup != null) {
+                // 경고 시점은 긴 것부터 정렬되어 있으므로 마지막이 가장 임박한 시점
+                notificationService.sendExpiryWarningNotification(schedule, securityGroup, due.get(due.size() - 1).duration());
+                sent++;
+            } else {
+                log.warn("Security Group not found for schedule: {}", schedule.getId());
+            }
+            
+            // 그룹이 없어도 같은 경고를 반복 조회하지 않도록 보낸 것으로 기록
+            notificationUpdates.updateOne(Query.query(Criteria.where("id").is(schedule.getId())), new Update()
+                    .addToSet("notifiedHorizons").each(due.stream().map(NotificationHorizon::label).toArray())
+                    .set("lastNotificationAt", now)
+                    .set("updatedAt", now));
+        }
+        
+        notificationUpdates.execute();
+        
+        log.info("Sent {} expiry notifications for {} due schedules", sent, schedules.size());
+    }
+    
+    /**
+     * 다가오는 만료 스케줄을 타이밍 휠에 적재 (horizon 이내, 이미 지난 스케줄 포함)
+     * 휠은 인스턴스마다 따로 두고, 실제 실행 여부는 스케줄 선점(claim)으로 결정한다.
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${expiry.wheel.reload-interval-ms:1800000}")
+    public void loadUpcomingSchedules() {
+        List<ExpirySchedule> upcoming = expiryScheduleRepository.findByStatusAndExpiryDateBefore(
+                ExpirySchedule.ExpiryStatus.SCHEDULED, expiryTimingWheel.getHorizon());
                 
-            } catch (Exception e) {
-                log.error("Failed to send 1-day expiry notification for schedule: {}", schedule.getId(), e);
+        int loaded = 0;
+        for (ExpirySchedule schedule : upcoming) {
+            if (expiryTimingWheel.schedule(schedule.getId(), schedule.getExpiryDate())) {
+                loaded++;
             }
         }
         
-        log.info("Completed 1-day expiry notification job. Processed {} schedules", schedules.size());
+        log.info("Loaded {} upcoming expiry schedules into timing wheel ({} in memory)", loaded, expiryTimingWheel.size());
     }
     
     /**
-     * 당일 알림 전송 (매일 09:00 실행)
+     * 타이밍 휠에서 만료된 스케줄 실행 (선점에 성공한 SCHEDULED 스케줄만 실행하므로 취소되었거나
+     * 다른 인스턴스가 가져간 스케줄은 건너뜀)
      */
-    @Scheduled(cron = "0 0 9 * * *")
-    public void sendSameDayExpiryNotifications() {
-        log.info("Starting same-day expiry notification job");
+    public void executeDueSchedules(List<String> scheduleIds) {
+        List<ExpirySchedule> claimed = claimSchedules(scheduleIds);
+        if (!claimed.isEmpty()) {
+            executeSchedules(claimed);
+        }
+    }
+    
+    /**
+     * 누락 방지용 보조 실행 (타이밍 휠이 처리하지 못한 채 유예 시간을 넘긴 스케줄)
+     * 정상 경로는 타이밍 휠이며, 재시작 직후나 휠 적재 전에 만료된 스케줄을 처리한다.
+     * 조회 부하가 겹치지 않도록 잠금을 얻은 인스턴스 하나만 실행한다.
+     */
+    @Scheduled(fixedDelayString = "${expiry.sweep-interval-ms:900000}")
+    public void executeExpiredSchedules() {
+        leaseLockService.runIfAcquired(SWEEP_LEASE, leaseTtl(), this::sweepExpiredSchedules);
+    }
+    
+    private void sweepExpiredSchedules() {
+        releaseStaleClaims();
+        
+        LocalDateTime cutoff = LocalDateTime.now().minusSeconds(sweepGraceSeconds);
+        List<ExpirySchedule> expiredSchedules = expiryScheduleRepository.findSchedulesReadyForExecution(cutoff);
+        
+        if (expiredSchedules.isEmpty()) {
+            return;
+        }
         
+        log.info("Expiry sweep found {} overdue schedules", expiredSchedules.size());
+        List<ExpirySchedule> claimed = claimSchedules(expiredSchedules.stream()
+                .map(ExpirySchedule::getId)
+                .collect(Collectors.toList()));
+        if (!claimed.isEmpty()) {
+            executeSchedules(claimed);
+        }
+    }
+    
+    /**
+     * 스케줄 선점 (SCHEDULED → EXECUTING)
+     * 문서 단위 조건부 갱신이므로 여러 인스턴스가 같은 스케줄을 동시에 선점해도 한 곳만 성공한다.
+     * 이번 선점에서 가져간 스케줄은 고유 claimToken으로 다시 조회한다.
+     */
+    private List<ExpirySchedule> claimSchedules(List<String> scheduleIds) {
+        // 다른 인스턴스가 가져가더라도 이 인스턴스의 휠에서는 제거
+        scheduleIds.forEach(expiryTimingWheel::cancel);
+        
+        String claimToken = leaseLockService.getInstanceId() + "-" + UUID.randomUUID();
         LocalDateTime now = LocalDateTime.now();
-        LocalDateTime todayEnd = now.withHour(23).withMinute(59).withSecond(59);
         
-        List<ExpirySchedule> schedules = expiryScheduleRepository.findSchedulesForSameDayNotification(now, todayEnd);
+        Query query = Query.query(Criteria.where("id").in(scheduleIds)
+                .and("status").is(ExpirySchedule.ExpiryStatus.SCHEDULED));
+        Update update = new Update()
+                .set("status", ExpirySchedule.ExpiryStatus.EXECUTING)
+                .set("claimedBy", leaseLockService.getInstanceId())
+                .set("claimedAt", now)
+                .set("claimToken", claimToken)
+                .set("updatedAt", now);
+        long claimedCount = mongoTemplate.updateMulti(query, update, ExpirySchedule.class).getModifiedCount();
+        if (claimedCount == 0) {
+            return List.of();
+        }
         
-        for (ExpirySchedule schedule : schedules) {
-            try {
-                Optional<SecurityGroup> securityGroupOpt = securityGroupRepository.findById(schedule.getSecurityGroupId());
+        if (claimedCount < scheduleIds.size()) {
+            log.debug("Claimed {} of {} expiry schedules (rest taken or cancelled)", claimedCount, scheduleIds.size());
+        }
+        return mongoTemplate.find(Query.query(Criteria.where("claimToken").is(claimToken)), ExpirySchedule.class);
+    }
+    
+    /**
+     * 실행 도중 인스턴스가 중단되어 EXECUTING에 남은 스케줄을 다시 SCHEDULED로 되돌림
+     */
+    private void releaseStaleClaims() {
+        LocalDateTime now = LocalDateTime.now();
+        Query query = Query.query(Criteria.where("status").is(ExpirySchedule.ExpiryStatus.EXECUTING)
+                .and("claimedAt").lt(now.minusSeconds(claimTimeoutSeconds)));
+        Update update = new Update()
+                .set("status", ExpirySchedule.ExpiryStatus.SCHEDULED)
+                .unset("claimedBy")
+                .unset("claimedAt")
+                .unset("claimToken")
+                .set("updatedAt", now);
                 
-                if (securityGroupOpt.isPresent()) {
-                    SecurityGroup securityGroup = securityGroupOpt.get();
-                    
-                    // 알림 전송
-                    notificationService.sendExpiryNotification(schedule, securityGroup);
-                    
-                    // 알림 전송 상태 업데이트
-                    schedule.setNotificationSentSameDay(true);
-                    schedule.setLastNotificationAt(LocalDateTime.now());
-                    schedule.setUpdatedAt(LocalDateTime.now());
-                    expiryScheduleRepository.save(schedule);
-                    
-                    log.info("Sent same-day expiry notification for schedule: {}", schedule.getId());
-                } else {
-                    log.warn("Security Group not found for schedule: {}", schedule.getId());
-                }
+        long released = mongoTemplate.updateMulti(query, update, ExpirySchedule.class).getModifiedCount();
+        if (released > 0) {
+            log.warn("Released {} stale expiry schedule claims", released);
+        }
+    }
+    
+    private Duration leaseTtl() {
+        return Duration.ofSeconds(leaseTtlSeconds);
+    }
+    
+    /**
+     * 선점한 만료 스케줄 실행
+     * 실행 대상 스케줄을 Security Group별로 묶어 그룹당 방향별 revoke 한 번으로 처리한다. 그룹 간에는
+     * PartitionedTaskExecutor로 동시에 진행하되 같은 그룹의 작업은 순서대로 실행된다.
+     * 결과(그룹 규칙 제거, 스케줄 상태)는 마지막에 bulk로 한 번에 기록한다.
+     */
+    private void executeSchedules(List<ExpirySchedule> expiredSchedules) {
+        Map<String, List<ExpirySchedule>> schedulesByGroup = expiredSchedules.stream()
+                .collect(Collectors.groupingBy(ExpirySchedule::getSecurityGroupId, LinkedHashMap::new, Collectors.toList()));
                 
-            } catch (Exception e) {
-                log.error("Failed to send same-day expiry notification for schedule: {}", schedule.getId(), e);
+        Map<String, SecurityGroup> securityGroups = new HashMap<>();
+        securityGroupRepository.findAllById(schedulesByGroup.keySet())
+                .forEach(securityGroup -> securityGroups.put(securityGroup.getId(), securityGroup));
+        
+        // 그룹별로 실행기에 제출 (그룹 내 순서 보장, 그룹 간 병렬)
+        List<GroupExecution> executions = new ArrayList<>();
+        List<CompletableFuture<?>> completions = new ArrayList<>();
+        for (Map.Entry<String, List<ExpirySchedule>> entry : schedulesByGroup.entrySet()) {
+            GroupExecution execution = new GroupExecution(securityGroups.get(entry.getKey()), entry.getValue());
+            executions.add(execution);
+            completions.add(partitionedTaskExecutor.submit(entry.getKey(), () -> startGroupExecution(execution))
+                    .handle((result, error) -> {
+                        if (error != null) {
+                            execution.failAll(execution.schedules, errorMessage(error));
+                        }
+                        execution.completedNanos = System.nanoTime();
+                        return null;
+                    }));
+        }
+        
+        CompletableFuture.allOf(completions.toArray(CompletableFuture[]::new)).join();
+        
+        writeExecutionResults(executions);
+        recordExecutionMetrics(executions);
+        
+        for (GroupExecution execution : executions) {
+            if (execution.securityGroup == null) {
+                continue;
+            }
+            for (ExpirySchedule schedule : execution.schedules) {
+                // 삭제 완료/실패 알림 전송
+                notificationService.sendDeletionNotification(schedule, execution.securityGroup,
+                        schedule.getStatus() == ExpirySchedule.ExpiryStatus.EXECUTED, schedule.getErrorMessage());
             }
         }
         
-        log.info("Completed same-day expiry notification job. Processed {} schedules", schedules.size());
+        log.info("Executed {} expired schedules in {} security groups",
+                expiredSchedules.size(), executions.size());
     }
     
     /**
-     * 만료된 리소스 자동 삭제 (매시간 실행)
+     * 그룹 단위 실행 (AWS 호출은 비동기, 실패는 스케줄별로 기록)
+     *
+     * @return 그룹의 모든 AWS 호출이 끝나면 완료되는 future
      */
-    @Scheduled(cron = "0 0 * * * *")
-    public void executeExpiredSchedules() {
-        log.info("Starting expired schedules execution job");
+    private CompletableFuture<Void> startGroupExecution(GroupExecution execution) {
+        SecurityGroup securityGroup = execution.securityGroup;
+        List<ExpirySchedule> schedules = execution.schedules;
+        execution.startedNanos = System.nanoTime();
         
-        LocalDateTime now = LocalDateTime.now();
-        List<ExpirySchedule> expiredSchedules = expiryScheduleRepository.findSchedulesReadyForExecution(now);
+        if (securityGroup == null) {
+            log.warn("Security Group not found for {} schedules", schedules.size());
+            schedules.forEach(schedule -> execution.failures.put(schedule.getId(), "Security Group not found"));
+            return CompletableFuture.completedFuture(null);
+        }
         
-        for (ExpirySchedule schedule : expiredSchedules) {
-            try {
-                executeExpiredSchedule(schedule);
-            } catch (Exception e) {
-                log.error("Failed to execute expired schedule: {}", schedule.getId(), e);
-                
-                // 실행 실패 상태로 업데이트
-                schedule.setStatus(ExpirySchedule.ExpiryStatus.FAILED);
-                schedule.setExecutedAt(LocalDateTime.now());
-                schedule.setErrorMessage(e.getMessage());
-                schedule.setUpdatedAt(LocalDateTime.now());
-                expiryScheduleRepository.save(schedule);
+        AwsTarget target = AwsTarget.of(securityGroup);
+        
+        boolean deleteGroup = schedules.stream()
+                .anyMatch(schedule -> schedule.getAction() == ExpirySchedule.ExpiryAction.DELETE_GROUP);
+        if (deleteGroup) {
+            // 그룹이 삭제되면 그룹에 속한 규칙 만료도 함께 처리된 것으로 본다
+            return awsEc2AsyncService.deleteSecurityGroup(target, securityGroup.getGroupId())
+                    .handle((result, error) -> {
+                        if (error != null) {
+                            execution.failAll(schedules, errorMessage(error));
+                        } else {
+                            execution.groupDeleted = true;
+                            log.info("Deleted expired Security Group: {} ({})", securityGroup.getGroupName(), securityGroup.getGroupId());
+                        }
+                        return null;
+                    });
+        }
+        
+        Map<String, SecurityGroupRule> inboundById = rulesById(securityGroup.getInboundRules());
+        Map<String, SecurityGroupRule> outboundById = rulesById(securityGroup.getOutboundRules());
+        List<ExpirySchedule> inboundSchedules = new ArrayList<>();
+        List<ExpirySchedule> outboundSchedules = new ArrayList<>();
+        
+        for (ExpirySchedule schedule : schedules) {
+            if (schedule.getAction() != ExpirySchedule.ExpiryAction.DELETE_RULE) {
+                // NOTIFY_ONLY: 알림만 전송 (삭제하지 않음)
+                continue;
+            }
+            if (inboundById.containsKey(schedule.getRuleId())) {
+                inboundSchedules.add(schedule);
+            } else if (outboundById.containsKey(schedule.getRuleId())) {
+                outboundSchedules.add(schedule);
+            } else {
+                execution.failures.put(schedule.getId(), "Rule not found");
             }
         }
         
-        log.info("Completed expired schedules execution job. Processed {} schedules", expiredSchedules.size());
+        List<CompletableFuture<Void>> revocations = new ArrayList<>();
+        if (!inboundSchedules.isEmpty()) {
+            List<SecurityGroupRule> rules = inboundSchedules.stream()
+                    .map(schedule -> inboundById.get(schedule.getRuleId()))
+                    .collect(Collectors.toList());
+            revocations.add(awsEc2AsyncService.removeInboundRules(target, securityGroup.getGroupId(), rules)
+                    .handle((result, error) -> execution.complete(inboundSchedules, execution.removedInboundRuleIds, error)));
+        }
+        if (!outboundSchedules.isEmpty()) {
+            List<SecurityGroupRule> rules = outboundSchedules.stream()
+                    .map(schedule -> outboundById.get(schedule.getRuleId()))
+                    .collect(Collectors.toList());
+            revocations.add(awsEc2AsyncService.removeOutboundRules(target, securityGroup.getGroupId(), rules)
+                    .handle((result, error) -> execution.complete(outboundSchedules, execution.removedOutboundRuleIds, error)));
+        }
+        
+        return CompletableFuture.allOf(revocations.toArray(CompletableFuture[]::new));
     }
     
     /**
-     * 만료된 스케줄 실행
+     * 실행 결과 일괄 기록 (그룹 삭제/규칙 제거 + 스케줄 상태)
      */
-    private void executeExpiredSchedule(ExpirySchedule schedule) {
-        Optional<SecurityGroup> securityGroupOpt = securityGroupRepository.findById(schedule.getSecurityGroupId());
-        
-        if (securityGroupOpt.isEmpty()) {
-            log.warn("Security Group not found for schedule: {}", schedule.getId());
-            schedule.setStatus(ExpirySchedule.ExpiryStatus.FAILED);
-            schedule.setErrorMessage("Security Group not found");
-            schedule.setExecutedAt(LocalDateTime.now());
-            schedule.setUpdatedAt(LocalDateTime.now());
-            expiryScheduleRepository.save(schedule);
-            return;
-        }
+    private void writeExecutionResults(List<GroupExecution> executions) {
+        LocalDateTime now = LocalDateTime.now();
         
-        SecurityGroup securityGroup = securityGroupOpt.get();
-        boolean success = false;
-        String errorMessage = null;
+        List<String> deletedGroupIds = new ArrayList<>();
+        List<String> updatedGroupIds = new ArrayList<>();
+        BulkOperations groupUpdates = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SecurityGroup.class);
+        boolean hasGroupUpdates = false;
         
-        try {
-            if (schedule.getAction() == ExpirySchedule.ExpiryAction.DELETE_GROUP) {
-                // Security Group 전체 삭제
-                awsEc2Service.deleteSecurityGroup(securityGroup.getGroupId());
-                securityGroupRepository.deleteById(securityGroup.getId());
-                success = true;
-                
-                log.info("Deleted expired Security Group: {} ({})", securityGroup.getGroupName(), securityGroup.getGroupId());
-                
-            } else if (schedule.getAction() == ExpirySchedule.ExpiryAction.DELETE_RULE) {
-                // 특정 규칙 삭제
-                deleteExpiredRule(securityGroup, schedule.getRuleId());
-                success = true;
-                
-                log.info("Deleted expired rule: {} from Security Group: {}", schedule.getRuleId(), securityGroup.getGroupName());
+        BulkOperations scheduleUpdates = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ExpirySchedule.class);
+        
+        for (GroupExecution execution : executions) {
+            if (execution.groupDeleted) {
+                deletedGroupIds.add(execution.securityGroup.getId());
+            } else if (!execution.removedInboundRuleIds.isEmpty() || !execution.removedOutboundRuleIds.isEmpty()) {
+                groupUpdates.updateOne(Query.query(Criteria.where("id").is(execution.securityGroup.getId())),
+                        removeRulesUpdate(execution.removedInboundRuleIds, execution.removedOutboundRuleIds));
+                updatedGroupIds.add(execution.securityGroup.getId());
+                hasGroupUpdates = true;
+            }
+            
+            for (ExpirySchedule schedule : execution.schedules) {
+                String errorMessage = execution.failures.get(schedule.getId());
+                boolean success = errorMessage == null;
                 
-            } else if (schedule.getAction() == ExpirySchedule.ExpiryAction.NOTIFY_ONLY) {
-                // 알림만 전송 (삭제하지 않음)
-                success = true;
+                // 스케줄 상태 업데이트
+                schedule.setStatus(success ? ExpirySchedule.ExpiryStatus.EXECUTED : ExpirySchedule.ExpiryStatus.FAILED);
+                schedule.setExecutedAt(now);
+                schedule.setExecutionResult(success ? "SUCCESS" : "FAILED");
+                schedule.setErrorMessage(errorMessage);
+                schedule.setUpdatedAt(now);
                 
-                log.info("Notification-only schedule executed for: {}", securityGroup.getGroupName());
+                // 선점이 만료되어 다른 인스턴스가 다시 가져간 스케줄은 덮어쓰지 않음
+                scheduleUpdates.updateOne(Query.query(Criteria.where("id").is(schedule.getId())
+                        .and("claimToken").is(schedule.getClaimToken())), new Update()
+                        .set("status", schedule.getStatus())
+                        .set("executedAt", now)
+                        .set("executionResult", schedule.getExecutionResult())
+                        .set("errorMessage", errorMessage)
+                        .set("updatedAt", now));
             }
-            
-        } catch (Exception e) {
-            success = false;
-            errorMessage = e.getMessage();
-            log.error("Failed to execute expired schedule: {}", schedule.getId(), e);
         }
         
-        // 스케줄 상태 업데이트
-        schedule.setStatus(success ? ExpirySchedule.ExpiryStatus.EXECUTED : ExpirySchedule.ExpiryStatus.FAILED);
-        schedule.setExecutedAt(LocalDateTime.now());
-        schedule.setExecutionResult(success ? "SUCCESS" : "FAILED");
-        schedule.setErrorMessage(errorMessage);
-        schedule.setUpdatedAt(LocalDateTime.now());
-        expiryScheduleRepository.save(schedule);
+        if (!deletedGroupIds.isEmpty()) {
+            mongoTemplate.remove(Query.query(Criteria.where("id").in(deletedGroupIds)), SecurityGroup.class);
+            securityGroupCache.invalidateAll(deletedGroupIds);
+        }
+        if (hasGroupUpdates) {
+            groupUpdates.execute();
+            securityGroupCache.invalidateAll(updatedGroupIds);
+        }
+        if (!deletedGroupIds.isEmpty() || hasGroupUpdates) {
+            inventoryGenerationService.bump();
+        }
+        scheduleUpdates.execute();
+    }
+    
+    /**
+     * 제거된 규칙을 빼고 규칙 요약을 다시 계산하는 파이프라인 업데이트
+     * 규칙 요약은 스윕 시점 스냅샷이 아니라 제거 후 배열에서 계산하므로, 그 사이 추가/동기화된 규칙도 반영된다.
+     */
+    private static AggregationUpdate removeRulesUpdate(Set<String> removedInboundRuleIds, Set<String> removedOutboundRuleIds) {
+        Document removeRules = new Document("contentHash", null)
+                .append("updatedAt", "$$NOW")
+                .append("generation", new Document("$add", List.of(new Document("$ifNull", List.of("$generation", 0)), 1)));
+        if (!removedInboundRuleIds.isEmpty()) {
+            removeRules.append("inboundRules", withoutRuleIds("inboundRules", removedInboundRuleIds));
+        }
+        if (!removedOutboundRuleIds.isEmpty()) {
+            removeRules.append("outboundRules", withoutRuleIds("outboundRules", removedOutboundRuleIds));
+        }
         
-        // 삭제 완료/실패 알림 전송
-        notificationService.sendDeletionNotification(schedule, securityGroup, success, errorMessage);
+        Document ruleStats = new Document("totalInboundRules", new Document("$size", orEmpty("$inboundRules")))
+                .append("totalOutboundRules", new Document("$size", orEmpty("$outboundRules")))
+                .append("earliestRuleExpiry", new Document("$min", new Document("$concatArrays",
+                        List.of(orEmpty("$inboundRules.expiryDate"), orEmpty("$outboundRules.expiryDate")))));
+                        
+        return AggregationUpdate.from(List.of(
+                context -> new Document("$set", removeRules),
+                context -> new Document("$set", ruleStats)));
+    }
+    
+    private static Document withoutRuleIds(String field, Set<String> ruleIds) {
+        return new Document("$filter", new Document("input", orEmpty("$" + field))
+                .append("cond", new Document("$not", List.of(new Document("$in", List.of("$$this.ruleId", new ArrayList<>(ruleIds)))))));
+    }
+    
+    private static Document orEmpty(String path) {
+        return new Document("$ifNull", List.of(path, List.of()));
     }
     
     /**
-     * 만료된 규칙 삭제
+     * 그룹별 처리 시간(실행 시작→완료, 그룹당 한 번)과 스케줄별 만료 시각 대비 지연 기록
      */
-    private void deleteExpiredRule(SecurityGroup securityGroup, String ruleId) {
-        // 인바운드 규칙에서 찾기
-        if (securityGroup.getInboundRules() != null) {
-            securityGroup.getInboundRules().removeIf(rule -> {
-                if (ruleId.equals(rule.getRuleId())) {
-                    try {
-                        awsEc2Service.removeInboundRule(securityGroup.getGroupId(), rule);
-                        return true;
-                    } catch (Exception e) {
-                        log.error("Failed to remove inbound rule from AWS", e);
-                        throw new RuntimeException("Failed to remove inbound rule", e);
-                    }
+    private void recordExecutionMetrics(List<GroupExecution> executions) {
+        Timer latency = Timer.builder("expiry.schedule.latency")
+                .description("Time from dispatching an expiry group to completing its AWS calls")
+                .register(meterRegistry);
+        Timer lag = Timer.builder("expiry.schedule.lag")
+                .description("Delay between a schedule's expiryDate and its execution")
+                .register(meterRegistry);
+                
+        for (GroupExecution execution : executions) {
+            // 그룹의 스케줄은 같은 revoke 호출로 함께 끝나므로 스케줄 수만큼 중복 기록하지 않음
+            if (execution.startedNanos > 0) {
+                latency.record(execution.completedNanos - execution.startedNanos, TimeUnit.NANOSECONDS);
+            }
+            for (ExpirySchedule schedule : execution.schedules) {
+                if (schedule.getExpiryDate() != null && schedule.getExecutedAt() != null) {
+                    lag.record(Duration.between(schedule.getExpiryDate(), schedule.getExecutedAt()));
                 }
-                return false;
-            });
+            }
+        }
+    }
+    
+    private Map<String, SecurityGroupRule> rulesById(List<SecurityGroupRule> rules) {
+        Map<String, SecurityGroupRule> rulesById = new HashMap<>();
+        if (rules != null) {
+            rules.stream()
+                    .filter(rule -> rule.getRuleId() != null)
+                    .forEach(rule -> rulesById.putIfAbsent(rule.getRuleId(), rule));
+        }
+        return rulesById;
+    }
+    
+    private static String errorMessage(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause.getMessage();
+    }
+    
+    /**
+     * 만료 전 경고 시점 (label은 notifiedHorizons에 기록되는 설정 값 그대로)
+     */
+    private record NotificationHorizon(String label, Duration duration) {
+    }
+    
+    /**
+     * Security Group 하나에 대한 만료 실행 상태 (AWS 응답 스레드에서 갱신되므로 동시성 컬렉션 사용)
+     */
+    private static class GroupExecution {
+        
+        private final SecurityGroup securityGroup;
+        
+        private final List<ExpirySchedule> schedules;
+        
+        private final Map<String, String> failures = new ConcurrentHashMap<>();
+        
+        private final Set<String> removedInboundRuleIds = ConcurrentHashMap.newKeySet();
+        
+        private final Set<String> removedOutboundRuleIds = ConcurrentHashMap.newKeySet();
+        
+        private volatile boolean groupDeleted;
+        
+        private volatile long startedNanos;
+        
+        private volatile long completedNanos;
+        
+        GroupExecution(SecurityGroup securityGroup, List<ExpirySchedule> schedules) {
+            this.securityGroup = securityGroup;
+            this.schedules = schedules;
         }
         
-        // 아웃바운드 규칙에서 찾기
-        if (securityGroup.getOutboundRules() != null) {
-            securityGroup.getOutboundRules().removeIf(rule -> {
-                if (ruleId.equals(rule.getRuleId())) {
-                    try {
-                        awsEc2Service.removeOutboundRule(securityGroup.getGroupId(), rule);
-                        return true;
-                    } catch (Exception e) {
-                        log.error("Failed to remove outbound rule from AWS", e);
-                        throw new RuntimeException("Failed to remove outbound rule", e);
-                    }
-                }
-                return false;
-            });
+        Void complete(List<ExpirySchedule> revoked, Set<String> removedRuleIds, Throwable error) {
+            if (error != null) {
+                failAll(revoked, errorMessage(error));
+            } else {
+                revoked.forEach(schedule -> removedRuleIds.add(schedule.getRuleId()));
+                log.info("Revoked {} expired rule(s) from Security Group: {}", revoked.size(), securityGroup.getGroupName());
+            }
+            return null;
         }
         
-        // DB 업데이트
-        securityGroup.setUpdatedAt(LocalDateTime.now());
-        securityGroupRepository.save(securityGroup);
+        void failAll(List<ExpirySchedule> failed, String errorMessage) {
+            // 그룹 문서를 찾지 못한 채 실행기에서 실패할 수도 있으므로 스케줄의 그룹 ID로 기록
+            log.error("Failed to execute {} expired schedule(s) for Security Group {}: {}",
+                    failed.size(), schedules.get(0).getSecurityGroupId(), errorMessage);
+            failed.forEach(schedule -> failures.put(schedule.getId(), errorMessage));
+        }
     }
     
     /**
@@ -0,0 +1,351 @@
+package com.aws.sgmanager.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * 만료 스케줄용 계층형 타이밍 휠
+ * 가까운 시일(horizon-hours) 안에 만료되는 스케줄만 메모리에 올려 두고 정확한 만료 시각에 실행 핸들러로 넘긴다.
+ * 버킷 단위로 DelayQueue에 등록하므로 스케줄 수와 무관하게 만료 시각이 가장 가까운 버킷만 기다리며,
+ * 상위 휠의 버킷이 만료되면 하위 휠로 재배치(cascade)된다.
+ * 메모리 상태는 캐시일 뿐이고, 핸들러는 DB에서 스케줄 상태를 다시 확인한 뒤 실행한다.
+ */
+@Slf4j
+@Component
+public class ExpiryTimingWheel {
+    
+    @Value("${expiry.wheel.tick-ms:1000}")
+    private long tickMs;
+    
+    @Value("${expiry.wheel.wheel-size:60}")
+    private int wheelSize;
+    
+    @Value("${expiry.wheel.horizon-hours:2}")
+    private long horizonHours;
+    
+    private final Map<String, TimerEntry> entries = new ConcurrentHashMap<>();
+    
+    private final ConcurrentLinkedQueue<String> fired = new ConcurrentLinkedQueue<>();
+    
+    private final DelayQueue<TimerBucket> delayQueue = new DelayQueue<>();
+    
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    private volatile Consumer<List<String>> handler = scheduleIds -> { };
+    
+    private TimingWheel wheel;
+    
+    private Thread reaper;
+    
+    private ExecutorService dispatcher;
+    
+    private volatile boolean running;
+    
+    @PostConstruct
+    public void start() {
+        this.wheel = new TimingWheel(tickMs, wheelSize, System.currentTimeMillis());
+        this.dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "expiry-dispatch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        
+        this.running = true;
+        this.reaper = new Thread(this::runReaper, "expiry-wheel");
+        this.reaper.setDaemon(true);
+        this.reaper.start();
+    }
+    
+    @PreDestroy
+    public void stop() {
+        running = false;
+        reaper.interrupt();
+        dispatcher.shutdownNow();
+    }
+    
+    /**
+     * 만료 시 호출될 핸들러 등록 (만료된 스케줄 ID 묶음을 전달)
+     */
+    public void setHandler(Consumer<List<String>> handler) {
+        this.handler = handler;
+    }
+    
+    /**
+     * 휠에 올릴 대상인지 확인 (horizon 이내)
+     */
+    public boolean isWithinHorizon(LocalDateTime expiryDate) {
+        return expiryDate != null && expiryDate.isBefore(getHorizon());
+    }
+    
+    public LocalDateTime getHorizon() {
+        return LocalDateTime.now().plusHours(horizonHours);
+    }
+    
+    /**
+     * 스케줄 등록/갱신 (horizon 밖이면 무시, 이미 지난 시각이면 즉시 실행)
+     *
+     * @return 휠에 등록되었는지 여부
+     */
+    public boolean schedule(String scheduleId, LocalDateTime expiryDate) {
+        if (!isWithinHorizon(expiryDate)) {
+            return false;
+        }
+        
+        // tick 경계로 올림하여 만료 시각보다 일찍 실행되지 않도록 함
+        long epochMs = expiryDate.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        long expirationMs = (epochMs + tickMs - 1) / tickMs * tickMs;
+        TimerEntry existing = entries.get(scheduleId);
+        if (existing != null && existing.expirationMs == expirationMs && !existing.cancelled) {
+            return true;
+        }
+        
+        TimerEntry entry = new TimerEntry(scheduleId, expirationMs);
+        TimerEntry previous = entries.put(scheduleId, entry);
+        if (previous != null) {
+            previous.cancel();
+        }
+        
+        lock.readLock().lock();
+        try {
+            addEntry(entry);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return true;
+    }
+    
+    /**
+     * 스케줄 취소
+     */
+    public void cancel(String scheduleId) {
+        TimerEntry entry = entries.remove(scheduleId);
+        if (entry != null) {
+            entry.cancel();
+        }
+    }
+    
+    public int size() {
+        return entries.size();
+    }
+    
+    private void addEntry(TimerEntry entry) {
+        if (!wheel.add(entry) && !entry.cancelled) {
+            // 이미 만료된 항목은 즉시 실행 대기열로
+            entries.remove(entry.scheduleId, entry);
+            fired.add(entry.scheduleId);
+        }
+    }
+    
+    private void runReaper() {
+        while (running) {
+            try {
+                TimerBucket bucket = delayQueue.poll(200, TimeUnit.MILLISECONDS);
+                if (bucket != null) {
+                    lock.writeLock().lock();
+                    try {
+                        while (bucket != null) {
+                            wheel.advanceClock(bucket.getExpiration());
+                            bucket.flush(this::addEntry);
+                            bucket = delayQueue.poll();
+                        }
+                    } finally {
+                        lock.writeLock().unlock();
+                    }
+                }
+                dispatchFired();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Expiry timing wheel tick failed", e);
+            }
+        }
+    }
+    
+    private void dispatchFired() {
+        List<String> batch = new ArrayList<>();
+        String scheduleId;
+        while ((scheduleId = fired.poll()) != null) {
+            batch.add(scheduleId);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        
+        log.debug("Expiry timing wheel fired {} schedules", batch.size());
+        dispatcher.execute(() -> {
+            try {
+                handler.accept(batch);
+            } catch (Exception e) {
+                log.error("Failed to handle {} expired schedules", batch.size(), e);
+            }
+        });
+    }
+    
+    /**
+     * 단일 계층 휠 (범위를 넘는 항목은 tick이 wheelSize배인 상위 휠로 넘긴다)
+     */
+    private class TimingWheel {
+        
+        private final long tickMs;
+        
+        private final int wheelSize;
+        
+        private final long interval;
+        
+        private final TimerBucket[] buckets;
+        
+        private long currentTime;
+        
+        private volatile TimingWheel overflowWheel;
+        
+        TimingWheel(long tickMs, int wheelSize, long startMs) {
+            this.tickMs = tickMs;
+            this.wheelSize = wheelSize;
+            this.interval = tickMs * wheelSize;
+            this.buckets = new TimerBucket[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                buckets[i] = new TimerBucket();
+            }
+            this.currentTime = startMs - (startMs % tickMs);
+        }
+        
+        /**
+         * @return 등록되었으면 true, 이미 만료되었거나 취소된 항목이면 false
+         */
+        boolean add(TimerEntry entry) {
+            long expiration = entry.expirationMs;
+            
+            if (entry.cancelled || expiration < currentTime + tickMs) {
+                return false;
+            }
+            if (expiration < currentTime + interval) {
+                long virtualId = expiration / tickMs;
+                TimerBucket bucket = buckets[(int) (virtualId % wheelSize)];
+                bucket.add(entry);
+                if (bucket.setExpiration(virtualId * tickMs)) {
+                    delayQueue.offer(bucket);
+                }
+                return true;
+            }
+            return overflowWheel().add(entry);
+        }
+        
+        void advanceClock(long timeMs) {
+            if (timeMs >= currentTime + tickMs) {
+                currentTime = timeMs - (timeMs % tickMs);
+                if (overflowWheel != null) {
+                    overflowWheel.advanceClock(currentTime);
+                }
+            }
+        }
+        
+        private TimingWheel overflowWheel() {
+            if (overflowWheel == null) {
+                synchronized (this) {
+                    if (overflowWheel == null) {
+                        overflowWheel = new TimingWheel(interval, wheelSize, currentTime);
+                    }
+                }
+            }
+            return overflowWheel;
+        }
+    }
+    
+    /**
+     * 같은 tick 구간에 만료되는 항목 묶음
+     */
+    private static class TimerBucket implements Delayed {
+        
+        private final AtomicLong expiration = new AtomicLong(-1);
+        
+        private final List<TimerEntry> bucketEntries = new ArrayList<>();
+        
+        synchronized void add(TimerEntry entry) {
+            entry.bucket = this;
+            bucketEntries.add(entry);
+        }
+        
+        synchronized void remove(TimerEntry entry) {
+            if (entry.bucket == this) {
+                bucketEntries.remove(entry);
+                entry.bucket = null;
+            }
+        }
+        
+        /**
+         * @return 만료 시각이 바뀌었으면 true (DelayQueue에 다시 넣어야 함)
+         */
+        boolean setExpiration(long expirationMs) {
+            return expiration.getAndSet(expirationMs) != expirationMs;
+        }
+        
+        long getExpiration() {
+            return expiration.get();
+        }
+        
+        void flush(Consumer<TimerEntry> consumer) {
+            List<TimerEntry> flushed;
+            synchronized (this) {
+                flushed = new ArrayList<>(bucketEntries);
+                bucketEntries.forEach(entry -> entry.bucket = null);
+                bucketEntries.clear();
+                expiration.set(-1);
+            }
+            flushed.forEach(consumer);
+        }
+        
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(Math.max(getExpiration() - System.currentTimeMillis(), 0), TimeUnit.MILLISECONDS);
+        }
+        
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(getExpiration(), ((TimerBucket) other).getExpiration());
+        }
+    }
+    
+    private static class TimerEntry {
+        
+        private final String scheduleId;
+        
+        private final long expirationMs;
+        
+        private volatile boolean cancelled;
+        
+        private volatile TimerBucket bucket;
+        
+        TimerEntry(String scheduleId, long expirationMs) {
+            this.scheduleId = scheduleId;
+            this.expirationMs = expirationMs;
+        }
+        
+        void cancel() {
+            cancelled = true;
+            TimerBucket current = bucket;
+            if (current != null) {
+                current.remove(this);
+            }
+        }
+    }
+}
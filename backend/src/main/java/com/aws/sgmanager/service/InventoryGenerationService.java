@@ -0,0 +1,73 @@
+package com.aws.sgmanager.service;
+
+import com.aws.sgmanager.model.InventoryGeneration;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Security Group 인벤토리 세대(generation) 카운터
+ * 동기화와 Security Group 변경이 DB에 반영된 뒤 증가시키며, 조회 API는 이 값으로 ETag를 만든다.
+ * 쓰기 후 증가시키므로 세대 값을 먼저 읽고 데이터를 읽으면 같은 세대에 더 오래된 데이터가 묶이지 않는다.
+ * 만료 여부 등 시간에 따라 바뀌는 값은 clock-seconds 단위로 자른 기준 시각으로 계산해 ETag에 함께 넣는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class InventoryGenerationService {
+    
+    private static final String SECURITY_GROUPS = "security-groups";
+    
+    private final MongoTemplate mongoTemplate;
+    
+    @Value("${inventory.etag-clock-seconds:60}")
+    private long clockSeconds;
+    
+    /**
+     * 현재 세대 (한 번도 변경되지 않았으면 0)
+     */
+    public long current() {
+        InventoryGeneration generation = mongoTemplate.findById(SECURITY_GROUPS, InventoryGeneration.class);
+        return generation != null ? generation.getGeneration() : 0;
+    }
+    
+    /**
+     * 세대 증가 (변경 내용을 DB에 쓴 뒤 호출)
+     */
+    public long bump() {
+        InventoryGeneration generation = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("_id").is(SECURITY_GROUPS)),
+                new Update().inc("generation", 1).set("updatedAt", LocalDateTime.now()),
+                FindAndModifyOptions.options().upsert(true).returnNew(true),
+                InventoryGeneration.class);
+                
+        log.debug("Security group inventory generation is now {}", generation.getGeneration());
+        return generation.getGeneration();
+    }
+    
+    /**
+     * 응답 기준 시각 (clock-seconds 단위로 내림, 같은 구간의 요청은 같은 시각으로 계산)
+     */
+    public LocalDateTime asOf() {
+        long clockMillis = Math.max(1, clockSeconds) * 1000;
+        long millis = System.currentTimeMillis() / clockMillis * clockMillis;
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+    
+    /**
+     * 강한 ETag ("세대-기준시각")
+     */
+    public static String etag(long generation, LocalDateTime asOf) {
+        return "\"" + generation + "-" + asOf.atZone(ZoneId.systemDefault()).toEpochSecond() + "\"";
+    }
+}
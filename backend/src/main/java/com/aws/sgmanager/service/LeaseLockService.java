@@ -0,0 +1,154 @@
+package com.aws.sgmanager.service;
+
+import com.aws.sgmanager.model.LeaseLock;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MongoDB 기반 임대(lease) 잠금
+ * 여러 인스턴스 중 하나만 주기 작업을 실행하도록 이름별 잠금 문서를 findAndModify로 획득한다.
+ * 잠금은 만료 시각이 지나면 다른 인스턴스가 가져갈 수 있고, runIfAcquired는 작업이 끝날 때까지 TTL의 1/3마다
+ * 잠금을 연장한다. 잠금 문서는 지우지 않으므로 fencing token은 획득할 때마다 단조 증가하며, 연장/해제는
+ * token이 일치하는 보유자만 할 수 있다. 잠금으로 보호되는 데이터 쓰기 자체는 token을 검사하지 않으므로
+ * 연장에 실패한 채 TTL을 넘긴 실행과 다음 보유자가 겹칠 수 있다 (만료 스케줄 결과는 claimToken으로 따로 보호).
+ * 만료는 expiresAt 비교로만 판단하고 MongoDB TTL 인덱스는 두지 않는다. TTL 인덱스가 해제된 잠금 문서를 지우면
+ * fencing token이 1부터 다시 시작되어 단조 증가가 깨진다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LeaseLockService {
+    
+    private final MongoTemplate mongoTemplate;
+    
+    private final String instanceId = resolveInstanceId();
+    
+    private final ScheduledExecutorService renewer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "lease-renewer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    @PreDestroy
+    public void shutdown() {
+        renewer.shutdownNow();
+    }
+    
+    public String getInstanceId() {
+        return instanceId;
+    }
+    
+    /**
+     * 잠금 획득 또는 갱신
+     *
+     * @return 획득 시 fencing token, 다른 인스턴스가 보유 중이면 empty
+     */
+    public Optional<Long> tryAcquire(String name, Duration ttl) {
+        LocalDateTime now = LocalDateTime.now();
+        
+        // 내가 보유 중이거나 만료된 잠금만 가져옴 (문서가 없으면 upsert로 생성)
+        Query query = Query.query(Criteria.where("_id").is(name).orOperator(
+                Criteria.where("owner").is(instanceId),
+                Criteria.where("expiresAt").lt(now)));
+        Update update = new Update()
+                .set("owner", instanceId)
+                .set("acquiredAt", now)
+                .set("expiresAt", now.plus(ttl))
+                .inc("fencingToken", 1);
+                
+        try {
+            LeaseLock lock = mongoTemplate.findAndModify(query, update,
+                    FindAndModifyOptions.options().upsert(true).returnNew(true), LeaseLock.class);
+            return Optional.ofNullable(lock).map(LeaseLock::getFencingToken);
+        } catch (DuplicateKeyException e) {
+            // 다른 인스턴스가 유효한 잠금을 보유 중이라 upsert가 기존 문서와 충돌
+            return Optional.empty();
+        }
+    }
+    
+    /**
+     * 잠금 보유 중일 때만 작업 실행 (실행 중에는 TTL의 1/3마다 잠금 연장)
+     *
+     * @return 실행했으면 true
+     */
+    public boolean runIfAcquired(String name, Duration ttl, Runnable task) {
+        Optional<Long> token = tryAcquire(name, ttl);
+        if (token.isEmpty()) {
+            log.debug("Lease {} is held by another instance, skipping", name);
+            return false;
+        }
+        
+        long renewIntervalMs = Math.max(1, ttl.toMillis() / 3);
+        ScheduledFuture<?> renewal = renewer.scheduleAtFixedRate(() -> {
+            if (!renew(name, token.get(), ttl)) {
+                log.warn("Lost lease {} (token {}) while its task was still running", name, token.get());
+            }
+        }, renewIntervalMs, renewIntervalMs, TimeUnit.MILLISECONDS);
+        
+        try {
+            task.run();
+        } finally {
+            renewal.cancel(false);
+            release(name, token.get());
+        }
+        return true;
+    }
+    
+    /**
+     * 잠금 연장 (보유자와 token이 일치할 때만)
+     *
+     * @return 연장했으면 true
+     */
+    public boolean renew(String name, long fencingToken, Duration ttl) {
+        try {
+            Query query = Query.query(Criteria.where("_id").is(name)
+                    .and("owner").is(instanceId)
+                    .and("fencingToken").is(fencingToken));
+            return mongoTemplate.updateFirst(query, Update.update("expiresAt", LocalDateTime.now().plus(ttl)), LeaseLock.class)
+                    .getMatchedCount() > 0;
+        } catch (Exception e) {
+            log.warn("Failed to renew lease {}: {}", name, e.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * 잠금 해제 (보유자와 token이 일치할 때만, 보유자를 비워 해제 뒤에 늦게 도착한 연장이 잠금을 되살리지 못하게 함)
+     */
+    public void release(String name, long fencingToken) {
+        Query query = Query.query(Criteria.where("_id").is(name)
+                .and("owner").is(instanceId)
+                .and("fencingToken").is(fencingToken));
+        mongoTemplate.updateFirst(query, new Update()
+                .set("expiresAt", LocalDateTime.now())
+                .unset("owner"), LeaseLock.class);
+    }
+    
+    private static String resolveInstanceId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -0,0 +1,120 @@
+package com.aws.sgmanager.service;
+
+import com.aws.sgmanager.model.NotificationOutbox;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 수신자/채널별 알림 묶음 계획
+ * 요약 대상 알림은 생성 즉시 outbox에 저장되고, 같은 window에 들어온 알림은 window 끝 시각에 함께 전송 대상이 된다.
+ * outbox를 비울 때 선점한 알림을 채널 + 수신자별로 모아 한 묶음에 최대 maxItems건만 담고, 나머지는 다음 window로 미룬다.
+ */
+public class NotificationDigest {
+    
+    /**
+     * 묶음 단위 (채널 + 수신자, Slack은 채널 이름)
+     */
+    public record Key(NotificationOutbox.Channel channel, String recipient) {
+    }
+    
+    /**
+     * 메시지 하나로 보낼 묶음
+     */
+    public record Batch(Key key, List<NotificationOutbox> items) {
+    }
+    
+    /**
+     * 이번에 보낼 묶음과 다음 window로 미룰 알림
+     */
+    public record Plan(List<Batch> batches, List<NotificationOutbox> deferred) {
+    }
+    
+    private final long windowMillis;
+    
+    private final int maxItems;
+    
+    private final ZoneId zone;
+    
+    public NotificationDigest(long windowMillis, int maxItems) {
+        this(windowMillis, maxItems, ZoneId.systemDefault());
+    }
+    
+    NotificationDigest(long windowMillis, int maxItems, ZoneId zone) {
+        this.windowMillis = Math.max(1, windowMillis);
+        this.maxItems = Math.max(1, maxItems);
+        this.zone = zone;
+    }
+    
+    /**
+     * time이 속한 window의 끝 시각 (같은 window의 알림은 모두 이 시각에 전송 대상이 됨)
+     */
+    public LocalDateTime windowEnd(LocalDateTime time) {
+        long epochMillis = time.atZone(zone).toInstant().toEpochMilli();
+        long end = (Math.floorDiv(epochMillis, windowMillis) + 1) * windowMillis;
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(end), zone);
+    }
+    
+    /**
+     * 선점한 요약 알림을 채널 + 수신자별로 묶음 (수신자당 최대 maxItems건, 순서 유지)
+     */
+    public Plan plan(List<NotificationOutbox> claimed) {
+        Map<Key, List<NotificationOutbox>> byKey = claimed.stream()
+                .collect(Collectors.groupingBy(item -> new Key(item.getChannel(), item.getRecipient()),
+                        LinkedHashMap::new, Collectors.toList()));
+                        
+        List<Batch> batches = new ArrayList<>();
+        List<NotificationOutbox> deferred = new ArrayList<>();
+        byKey.forEach((key, items) -> {
+            batches.add(new Batch(key, List.copyOf(items.subList(0, Math.min(maxItems, items.size())))));
+            if (items.size() > maxItems) {
+                // 한도를 넘은 알림은 다음 window에 전송
+                deferred.addAll(items.subList(maxItems, items.size()));
+            }
+        });
+        
+        return new Plan(batches, deferred);
+    }
+    
+    /**
+     * 묶음을 메시지 하나로 합침 (한 건이면 원래 제목/본문, color는 가장 심각한 값)
+     */
+    public static NotificationOutbox compose(Batch batch) {
+        List<NotificationOutbox> items = batch.items();
+        
+        String subject;
+        String message;
+        if (items.size() == 1) {
+            subject = items.get(0).getSubject();
+            message = items.get(0).getMessage();
+        } else {
+            subject = String.format("[AWS SG Manager] 만료 알림 요약 (%d건)", items.size());
+            message = items.stream()
+                    .map(item -> "■ " + item.getSubject() + "\n" + item.getMessage())
+                    .collect(Collectors.joining("\n"));
+        }
+        
+        return NotificationOutbox.builder()
+                .id("digest-" + items.get(0).getId())
+                .channel(batch.key().channel())
+                .recipient(batch.key().recipient())
+                .subject(subject)
+                .message(message)
+                .color(mostSevereColor(items))
+                .build();
+    }
+    
+    private static String mostSevereColor(List<NotificationOutbox> items) {
+        List<String> colors = items.stream().map(NotificationOutbox::getColor).toList();
+        if (colors.contains("danger")) {
+            return "danger";
+        }
+        return colors.contains("warning") ? "warning" : "good";
+    }
+}
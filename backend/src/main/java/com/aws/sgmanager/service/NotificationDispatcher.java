@@ -0,0 +1,102 @@
+package com.aws.sgmanager.service;
+
+import com.aws.sgmanager.model.NotificationOutbox;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 알림 실제 전송 (outbox 워커에서 호출)
+ * 실패는 예외로 던져 outbox가 재시도/폐기를 결정하도록 한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationDispatcher {
+    
+    /**
+     * 설정된 Slack webhook을 가리키는 채널 이름 (webhook URL은 비밀값이므로 outbox에 저장하지 않음)
+     */
+    public static final String DEFAULT_SLACK_CHANNEL = "default";
+    
+    private final SmtpTransportPool smtpTransportPool;
+    private final SlackClient slackClient;
+    
+    @Value("${notification.email.from}")
+    private String fromEmail;
+    
+    @Value("${notification.slack.webhook:}")
+    private String slackWebhookUrl;
+    
+    public void deliver(NotificationOutbox notification) {
+        switch (notification.getChannel()) {
+            case EMAIL -> {
+                Exception failure = deliverEmails(List.of(notification)).get(notification.getId());
+                if (failure != null) {
+                    throw new RuntimeException("Failed to send email: " + failure.getMessage(), failure);
+                }
+            }
+            case SLACK -> sendSlack(notification);
+        }
+    }
+    
+    /**
+     * 이메일 묶음 전송 (풀에서 꺼낸 SMTP 연결 하나로 전송)
+     *
+     * @return 실패한 알림 ID별 예외
+     */
+    public Map<String, Exception> deliverEmails(List<NotificationOutbox> notifications) {
+        List<SimpleMailMessage> messages = notifications.stream()
+                .map(this::toMailMessage)
+                .collect(Collectors.toList());
+                
+        Map<String, Exception> failures = new HashMap<>();
+        smtpTransportPool.send(messages)
+                .forEach((index, error) -> failures.put(notifications.get(index).getId(), error));
+                
+        log.debug("Sent {} of {} emails", notifications.size() - failures.size(), notifications.size());
+        return failures;
+    }
+    
+    private SimpleMailMessage toMailMessage(NotificationOutbox notification) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(fromEmail);
+        message.setTo(notification.getRecipient());
+        message.setSubject(notification.getSubject());
+        message.setText(notification.getMessage());
+        return message;
+    }
+    
+    private void sendSlack(NotificationOutbox notification) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("text", notification.getSubject());
+        
+        Map<String, Object> attachment = new HashMap<>();
+        attachment.put("color", notification.getColor());
+        attachment.put("text", notification.getMessage());
+        attachment.put("mrkdwn_in", List.of("text"));
+        
+        payload.put("attachments", List.of(attachment));
+        
+        slackClient.post(slackWebhookUrl(notification.getRecipient()), payload);
+        
+        log.debug("Slack notification sent successfully");
+    }
+    
+    private String slackWebhookUrl(String channel) {
+        if (!DEFAULT_SLACK_CHANNEL.equals(channel)) {
+            throw new IllegalStateException("Unknown Slack channel: " + channel);
+        }
+        if (slackWebhookUrl.isEmpty()) {
+            throw new IllegalStateException("Slack webhook is not configured");
+        }
+        return slackWebhookUrl;
+    }
+}
@@ -0,0 +1,381 @@
+package com.aws.sgmanager.service;
+
+import com.aws.sgmanager.model.NotificationOutbox;
+import com.aws.sgmanager.repository.NotificationOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * MongoDB 기반 알림 outbox
+ * 요청 처리 흐름에서는 알림을 문서로 저장만 하고, 워커 풀이 주기적으로 꺼내 전송한다.
+ * 실패하면 지수 백오프로 재시도하고 max-attempts를 넘기면 DEAD로 남긴다.
+ * 전송 대상은 문서 단위 findAndModify로 선점하므로 여러 인스턴스가 함께 처리해도 중복 전송되지 않는다.
+ * 요약 대상 알림도 생성 즉시 저장하고(전송 시각은 window 끝), 꺼낼 때 수신자별로 묶어 메시지 하나로 보낸다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NotificationOutboxService {
+    
+    private final NotificationOutboxRepository notificationOutboxRepository;
+    private final NotificationDispatcher notificationDispatcher;
+    private final MongoTemplate mongoTemplate;
+    private final LeaseLockService leaseLockService;
+    private final MeterRegistry meterRegistry;
+    
+    @Value("${notification.outbox.workers:4}")
+    private int workers;
+    
+    @Value("${notification.outbox.batch-size:50}")
+    private int batchSize;
+    
+    @Value("${notification.outbox.max-attempts:8}")
+    private int maxAttempts;
+    
+    @Value("${notification.outbox.base-delay-ms:5000}")
+    private long baseDelayMs;
+    
+    @Value("${notification.outbox.max-delay-ms:3600000}")
+    private long maxDelayMs;
+    
+    @Value("${notification.outbox.mail-batch-size:20}")
+    private int mailBatchSize;
+    
+    @Value("${notification.outbox.lock-timeout-seconds:300}")
+    private long lockTimeoutSeconds;
+    
+    @Value("${notification.digest.window-ms:60000}")
+    private long digestWindowMs;
+    
+    @Value("${notification.digest.max-items:100}")
+    private int digestMaxItems;
+    
+    @Value("${notification.digest.claim-limit:1000}")
+    private int digestClaimLimit;
+    
+    private ExecutorService executor;
+    
+    private NotificationDigest digest;
+    
+    @PostConstruct
+    public void initialize() {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "notification-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.digest = new NotificationDigest(digestWindowMs, digestMaxItems);
+    }
+    
+    /**
+     * 알림 등록 (전송은 워커가 비동기로 수행)
+     */
+    public NotificationOutbox enqueue(NotificationOutbox.Channel channel, String recipient, String subject, String message, String color) {
+        LocalDateTime now = LocalDateTime.now();
+        NotificationOutbox notification = NotificationOutbox.builder()
+                .channel(channel)
+                .recipient(recipient)
+                .subject(subject)
+                .message(message)
+                .color(color)
+                .status(NotificationOutbox.OutboxStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build();
+                
+        return notificationOutboxRepository.insert(notification);
+    }
+    
+    /**
+     * 요약 대상 알림 등록 (현재 window가 끝나면 같은 수신자의 알림과 묶어 전송)
+     */
+    public NotificationOutbox enqueueDigest(NotificationOutbox.Channel channel, String recipient, String subject, String message, String color) {
+        LocalDateTime now = LocalDateTime.now();
+        NotificationOutbox notification = NotificationOutbox.builder()
+                .channel(channel)
+                .recipient(recipient)
+                .subject(subject)
+                .message(message)
+                .color(color)
+                .digest(true)
+                .status(NotificationOutbox.OutboxStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(digest.windowEnd(now))
+                .createdAt(now)
+                .build();
+                
+        return notificationOutboxRepository.insert(notification);
+    }
+    
+    /**
+     * 전송 대기 알림 처리 (배치 단위로 선점 후 워커 풀에서 전송)
+     */
+    @Scheduled(fixedDelayString = "${notification.outbox.poll-interval-ms:1000}")
+    public void drainOutbox() {
+        releaseStaleLocks();
+        
+        List<NotificationOutbox> emails = new ArrayList<>();
+        List<CompletableFuture<Void>> deliveries = new ArrayList<>();
+        int claimedCount = 0;
+        NotificationOutbox notification;
+        while (claimedCount < batchSize && (notification = claimNext()) != null) {
+            claimedCount++;
+            if (notification.getChannel() == NotificationOutbox.Channel.EMAIL) {
+                emails.add(notification);
+            } else {
+                NotificationOutbox claimed = notification;
+                deliveries.add(CompletableFuture.runAsync(() -> deliver(claimed), executor));
+            }
+        }
+        
+        // 이메일은 mail-batch-size씩 묶어 SMTP 연결 하나로 전송
+        for (int from = 0; from < emails.size(); from += mailBatchSize) {
+            List<NotificationOutbox> chunk = emails.subList(from, Math.min(emails.size(), from + mailBatchSize));
+            deliveries.add(CompletableFuture.runAsync(() -> deliverEmails(chunk), executor));
+        }
+        
+        // 요약 대상은 수신자별로 묶어 메시지 하나로 전송
+        List<NotificationOutbox> digestItems = claimDigestItems();
+        if (!digestItems.isEmpty()) {
+            NotificationDigest.Plan plan = digest.plan(digestItems);
+            deferDigestItems(plan.deferred());
+            for (NotificationDigest.Batch batch : plan.batches()) {
+                deliveries.add(CompletableFuture.runAsync(() -> deliverDigest(batch), executor));
+            }
+            claimedCount += digestItems.size();
+        }
+        
+        if (!deliveries.isEmpty()) {
+            CompletableFuture.allOf(deliveries.toArray(CompletableFuture[]::new)).join();
+            log.debug("Processed {} outbox notifications", claimedCount);
+        }
+    }
+    
+    private NotificationOutbox claimNext() {
+        LocalDateTime now = LocalDateTime.now();
+        Query query = Query.query(Criteria.where("status").is(NotificationOutbox.OutboxStatus.PENDING)
+                        .and("nextAttemptAt").lte(now)
+                        .and("digest").ne(true))
+                .with(Sort.by("nextAttemptAt"));
+        Update update = new Update()
+                .set("status", NotificationOutbox.OutboxStatus.SENDING)
+                .set("lockedBy", leaseLockService.getInstanceId())
+                .set("lockedAt", now);
+                
+        return mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), NotificationOutbox.class);
+    }
+    
+    /**
+     * 전송 시각이 된 요약 대상 알림을 최대 claim-limit건 선점 (이번 선점의 고유 lockedBy로 다시 조회)
+     */
+    private List<NotificationOutbox> claimDigestItems() {
+        LocalDateTime now = LocalDateTime.now();
+        Query due = Query.query(Criteria.where("status").is(NotificationOutbox.OutboxStatus.PENDING)
+                        .and("nextAttemptAt").lte(now)
+                        .and("digest").is(true))
+                .with(Sort.by("nextAttemptAt", "createdAt"))
+                .limit(digestClaimLimit);
+        due.fields().include("id");
+        List<String> ids = mongoTemplate.find(due, NotificationOutbox.class).stream()
+                .map(NotificationOutbox::getId)
+                .collect(Collectors.toList());
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        
+        String lockedBy = leaseLockService.getInstanceId() + "-" + UUID.randomUUID();
+        mongoTemplate.updateMulti(Query.query(Criteria.where("id").in(ids)
+                        .and("status").is(NotificationOutbox.OutboxStatus.PENDING)), new Update()
+                .set("status", NotificationOutbox.OutboxStatus.SENDING)
+                .set("lockedBy", lockedBy)
+                .set("lockedAt", now), NotificationOutbox.class);
+                
+        return mongoTemplate.find(Query.query(Criteria.where("lockedBy").is(lockedBy))
+                .with(Sort.by("createdAt")), NotificationOutbox.class);
+    }
+    
+    /**
+     * 수신자당 max-items를 넘은 요약 알림은 다음 window로 미룸
+     */
+    private void deferDigestItems(List<NotificationOutbox> deferred) {
+        if (deferred.isEmpty()) {
+            return;
+        }
+        
+        Query query = Query.query(Criteria.where("id").in(deferred.stream().map(NotificationOutbox::getId).toList())
+                .and("status").is(NotificationOutbox.OutboxStatus.SENDING));
+        mongoTemplate.updateMulti(query, new Update()
+                .set("status", NotificationOutbox.OutboxStatus.PENDING)
+                .set("nextAttemptAt", digest.windowEnd(LocalDateTime.now()))
+                .unset("lockedBy")
+                .unset("lockedAt"), NotificationOutbox.class);
+                
+        Counter.builder("notification.digest.deferred")
+                .description("Digest notifications deferred to the next window by max-items")
+                .register(meterRegistry)
+                .increment(deferred.size());
+    }
+    
+    private void deliverDigest(NotificationDigest.Batch batch) {
+        try {
+            notificationDispatcher.deliver(NotificationDigest.compose(batch));
+            batch.items().forEach(this::markSent);
+        } catch (Exception e) {
+            batch.items().forEach(notification -> markFailed(notification, e));
+        }
+    }
+    
+    private void deliver(NotificationOutbox notification) {
+        try {
+            notificationDispatcher.deliver(notification);
+            markSent(notification);
+        } catch (Exception e) {
+            markFailed(notification, e);
+        }
+    }
+    
+    private void deliverEmails(List<NotificationOutbox> notifications) {
+        Map<String, Exception> failures;
+        try {
+            failures = notificationDispatcher.deliverEmails(notifications);
+        } catch (Exception e) {
+            notifications.forEach(notification -> markFailed(notification, e));
+            return;
+        }
+        
+        for (NotificationOutbox notification : notifications) {
+            Exception failure = failures.get(notification.getId());
+            if (failure == null) {
+                markSent(notification);
+            } else {
+                markFailed(notification, failure);
+            }
+        }
+    }
+    
+    private void markSent(NotificationOutbox notification) {
+        mongoTemplate.updateFirst(owned(notification), new Update()
+                .set("status", NotificationOutbox.OutboxStatus.SENT)
+                .set("sentAt", LocalDateTime.now())
+                .inc("attempts", 1)
+                .unset("lastError"), NotificationOutbox.class);
+        recordDelivery(notification, "sent");
+    }
+    
+    private void markFailed(NotificationOutbox notification, Exception e) {
+        if (e instanceof SlackClient.RateLimitedException rateLimited) {
+            markThrottled(notification, rateLimited);
+            return;
+        }
+        
+        int attempts = notification.getAttempts() + 1;
+        boolean dead = attempts >= maxAttempts;
+        
+        Update update = new Update()
+                .set("attempts", attempts)
+                .set("lastError", e.getMessage())
+                .unset("lockedBy")
+                .unset("lockedAt");
+        if (dead) {
+            update.set("status", NotificationOutbox.OutboxStatus.DEAD);
+            log.error("Giving up on {} notification {} to {} after {} attempts",
+                    notification.getChannel(), notification.getId(), notification.getRecipient(), attempts, e);
+        } else {
+            update.set("status", NotificationOutbox.OutboxStatus.PENDING)
+                    .set("nextAttemptAt", LocalDateTime.now().plusNanos(TimeUnit.MILLISECONDS.toNanos(backoffMillis(attempts))));
+            log.warn("Failed to send {} notification {} (attempt {}/{}): {}",
+                    notification.getChannel(), notification.getId(), attempts, maxAttempts, e.getMessage());
+        }
+        mongoTemplate.updateFirst(owned(notification), update, NotificationOutbox.class);
+        recordDelivery(notification, dead ? "dead" : "retry");
+    }
+    
+    /**
+     * Slack 429는 전송 실패가 아니므로 시도 횟수를 늘리지 않고 Retry-After 시각에 다시 전송
+     */
+    private void markThrottled(NotificationOutbox notification, SlackClient.RateLimitedException e) {
+        mongoTemplate.updateFirst(owned(notification), new Update()
+                .set("status", NotificationOutbox.OutboxStatus.PENDING)
+                .set("nextAttemptAt", LocalDateTime.now().plus(e.getRetryAfter()))
+                .set("lastError", e.getMessage())
+                .unset("lockedBy")
+                .unset("lockedAt"), NotificationOutbox.class);
+        log.debug("{} notification {} rate limited, retrying after {}s",
+                notification.getChannel(), notification.getId(), e.getRetryAfter().toSeconds());
+        recordDelivery(notification, "throttled");
+    }
+    
+    private static Query owned(NotificationOutbox notification) {
+        return Query.query(Criteria.where("id").is(notification.getId())
+                .and("status").is(NotificationOutbox.OutboxStatus.SENDING)
+                .and("lockedBy").is(notification.getLockedBy()));
+    }
+    
+    /**
+     * 전송 중 인스턴스가 중단되어 SENDING에 남은 알림을 다시 대기 상태로
+     */
+    private void releaseStaleLocks() {
+        Query query = Query.query(Criteria.where("status").is(NotificationOutbox.OutboxStatus.SENDING)
+                .and("lockedAt").lt(LocalDateTime.now().minusSeconds(lockTimeoutSeconds)));
+        Update update = new Update()
+                .set("status", NotificationOutbox.OutboxStatus.PENDING)
+                .unset("lockedBy")
+                .unset("lockedAt");
+                
+        long released = mongoTemplate.updateMulti(query, update, NotificationOutbox.class).getModifiedCount();
+        if (released > 0) {
+            log.warn("Released {} stale outbox notifications", released);
+        }
+    }
+    
+    /**
+     * 지수 백오프 (base × 2^(시도-1), max 제한, 절반 범위 jitter)
+     */
+    private long backoffMillis(int attempts) {
+        long delay = baseDelayMs << Math.min(attempts - 1, 20);
+        long capped = Math.min(maxDelayMs, delay);
+        return capped / 2 + ThreadLocalRandom.current().nextLong(capped / 2 + 1);
+    }
+    
+    private void recordDelivery(NotificationOutbox notification, String outcome) {
+        Counter.builder("notification.outbox.deliveries")
+                .tag("channel", notification.getChannel().name())
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -3,32 +3,25 @@ package com.aws.sgmanager.service;
 import com.aws.sgmanager.model.RuleRequest;
 import com.aws.sgmanager.model.SecurityGroup;
 import com.aws.sgmanager.model.ExpirySchedule;
+import com.aws.sgmanager.model.NotificationOutbox;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.WebClient;
 
+import java.time.Duration;
 import java.time.format.DateTimeFormatter;
-import java.util.HashMap;
-import java.util.Map;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class NotificationService {
     
-    private final JavaMailSender mailSender;
-    private final WebClient.Builder webClientBuilder;
+    private final NotificationOutboxService notificationOutboxService;
     
     @Value("${notification.slack.webhook:}")
     private String slackWebhookUrl;
     
-    @Value("${notification.email.from}")
-    private String fromEmail;
-    
     @Value("${notification.email.admin}")
     private String adminEmail;
     
@@ -157,96 +150,55 @@ public class NotificationService {
     }
     
     /**
-     * 만료 예정 알림 (1일 전)
+     * 만료 예정 알림 (설정된 경고 시점마다)
+     *
+     * @param horizon 이번 알림의 경고 시점 (예: 7일, 1일, 1시간 이내)
      */
-    public void sendExpiryWarningNotification(ExpirySchedule schedule, SecurityGroup securityGroup) {
+    public void sendExpiryWarningNotification(ExpirySchedule schedule, SecurityGroup securityGroup, Duration horizon) {
         try {
-            String subject = String.format("[AWS SG Manager] 만료 예정 알림: %s", securityGroup.getGroupName());
+            String subject = String.format("[AWS SG Manager] 만료 예정 알림 (%s 이내): %s",
+                    formatHorizon(horizon), securityGroup.getGroupName());
             
             String resourceType = schedule.getRuleId() != null ? "규칙" : "Security Group";
             String message = String.format("""
-                %s이(가) 내일 만료됩니다.
+                %s이(가) %s 이내에 만료됩니다.
                 
                 Security Group: %s (%s)
                 만료 일시: %s
                 자동 삭제: %s
                 
-                필요한 경우 만료일을 연장하거나 규칙을 수정하세요.
+                %s
                 관리 페이지: %s/security-groups/%s
                 """,
                 resourceType,
+                formatHorizon(horizon),
                 securityGroup.getGroupName(),
                 securityGroup.getGroupId(),
                 schedule.getExpiryDate().format(DATE_FORMATTER),
                 schedule.getAction() == ExpirySchedule.ExpiryAction.DELETE_RULE || 
                 schedule.getAction() == ExpirySchedule.ExpiryAction.DELETE_GROUP ? "예" : "아니오",
+                schedule.getAction() == ExpirySchedule.ExpiryAction.NOTIFY_ONLY ? 
+                    "알림만 전송되며 자동 삭제되지 않습니다." : 
+                    "필요한 경우 만료일을 연장하거나 규칙을 수정하세요.",
                 baseUrl,
                 securityGroup.getId()
             );
             
-            // 관리자에게 이메일 전송
-            sendEmail(adminEmail, subject, message);
+            // 관리자에게 요약 메일로 전송
+            queueDigest(adminEmail, subject, message, horizon.compareTo(Duration.ofDays(1)) < 0 ? "danger" : "warning");
             
             // 생성자에게도 전송 (있는 경우)
             if (securityGroup.getCreatedBy() != null) {
                 // 생성자 이메일 조회 로직 필요
             }
             
-            // Slack 알림 전송
-            if (!slackWebhookUrl.isEmpty()) {
-                sendSlackNotification(subject, message, "warning");
-            }
-            
-            log.info("Sent expiry warning notification for schedule: {}", schedule.getId());
+            log.debug("Queued expiry warning notification for schedule: {}", schedule.getId());
             
         } catch (Exception e) {
             log.error("Failed to send expiry warning notification", e);
         }
     }
     
-    /**
-     * 만료 당일 알림
-     */
-    public void sendExpiryNotification(ExpirySchedule schedule, SecurityGroup securityGroup) {
-        try {
-            String subject = String.format("[AWS SG Manager] 만료 당일 알림: %s", securityGroup.getGroupName());
-            
-            String resourceType = schedule.getRuleId() != null ? "규칙" : "Security Group";
-            String message = String.format("""
-                %s이(가) 오늘 만료됩니다.
-                
-                Security Group: %s (%s)
-                만료 일시: %s
-                자동 삭제: %s
-                
-                %s
-                """,
-                resourceType,
-                securityGroup.getGroupName(),
-                securityGroup.getGroupId(),
-                schedule.getExpiryDate().format(DATE_FORMATTER),
-                schedule.getAction() == ExpirySchedule.ExpiryAction.DELETE_RULE || 
-                schedule.getAction() == ExpirySchedule.ExpiryAction.DELETE_GROUP ? "예" : "아니오",
-                schedule.getAction() == ExpirySchedule.ExpiryAction.NOTIFY_ONLY ? 
-                    "알림만 전송되며 자동 삭제되지 않습니다." : 
-                    "자동으로 삭제될 예정입니다."
-            );
-            
-            // 관리자에게 이메일 전송
-            sendEmail(adminEmail, subject, message);
-            
-            // Slack 알림 전송
-            if (!slackWebhookUrl.isEmpty()) {
-                sendSlackNotification(subject, message, "danger");
-            }
-            
-            log.info("Sent expiry notification for schedule: {}", schedule.getId());
-            
-        } catch (Exception e) {
-            log.error("Failed to send expiry notification", e);
-        }
-    }
-    
     /**
      * 자동 삭제 완료 알림
      */
@@ -289,15 +241,10 @@ public class NotificationService {
                 );
             }
             
-            // 관리자에게 이메일 전송
-            sendEmail(adminEmail, subject, message);
+            // 관리자에게 요약 메일로 전송
+            queueDigest(adminEmail, subject, message, success ? "good" : "danger");
             
-            // Slack 알림 전송
-            if (!slackWebhookUrl.isEmpty()) {
-                sendSlackNotification(subject, message, success ? "good" : "danger");
-            }
-            
-            log.info("Sent deletion notification for schedule: {}", schedule.getId());
+            log.debug("Queued deletion notification for schedule: {}", schedule.getId());
             
         } catch (Exception e) {
             log.error("Failed to send deletion notification", e);
@@ -305,59 +252,46 @@ public class NotificationService {
     }
     
     /**
-     * 이메일 전송
+     * 만료 관련 알림은 생성 즉시 outbox에 저장하고, 전송 시 수신자/채널별 요약 메시지로 묶음
+     * (window마다 수신자당 최대 max-items건)
      */
-    private void sendEmail(String to, String subject, String text) {
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(to);
-            message.setSubject(subject);
-            message.setText(text);
-            
-            mailSender.send(message);
-            
-            log.debug("Sent email to: {}", to);
-            
-        } catch (Exception e) {
-            log.error("Failed to send email to: {}", to, e);
+    private void queueDigest(String to, String subject, String message, String color) {
+        notificationOutboxService.enqueueDigest(NotificationOutbox.Channel.EMAIL, to, subject, message, color);
+        if (!slackWebhookUrl.isEmpty()) {
+            notificationOutboxService.enqueueDigest(NotificationOutbox.Channel.SLACK, NotificationDispatcher.DEFAULT_SLACK_CHANNEL,
+                    subject, message, color);
         }
     }
     
     /**
-     * Slack 알림 전송
+     * 이메일 전송 (outbox에 등록, 실제 전송은 워커가 수행)
+     */
+    private void sendEmail(String to, String subject, String text) {
+        notificationOutboxService.enqueue(NotificationOutbox.Channel.EMAIL, to, subject, text, null);
+        log.debug("Queued email to: {}", to);
+    }
+    
+    /**
+     * Slack 알림 전송 (outbox에 등록, 실제 전송은 워커가 수행)
      */
     private void sendSlackNotification(String title, String message, String color) {
-        try {
-            if (slackWebhookUrl.isEmpty()) {
-                return;
-            }
-            
-            Map<String, Object> payload = new HashMap<>();
-            payload.put("text", title);
-            
-            Map<String, Object> attachment = new HashMap<>();
-            attachment.put("color", color);
-            attachment.put("text", message);
-            attachment.put("mrkdwn_in", java.util.List.of("text"));
-            
-            payload.put("attachments", java.util.List.of(attachment));
-            
-            WebClient webClient = webClientBuilder.build();
-            
-            webClient.post()
-                    .uri(slackWebhookUrl)
-                    .header("Content-Type", "application/json")
-                    .bodyValue(payload)
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .subscribe(
-                            response -> log.debug("Slack notification sent successfully"),
-                            error -> log.error("Failed to send Slack notification", error)
-                    );
-            
-        } catch (Exception e) {
-            log.error("Failed to send Slack notification", e);
+        if (slackWebhookUrl.isEmpty()) {
+            return;
+        }
+        notificationOutboxService.enqueue(NotificationOutbox.Channel.SLACK, NotificationDispatcher.DEFAULT_SLACK_CHANNEL,
+                title, message, color);
+    }
+    
+    /**
+     * 경고 시점 표시 (7일, 1일, 1시간, 30분)
+     */
+    private static String formatHorizon(Duration horizon) {
+        if (horizon.toDays() > 0 && horizon.toHours() % 24 == 0) {
+            return horizon.toDays() + "일";
+        }
+        if (horizon.toHours() > 0 && horizon.toMinutes() % 60 == 0) {
+            return horizon.toHours() + "시간";
         }
+        return horizon.toMinutes() + "분";
     }
 }
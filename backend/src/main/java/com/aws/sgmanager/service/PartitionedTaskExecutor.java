@@ -0,0 +1,133 @@
+package com.aws.sgmanager.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 파티션 키별 순서를 보장하는 작업 실행기
+ * 같은 키(Security Group)의 작업은 앞선 작업이 끝난 뒤에만 시작하고, 다른 키의 작업은 max-concurrency까지 동시에 실행한다.
+ * 작업은 CompletableFuture를 반환하는 비동기 작업이며, 실행 중 슬롯은 future가 완료될 때 반환된다.
+ * 대기+실행 중인 작업이 queue-capacity에 도달하면 submit 호출이 블록되어 생산자 쪽으로 압력이 전달된다.
+ * EC2 호출이 AwsRateLimiter에서 지연되면 슬롯 반환도 늦어지므로 제출 속도가 호출 한도에 맞춰진다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PartitionedTaskExecutor {
+    
+    private final MeterRegistry meterRegistry;
+    
+    @Value("${expiry.executor.threads:4}")
+    private int threads;
+    
+    @Value("${expiry.executor.max-concurrency:16}")
+    private int maxConcurrency;
+    
+    @Value("${expiry.executor.queue-capacity:1000}")
+    private int queueCapacity;
+    
+    private final Map<String, CompletableFuture<?>> tails = new ConcurrentHashMap<>();
+    
+    private final AtomicInteger queued = new AtomicInteger();
+    
+    private final AtomicInteger active = new AtomicInteger();
+    
+    private ExecutorService executor;
+    
+    private Semaphore concurrencyPermits;
+    
+    private Semaphore capacityPermits;
+    
+    @PostConstruct
+    public void initialize() {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "expiry-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.concurrencyPermits = new Semaphore(Math.max(1, maxConcurrency));
+        this.capacityPermits = new Semaphore(Math.max(1, queueCapacity));
+        
+        Gauge.builder("expiry.executor.queue.depth", queued, AtomicInteger::get)
+                .description("Expiry tasks waiting for their partition or a concurrency slot")
+                .register(meterRegistry);
+        Gauge.builder("expiry.executor.active", active, AtomicInteger::get)
+                .description("Expiry tasks currently running")
+                .register(meterRegistry);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+    
+    /**
+     * 작업 제출 (용량이 찰 때까지 블록)
+     *
+     * @param partitionKey 순서를 보장할 키
+     * @param task         비동기 작업
+     */
+    public <T> CompletableFuture<T> submit(String partitionKey, Supplier<CompletableFuture<T>> task) {
+        try {
+            capacityPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for expiry executor capacity", e);
+        }
+        queued.incrementAndGet();
+        
+        CompletableFuture<T> result = new CompletableFuture<>();
+        
+        // 같은 키의 이전 작업 뒤에 연결 (이전 작업의 성공/실패와 무관하게 실행)
+        CompletableFuture<?> previous = tails.put(partitionKey, result);
+        CompletableFuture<?> predecessor = previous != null ? previous : CompletableFuture.completedFuture(null);
+        
+        predecessor.handle((ignored, error) -> null)
+                .thenComposeAsync(ignored -> run(task), executor)
+                .whenComplete((value, error) -> {
+                    tails.remove(partitionKey, result);
+                    capacityPermits.release();
+                    if (error != null) {
+                        result.completeExceptionally(error);
+                    } else {
+                        result.complete(value);
+                    }
+                });
+                
+        return result;
+    }
+    
+    private <T> CompletableFuture<T> run(Supplier<CompletableFuture<T>> task) {
+        concurrencyPermits.acquireUninterruptibly();
+        queued.decrementAndGet();
+        active.incrementAndGet();
+        
+        CompletableFuture<T> future;
+        try {
+            future = task.get();
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        
+        return future.whenComplete((value, error) -> {
+            active.decrementAndGet();
+            concurrencyPermits.release();
+        });
+    }
+}
@@ -0,0 +1,122 @@
+package com.aws.sgmanager.service;
+
+import com.aws.sgmanager.model.SecurityGroup;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Security Group 조회 캐시 (프로세스 내)
+ * Mongo id 기준으로 문서를 보관하고 AWS groupId → id 색인을 함께 유지한다.
+ * 현재 시각에 따라 달라지는 값(만료 여부 등)은 보관하지 않고 조회 시 DTO 변환에서 계산한다.
+ * 규칙 수에 비례한 가중치로 크기를 제한하며(Caffeine W-TinyLFU), 변경 지점에서 정확히 무효화하고
+ * 다른 인스턴스에서의 변경은 ttl로 반영 지연을 제한한다.
+ * 문서는 항상 id 기준 원자적 로드(byId.get)로만 채우므로, 로드 중에 들어온 무효화가 이전 문서로 덮이지 않는다.
+ * 반환하는 SecurityGroup은 모든 호출자가 공유하는 캐시 객체이므로 읽기 전용으로만 사용해야 한다
+ * (수정이 필요하면 저장소에서 새로 읽고, 조회 결과는 DTO로 변환해 내보냄).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SecurityGroupCache {
+    
+    private final MeterRegistry meterRegistry;
+    
+    @Value("${cache.security-groups.max-weight:200000}")
+    private long maxWeight;
+    
+    @Value("${cache.security-groups.ttl-seconds:60}")
+    private long ttlSeconds;
+    
+    private Cache<String, SecurityGroup> byId;
+    
+    // groupId → id (캐시에서 제거될 때 함께 정리)
+    private final Map<String, String> idByGroupId = new ConcurrentHashMap<>();
+    
+    @PostConstruct
+    public void initialize() {
+        this.byId = Caffeine.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher((String id, SecurityGroup securityGroup) -> 1 + ruleCount(securityGroup))
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .removalListener((String id, SecurityGroup securityGroup, RemovalCause cause) -> {
+                    if (securityGroup != null && securityGroup.getGroupId() != null) {
+                        idByGroupId.remove(securityGroup.getGroupId(), id);
+                    }
+                })
+                .recordStats()
+                .build();
+                
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "securityGroups");
+    }
+    
+    /**
+     * id로 조회 (없으면 loader로 읽어 저장, 존재하지 않는 그룹은 저장하지 않음, 결과는 읽기 전용)
+     */
+    public Optional<SecurityGroup> getById(String id, Function<String, Optional<SecurityGroup>> loader) {
+        SecurityGroup securityGroup = byId.get(id, key -> loader.apply(key).orElse(null));
+        if (securityGroup != null && securityGroup.getGroupId() != null) {
+            idByGroupId.put(securityGroup.getGroupId(), id);
+        }
+        return Optional.ofNullable(securityGroup);
+    }
+    
+    /**
+     * AWS groupId로 조회 (색인이 없으면 idResolver로 id만 찾은 뒤 id 캐시를 통해 로드, 결과는 읽기 전용)
+     */
+    public Optional<SecurityGroup> getByGroupId(String groupId, Function<String, Optional<String>> idResolver,
+                                                Function<String, Optional<SecurityGroup>> loader) {
+        String id = idByGroupId.get(groupId);
+        if (id != null) {
+            SecurityGroup cached = byId.getIfPresent(id);
+            if (cached != null && groupId.equals(cached.getGroupId())) {
+                return Optional.of(cached);
+            }
+        }
+        
+        // 읽은 문서를 직접 put하면 그 사이의 무효화를 덮어쓰므로, id를 찾은 뒤 원자적 로드로 채움
+        return idResolver.apply(groupId)
+                .flatMap(resolvedId -> getById(resolvedId, loader))
+                .filter(securityGroup -> groupId.equals(securityGroup.getGroupId()));
+    }
+    
+    public void invalidate(String id) {
+        byId.invalidate(id);
+    }
+    
+    public void invalidateAll(Collection<String> ids) {
+        byId.invalidateAll(ids);
+    }
+    
+    /**
+     * AWS groupId 기준 무효화 (동기화 결과 반영)
+     */
+    public void invalidateGroupIds(Collection<String> groupIds) {
+        for (String groupId : groupIds) {
+            String id = idByGroupId.remove(groupId);
+            if (id != null) {
+                byId.invalidate(id);
+            }
+        }
+    }
+    
+    private static int ruleCount(SecurityGroup securityGroup) {
+        int inbound = securityGroup.getInboundRules() != null ? securityGroup.getInboundRules().size() : 0;
+        int outbound = securityGroup.getOutboundRules() != null ? securityGroup.getOutboundRules().size() : 0;
+        return inbound + outbound;
+    }
+}
@@ -0,0 +1,186 @@
+package com.aws.sgmanager.service;
+
+import com.aws.sgmanager.model.SecurityGroup;
+import com.aws.sgmanager.model.SecurityGroupRule;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Security Group 전체 내보내기 (감사용)
+ * MongoDB 커서에서 읽은 문서를 바로 응답 스트림에 기록하므로 전체 목록을 메모리에 올리지 않는다.
+ * groupId 순으로 내보내며, 중단되면 마지막으로 온전히 받은 groupId를 after로 넘겨 이어서 받을 수 있다.
+ * CSV는 한 그룹이 여러 줄이므로 중단 시 마지막 groupId의 줄은 일부만 왔을 수 있다.
+ * 이 경우 마지막 groupId의 줄은 버리고 그 앞 groupId를 after로 넘긴다 (NDJSON은 마지막 온전한 줄의 groupId).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SecurityGroupExportService {
+    
+    private static final String CSV_HEADER = "groupId,groupName,vpcId,accountId,region,ruleType,ruleId,ipProtocol,"
+            + "fromPort,toPort,cidrBlocks,ipv6CidrBlocks,securityGroupReferences,description,expiryDate,autoDelete";
+            
+    // 규칙이 없는 그룹의 빈 규칙 열 (ruleType ~ autoDelete)
+    private static final String EMPTY_RULE_COLUMNS = ",".repeat(11);
+    
+    // 스프레드시트가 수식으로 해석하는 시작 문자 (숫자 값은 제외)
+    private static final Pattern FORMULA_PREFIX = Pattern.compile("^[=+\\-@\\t\\r].*", Pattern.DOTALL);
+    
+    private static final Pattern NUMBER = Pattern.compile("[+-]?\\d+(\\.\\d+)?");
+    
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    
+    @Value("${export.cursor-batch-size:500}")
+    private int cursorBatchSize;
+    
+    private ObjectWriter jsonWriter;
+    
+    @PostConstruct
+    public void initialize() {
+        // 한 줄씩 기록하므로 writeValue가 응답 스트림을 닫거나 매번 flush하지 않도록 함
+        this.jsonWriter = objectMapper.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+    
+    public enum ExportFormat {
+        NDJSON,             // 그룹당 JSON 한 줄
+        CSV                 // 규칙당 한 줄
+    }
+    
+    /**
+     * 내보내기 (after가 있으면 해당 groupId 다음부터)
+     *
+     * @return 기록한 그룹 수
+     */
+    public long export(ExportFormat format, String afterGroupId, OutputStream outputStream) throws IOException {
+        Criteria criteria = Criteria.where("syncStatus").ne(SecurityGroup.SyncStatus.DELETED);
+        if (afterGroupId != null && !afterGroupId.isBlank()) {
+            criteria.and("groupId").gt(afterGroupId);
+        }
+        Query query = new Query(criteria)
+                .with(Sort.by("groupId"))
+                .cursorBatchSize(cursorBatchSize);
+        query.fields().exclude("contentHash");
+        
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        long count = 0;
+        
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+        
+        try (Stream<SecurityGroup> securityGroups = mongoTemplate.stream(query, SecurityGroup.class)) {
+            for (SecurityGroup securityGroup : (Iterable<SecurityGroup>) securityGroups::iterator) {
+                if (format == ExportFormat.NDJSON) {
+                    writeJsonLine(writer, securityGroup);
+                } else {
+                    writeCsvRows(writer, securityGroup);
+                }
+                count++;
+            }
+        }
+        
+        writer.flush();
+        log.info("Exported {} security groups as {}", count, format);
+        return count;
+    }
+    
+    private void writeJsonLine(Writer writer, SecurityGroup securityGroup) throws IOException {
+        jsonWriter.writeValue(writer, securityGroup);
+        writer.write('\n');
+    }
+    
+    /**
+     * 그룹의 CSV 줄 (규칙당 한 줄, 규칙이 없으면 규칙 열을 비운 그룹 한 줄)
+     */
+    private void writeCsvRows(Writer writer, SecurityGroup securityGroup) throws IOException {
+        int rows = writeCsvRules(writer, securityGroup, securityGroup.getInboundRules())
+                + writeCsvRules(writer, securityGroup, securityGroup.getOutboundRules());
+        if (rows == 0) {
+            writer.write(csvGroupColumns(securityGroup));
+            writer.write(EMPTY_RULE_COLUMNS);
+            writer.write('\n');
+        }
+    }
+    
+    private int writeCsvRules(Writer writer, SecurityGroup securityGroup, List<SecurityGroupRule> rules) throws IOException {
+        if (rules == null) {
+            return 0;
+        }
+        
+        for (SecurityGroupRule rule : rules) {
+            String references = rule.getSecurityGroupReferences() != null ?
+                    rule.getSecurityGroupReferences().stream()
+                            .map(SecurityGroupRule.SecurityGroupReference::getGroupId)
+                            .collect(Collectors.joining(" ")) : null;
+                            
+            writer.write(csvGroupColumns(securityGroup));
+            writer.write(String.join(",", "",
+                    csv(rule.getRuleType()),
+                    csv(rule.getRuleId()),
+                    csv(rule.getIpProtocol()),
+                    csv(rule.getFromPort()),
+                    csv(rule.getToPort()),
+                    csv(rule.getCidrBlocks() != null ? String.join(" ", rule.getCidrBlocks()) : null),
+                    csv(rule.getIpv6CidrBlocks() != null ? String.join(" ", rule.getIpv6CidrBlocks()) : null),
+                    csv(references),
+                    csv(rule.getDescription()),
+                    csv(rule.getExpiryDate()),
+                    csv(rule.isAutoDelete())));
+            writer.write('\n');
+        }
+        return rules.size();
+    }
+    
+    private static String csvGroupColumns(SecurityGroup securityGroup) {
+        return String.join(",",
+                csv(securityGroup.getGroupId()),
+                csv(securityGroup.getGroupName()),
+                csv(securityGroup.getVpcId()),
+                csv(securityGroup.getAccountId()),
+                csv(securityGroup.getRegion()));
+    }
+    
+    /**
+     * CSV 값 (쉼표/따옴표/줄바꿈이 있으면 따옴표로 감싸고 따옴표는 두 번)
+     * =, +, -, @, 탭, CR로 시작하는 값은 스프레드시트에서 수식으로 실행되지 않도록 앞에 '를 붙인다 (숫자 제외).
+     */
+    private static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (FORMULA_PREFIX.matcher(text).matches() && !NUMBER.matcher(text).matches()) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
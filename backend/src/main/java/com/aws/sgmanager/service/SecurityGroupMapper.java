@@ -0,0 +1,169 @@
+package com.aws.sgmanager.service;
+
+import com.aws.sgmanager.model.SecurityGroup;
+import com.aws.sgmanager.model.SecurityGroupRule;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.ec2.model.IpPermission;
+import software.amazon.awssdk.services.ec2.model.IpRange;
+import software.amazon.awssdk.services.ec2.model.Ipv6Range;
+import software.amazon.awssdk.services.ec2.model.Tag;
+import software.amazon.awssdk.services.ec2.model.UserIdGroupPair;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * AWS EC2 모델 ↔ 내부 모델 변환 (동기/비동기 클라이언트 공용)
+ */
+@Component
+public class SecurityGroupMapper {
+    
+    /**
+     * AWS SecurityGroup을 내부 모델로 변환
+     */
+    public SecurityGroup convertToSecurityGroup(software.amazon.awssdk.services.ec2.model.SecurityGroup awsSecurityGroup, AwsTarget target) {
+        List<SecurityGroupRule> inboundRules = awsSecurityGroup.ipPermissions().stream()
+                .map(permission -> convertToSecurityGroupRule(permission, SecurityGroupRule.RuleType.INBOUND))
+                .collect(Collectors.toList());
+                
+        List<SecurityGroupRule> outboundRules = awsSecurityGroup.ipPermissionsEgress().stream()
+                .map(permission -> convertToSecurityGroupRule(permission, SecurityGroupRule.RuleType.OUTBOUND))
+                .collect(Collectors.toList());
+                
+        Map<String, String> tags = awsSecurityGroup.tags().stream()
+                .collect(Collectors.toMap(Tag::key, Tag::value));
+                
+        SecurityGroup securityGroup = SecurityGroup.builder()
+                .groupId(awsSecurityGroup.groupId())
+                .groupName(awsSecurityGroup.groupName())
+                .description(awsSecurityGroup.description())
+                .vpcId(awsSecurityGroup.vpcId())
+                .ownerId(awsSecurityGroup.ownerId())
+                .accountId(target.accountId())
+                .region(target.region())
+                .inboundRules(inboundRules)
+                .outboundRules(outboundRules)
+                .tags(tags)
+                .syncStatus(SecurityGroup.SyncStatus.SYNCED)
+                .lastSyncedAt(LocalDateTime.now())
+                .build();
+                
+        securityGroup.setContentHash(computeContentHash(securityGroup));
+        
+        return securityGroup;
+    }
+    
+    /**
+     * Security Group 내용 지문 계산 (규칙/태그 순서에 무관한 SHA-256)
+     */
+    private String computeContentHash(SecurityGroup securityGroup) {
+        StringBuilder canonical = new StringBuilder();
+        canonical.append("name=").append(securityGroup.getGroupName()).append('\n');
+        canonical.append("description=").append(securityGroup.getDescription()).append('\n');
+        canonical.append("vpc=").append(securityGroup.getVpcId()).append('\n');
+        canonical.append("account=").append(securityGroup.getAccountId()).append('\n');
+        canonical.append("region=").append(securityGroup.getRegion()).append('\n');
+        
+        appendCanonicalRules(canonical, "in", securityGroup.getInboundRules());
+        appendCanonicalRules(canonical, "out", securityGroup.getOutboundRules());
+        
+        new TreeMap<>(securityGroup.getTags()).forEach((key, value) ->
+                canonical.append("tag=").append(key).append('=').append(value).append('\n'));
+                
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+    
+    private void appendCanonicalRules(StringBuilder canonical, String direction, List<SecurityGroupRule> rules) {
+        rules.stream()
+                .map(rule -> String.join("|",
+                        String.valueOf(rule.getIpProtocol()),
+                        String.valueOf(rule.getFromPort()),
+                        String.valueOf(rule.getToPort()),
+                        rule.getCidrBlocks().stream().sorted().collect(Collectors.joining(",")),
+                        rule.getIpv6CidrBlocks().stream().sorted().collect(Collectors.joining(",")),
+                        rule.getSecurityGroupReferences().stream()
+                                .map(ref -> ref.getGroupId() + ":" + ref.getGroupOwnerId() + ":" + ref.getDescription())
+                                .sorted()
+                                .collect(Collectors.joining(","))))
+                .sorted()
+                .forEach(rule -> canonical.append(direction).append('=').append(rule).append('\n'));
+    }
+    
+    /**
+     * AWS IpPermission을 내부 SecurityGroupRule로 변환
+     */
+    private SecurityGroupRule convertToSecurityGroupRule(IpPermission permission, SecurityGroupRule.RuleType ruleType) {
+        List<String> cidrBlocks = permission.ipRanges().stream()
+                .map(IpRange::cidrIp)
+                .collect(Collectors.toList());
+                
+        List<String> ipv6CidrBlocks = permission.ipv6Ranges().stream()
+                .map(Ipv6Range::cidrIpv6)
+                .collect(Collectors.toList());
+                
+        List<SecurityGroupRule.SecurityGroupReference> sgReferences = permission.userIdGroupPairs().stream()
+                .map(pair -> SecurityGroupRule.SecurityGroupReference.builder()
+                        .groupId(pair.groupId())
+                        .groupOwnerId(pair.userId())
+                        .description(pair.description())
+                        .build())
+                .collect(Collectors.toList());
+                
+        return SecurityGroupRule.builder()
+                .ipProtocol(permission.ipProtocol())
+                .fromPort(permission.fromPort())
+                .toPort(permission.toPort())
+                .cidrBlocks(cidrBlocks)
+                .ipv6CidrBlocks(ipv6CidrBlocks)
+                .securityGroupReferences(sgReferences)
+                .ruleType(ruleType)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+    
+    /**
+     * 내부 SecurityGroupRule을 AWS IpPermission으로 변환
+     */
+    public IpPermission convertToIpPermission(SecurityGroupRule rule) {
+        List<IpRange> ipRanges = rule.getCidrBlocks() != null ? 
+                rule.getCidrBlocks().stream()
+                        .map(cidr -> IpRange.builder().cidrIp(cidr).build())
+                        .collect(Collectors.toList()) : new ArrayList<>();
+                        
+        List<Ipv6Range> ipv6Ranges = rule.getIpv6CidrBlocks() != null ?
+                rule.getIpv6CidrBlocks().stream()
+                        .map(cidr -> Ipv6Range.builder().cidrIpv6(cidr).build())
+                        .collect(Collectors.toList()) : new ArrayList<>();
+                        
+        List<UserIdGroupPair> userIdGroupPairs = rule.getSecurityGroupReferences() != null ?
+                rule.getSecurityGroupReferences().stream()
+                        .map(ref -> UserIdGroupPair.builder()
+                                .groupId(ref.getGroupId())
+                                .userId(ref.getGroupOwnerId())
+                                .description(ref.getDescription())
+                                .build())
+                        .collect(Collectors.toList()) : new ArrayList<>();
+                        
+        return IpPermission.builder()
+                .ipProtocol(rule.getIpProtocol())
+                .fromPort(rule.getFromPort())
+                .toPort(rule.getToPort())
+                .ipRanges(ipRanges)
+                .ipv6Ranges(ipv6Ranges)
+                .userIdGroupPairs(userIdGroupPairs)
+                .build();
+    }
+}
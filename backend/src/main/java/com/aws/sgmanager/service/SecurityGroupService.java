@@ -2,22 +2,47 @@ package com.aws.sgmanager.service;
 
 import com.aws.sgmanager.dto.SecurityGroupDTO;
 import com.aws.sgmanager.dto.SecurityGroupRuleDTO;
+import com.aws.sgmanager.dto.SecurityGroupSearchDTO;
+import com.aws.sgmanager.dto.SecurityGroupSummaryDTO;
+import com.aws.sgmanager.model.ExpirySchedule;
 import com.aws.sgmanager.model.SecurityGroup;
 import com.aws.sgmanager.model.SecurityGroupRule;
 import com.aws.sgmanager.repository.SecurityGroupRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -29,23 +54,36 @@ public class SecurityGroupService {
     private final AwsEc2Service awsEc2Service;
     private final ExpiryScheduleService expiryScheduleService;
     private final NotificationService notificationService;
+    private final MongoTemplate mongoTemplate;
+    private final Ec2ClientPool ec2ClientPool;
+    private final SecurityGroupCache securityGroupCache;
+    private final InventoryGenerationService inventoryGenerationService;
+    
+    private static final Set<String> SORTABLE_FIELDS = Set.of(
+            "groupName", "groupId", "vpcId", "accountId", "region", "expiryDate", "lastSyncedAt", "createdAt", "updatedAt");
+    
+    @Value("${aws.sync.batch-size:500}")
+    private int syncBatchSize;
+    
+    @Value("${aws.sync.purge-deleted:false}")
+    private boolean purgeDeletedGroups;
     
     /**
-     * 모든 Security Group 조회 (AWS와 동기화)
+     * 모든 Security Group 조회 (DB 기준, AWS 동기화는 SecurityGroupSyncService에서 수행)
      */
     public List<SecurityGroupDTO> getAllSecurityGroups() {
+        return getAllSecurityGroups(LocalDateTime.now());
+    }
+    
+    /**
+     * 모든 Security Group 조회 (만료 여부 등은 now 기준으로 계산)
+     */
+    public List<SecurityGroupDTO> getAllSecurityGroups(LocalDateTime now) {
         try {
-            // AWS에서 최신 데이터 가져오기
-            List<SecurityGroup> awsSecurityGroups = awsEc2Service.getAllSecurityGroups();
-            
-            // DB와 동기화
-            syncWithDatabase(awsSecurityGroups);
-            
-            // DB에서 조회하여 반환
-            List<SecurityGroup> securityGroups = securityGroupRepository.findAll();
+            List<SecurityGroup> securityGroups = securityGroupRepository.findBySyncStatusNot(SecurityGroup.SyncStatus.DELETED);
             
             return securityGroups.stream()
-                    .map(this::convertToDTO)
+                    .map(securityGroup -> convertToDTO(securityGroup, now))
                     .collect(Collectors.toList());
                     
         } catch (Exception e) {
@@ -55,19 +93,116 @@ public class SecurityGroupService {
     }
     
     /**
-     * 특정 Security Group 조회
+     * 특정 Security Group 조회 (캐시 우선)
      */
     public Optional<SecurityGroupDTO> getSecurityGroup(String id) {
-        return securityGroupRepository.findById(id)
-                .map(this::convertToDTO);
+        return getSecurityGroup(id, LocalDateTime.now());
     }
     
     /**
-     * AWS Group ID로 Security Group 조회
+     * 특정 Security Group 조회 (캐시 우선, 만료 여부 등은 now 기준으로 계산)
+     */
+    public Optional<SecurityGroupDTO> getSecurityGroup(String id, LocalDateTime now) {
+        return securityGroupCache.getById(id, securityGroupRepository::findById)
+                .map(securityGroup -> convertToDTO(securityGroup, now));
+    }
+    
+    /**
+     * AWS Group ID로 Security Group 조회 (캐시 우선)
      */
     public Optional<SecurityGroupDTO> getSecurityGroupByGroupId(String groupId) {
-        return securityGroupRepository.findByGroupId(groupId)
-                .map(this::convertToDTO);
+        return securityGroupCache.getByGroupId(groupId,
+                        key -> securityGroupRepository.findIdByGroupId(key).map(SecurityGroup::getId),
+                        securityGroupRepository::findById)
+                .map(securityGroup -> convertToDTO(securityGroup, LocalDateTime.now()));
+    }
+    
+    /**
+     * Security Group 검색 (조건/정렬/페이지를 DB에서 처리, 내부 필드는 읽지 않음)
+     */
+    public Page<SecurityGroupDTO> searchSecurityGroups(SecurityGroupSearchDTO filter, Pageable pageable) {
+        LocalDateTime now = LocalDateTime.now();
+        Query query = new Query(buildSearchCriteria(filter, now));
+        query.fields().exclude("contentHash");
+        
+        return findPage(query, pageable, securityGroup -> convertToDTO(securityGroup, now));
+    }
+    
+    /**
+     * Security Group 요약 검색 (규칙 개수는 저장된 값을 쓰고, 규칙은 만료일만 읽어 만료 개수를 계산)
+     */
+    public Page<SecurityGroupSummaryDTO> searchSecurityGroupSummaries(SecurityGroupSearchDTO filter, Pageable pageable) {
+        LocalDateTime now = LocalDateTime.now();
+        Query query = new Query(buildSearchCriteria(filter, now));
+        query.fields().include("groupId", "groupName", "vpcId", "accountId", "region", "tags", "expiryDate",
+                "autoDelete", "lastSyncedAt", "syncStatus", "totalInboundRules", "totalOutboundRules", "earliestRuleExpiry",
+                "inboundRules.expiryDate", "outboundRules.expiryDate");
+                
+        return findPage(query, pageable, securityGroup -> convertToSummary(securityGroup, now));
+    }
+    
+    private <T> Page<T> findPage(Query query, Pageable pageable, Function<SecurityGroup, T> mapper) {
+        // 허용된 필드만 정렬 (그 외 필드는 400), 같은 값끼리는 id 순으로 고정 (페이지 간 중복/누락 방지)
+        Sort sort = pageable.getSort();
+        for (Sort.Order order : sort) {
+            if (!SORTABLE_FIELDS.contains(order.getProperty())) {
+                throw new IllegalArgumentException("Unsupported sort property: " + order.getProperty());
+            }
+        }
+        if (sort.isUnsorted()) {
+            sort = Sort.by("groupName");
+        }
+        Pageable sortedPageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort.and(Sort.by("id")));
+        
+        Query countQuery = Query.of(query);
+        List<T> content = mongoTemplate.find(query.with(sortedPageable), SecurityGroup.class).stream()
+                .map(mapper)
+                .collect(Collectors.toList());
+                
+        return PageableExecutionUtils.getPage(content, sortedPageable,
+                () -> mongoTemplate.count(countQuery, SecurityGroup.class));
+    }
+    
+    private Criteria buildSearchCriteria(SecurityGroupSearchDTO filter, LocalDateTime now) {
+        List<Criteria> criteria = new ArrayList<>();
+        
+        criteria.add(filter.getSyncStatus() != null ?
+                Criteria.where("syncStatus").is(filter.getSyncStatus()) :
+                Criteria.where("syncStatus").ne(SecurityGroup.SyncStatus.DELETED));
+                
+        if (hasText(filter.getVpcId())) {
+            criteria.add(Criteria.where("vpcId").is(filter.getVpcId()));
+        }
+        if (hasText(filter.getAccountId())) {
+            criteria.add(Criteria.where("accountId").is(filter.getAccountId()));
+        }
+        if (hasText(filter.getRegion())) {
+            criteria.add(Criteria.where("region").is(filter.getRegion()));
+        }
+        if (hasText(filter.getNamePrefix())) {
+            // 앵커된 접두사 정규식은 groupName 인덱스를 사용
+            criteria.add(Criteria.where("groupName").regex("^" + Pattern.quote(filter.getNamePrefix())));
+        }
+        if (hasText(filter.getTagKey())) {
+            if (filter.getTagKey().contains(".") || filter.getTagKey().startsWith("$")) {
+                throw new IllegalArgumentException("Invalid tag key: " + filter.getTagKey());
+            }
+            Criteria tag = Criteria.where("tags." + filter.getTagKey());
+            criteria.add(filter.getTagValue() != null ? tag.is(filter.getTagValue()) : tag.exists(true));
+        }
+        if (filter.getHasExpiredRules() != null) {
+            Criteria inboundExpired = Criteria.where("inboundRules").elemMatch(Criteria.where("expiryDate").lt(now));
+            Criteria outboundExpired = Criteria.where("outboundRules").elemMatch(Criteria.where("expiryDate").lt(now));
+            criteria.add(filter.getHasExpiredRules() ?
+                    new Criteria().orOperator(inboundExpired, outboundExpired) :
+                    new Criteria().norOperator(inboundExpired, outboundExpired));
+        }
+        
+        return new Criteria().andOperator(criteria);
+    }
+    
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
     }
     
     /**
@@ -76,7 +211,10 @@ public class SecurityGroupService {
     public SecurityGroupDTO createSecurityGroup(SecurityGroupDTO dto, String createdBy) {
         try {
             // AWS에 Security Group 생성
+            AwsTarget target = new AwsTarget(dto.getAccountId(),
+                    dto.getRegion() != null ? dto.getRegion() : ec2ClientPool.getDefaultRegion());
             String awsGroupId = awsEc2Service.createSecurityGroup(
+                    target,
                     dto.getGroupName(), 
                     dto.getDescription(), 
                     dto.getVpcId()
@@ -88,6 +226,8 @@ public class SecurityGroupService {
                     .groupName(dto.getGroupName())
                     .description(dto.getDescription())
                     .vpcId(dto.getVpcId())
+                    .accountId(target.accountId())
+                    .region(target.region())
                     .expiryDate(dto.getExpiryDate())
                     .autoDelete(dto.isAutoDelete())
                     .createdBy(createdBy)
@@ -98,6 +238,7 @@ public class SecurityGroupService {
                     .build();
             
             SecurityGroup saved = securityGroupRepository.save(securityGroup);
+            inventoryGenerationService.bump();
             
             // 만료일이 설정된 경우 스케줄 등록
             if (dto.getExpiryDate() != null && dto.isAutoDelete()) {
@@ -106,7 +247,7 @@ public class SecurityGroupService {
             
             log.info("Created security group: {} (AWS ID: {})", saved.getId(), awsGroupId);
             
-            return convertToDTO(saved);
+            return convertToDTO(saved, LocalDateTime.now());
             
         } catch (Exception e) {
             log.error("Failed to create security group", e);
@@ -140,12 +281,16 @@ public class SecurityGroupService {
             existing.setExpiryDate(dto.getExpiryDate());
             existing.setAutoDelete(dto.isAutoDelete());
             existing.setUpdatedAt(LocalDateTime.now());
+            existing.setContentHash(null); // 다음 동기화 시 AWS 기준으로 다시 기록
+            existing.setGeneration(existing.getGeneration() + 1);
             
             SecurityGroup updated = securityGroupRepository.save(existing);
+            securityGroupCache.invalidate(id);
+            inventoryGenerationService.bump();
             
             log.info("Updated security group: {}", id);
             
-            return convertToDTO(updated);
+            return convertToDTO(updated, LocalDateTime.now());
             
         } catch (Exception e) {
             log.error("Failed to update security group: {}", id, e);
@@ -162,13 +307,15 @@ public class SecurityGroupService {
         
         try {
             // AWS에서 삭제
-            awsEc2Service.deleteSecurityGroup(securityGroup.getGroupId());
+            awsEc2Service.deleteSecurityGroup(AwsTarget.of(securityGroup), securityGroup.getGroupId());
             
             // 스케줄 삭제
             expiryScheduleService.cancelSecurityGroupExpiry(id);
             
             // DB에서 삭제
             securityGroupRepository.deleteById(id);
+            securityGroupCache.invalidate(id);
+            inventoryGenerationService.bump();
             
             log.info("Deleted security group: {} (AWS ID: {})", id, securityGroup.getGroupId());
             
@@ -182,77 +329,104 @@ public class SecurityGroupService {
      * 인바운드 규칙 추가
      */
     public SecurityGroupDTO addInboundRule(String id, SecurityGroupRuleDTO ruleDTO, String createdBy) {
-        SecurityGroup securityGroup = securityGroupRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Security Group not found"));
-        
-        try {
-            SecurityGroupRule rule = convertToRule(ruleDTO, SecurityGroupRule.RuleType.INBOUND, createdBy);
-            rule.setRuleId(UUID.randomUUID().toString());
-            
-            // AWS에 규칙 추가
-            awsEc2Service.addInboundRule(securityGroup.getGroupId(), rule);
-            
-            // DB 업데이트
-            if (securityGroup.getInboundRules() == null) {
-                securityGroup.setInboundRules(List.of(rule));
-            } else {
-                securityGroup.getInboundRules().add(rule);
-            }
-            securityGroup.setUpdatedAt(LocalDateTime.now());
-            
-            SecurityGroup updated = securityGroupRepository.save(securityGroup);
-            
-            // 만료일이 설정된 경우 스케줄 등록
-            if (rule.getExpiryDate() != null && rule.isAutoDelete()) {
-                expiryScheduleService.scheduleRuleExpiry(id, rule.getRuleId(), rule.getExpiryDate(), createdBy);
-            }
-            
-            log.info("Added inbound rule to security group: {}", id);
-            
-            return convertToDTO(updated);
-            
-        } catch (Exception e) {
-            log.error("Failed to add inbound rule to security group: {}", id, e);
-            throw new RuntimeException("Failed to add inbound rule", e);
-        }
+        return addRules(id, List.of(ruleDTO), SecurityGroupRule.RuleType.INBOUND, createdBy);
     }
     
     /**
      * 아웃바운드 규칙 추가
      */
     public SecurityGroupDTO addOutboundRule(String id, SecurityGroupRuleDTO ruleDTO, String createdBy) {
+        return addRules(id, List.of(ruleDTO), SecurityGroupRule.RuleType.OUTBOUND, createdBy);
+    }
+    
+    /**
+     * 인바운드 규칙 일괄 추가
+     */
+    public SecurityGroupDTO addInboundRules(String id, List<SecurityGroupRuleDTO> ruleDTOs, String createdBy) {
+        return addRules(id, ruleDTOs, SecurityGroupRule.RuleType.INBOUND, createdBy);
+    }
+    
+    /**
+     * 아웃바운드 규칙 일괄 추가
+     */
+    public SecurityGroupDTO addOutboundRules(String id, List<SecurityGroupRuleDTO> ruleDTOs, String createdBy) {
+        return addRules(id, ruleDTOs, SecurityGroupRule.RuleType.OUTBOUND, createdBy);
+    }
+    
+    /**
+     * 규칙 일괄 추가
+     * 모든 규칙을 한 번의 authorize 호출로 AWS에 반영하고, DB 저장과 만료 스케줄 등록도 각각 한 번에 처리한다.
+     * 이미 저장된 규칙과 같은 규칙이 있으면 만료 설정이 무시되지 않도록 요청 전체를 거부(IllegalStateException)하고,
+     * 요청 안에서 중복된 규칙은 첫 번째만 반영한다 (AWS가 중복 규칙 때문에 요청 전체를 거부하지 않도록).
+     */
+    private SecurityGroupDTO addRules(String id, List<SecurityGroupRuleDTO> ruleDTOs,
+                                      SecurityGroupRule.RuleType ruleType, String createdBy) {
         SecurityGroup securityGroup = securityGroupRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Security Group not found"));
         
-        try {
-            SecurityGroupRule rule = convertToRule(ruleDTO, SecurityGroupRule.RuleType.OUTBOUND, createdBy);
+        boolean inbound = ruleType == SecurityGroupRule.RuleType.INBOUND;
+        String direction = inbound ? "inbound" : "outbound";
+        
+        List<SecurityGroupRule> existingRules = inbound ? securityGroup.getInboundRules() : securityGroup.getOutboundRules();
+        Set<String> storedKeys = existingRules != null ?
+                existingRules.stream().map(this::ruleKey).collect(Collectors.toSet()) : Set.of();
+        Set<String> requestedKeys = new HashSet<>();
+        
+        List<SecurityGroupRule> newRules = new ArrayList<>();
+        for (SecurityGroupRuleDTO ruleDTO : ruleDTOs) {
+            SecurityGroupRule rule = convertToRule(ruleDTO, ruleType, createdBy);
+            String key = ruleKey(rule);
+            if (storedKeys.contains(key)) {
+                throw new IllegalStateException("Rule already exists in security group " + id + ": " + direction + " " + key);
+            }
+            if (!requestedKeys.add(key)) {
+                log.debug("Skipping duplicate {} rule in request for security group {}: {}", direction, id, key);
+                continue;
+            }
             rule.setRuleId(UUID.randomUUID().toString());
-            
-            // AWS에 규칙 추가
-            awsEc2Service.addOutboundRule(securityGroup.getGroupId(), rule);
+            newRules.add(rule);
+        }
+        
+        try {
+            // AWS에 규칙 추가 (단일 요청)
+            if (inbound) {
+                awsEc2Service.addInboundRules(AwsTarget.of(securityGroup), securityGroup.getGroupId(), newRules);
+            } else {
+                awsEc2Service.addOutboundRules(AwsTarget.of(securityGroup), securityGroup.getGroupId(), newRules);
+            }
             
             // DB 업데이트
-            if (securityGroup.getOutboundRules() == null) {
-                securityGroup.setOutboundRules(List.of(rule));
+            List<SecurityGroupRule> rules = existingRules != null ? new ArrayList<>(existingRules) : new ArrayList<>();
+            rules.addAll(newRules);
+            if (inbound) {
+                securityGroup.setInboundRules(rules);
             } else {
-                securityGroup.getOutboundRules().add(rule);
+                securityGroup.setOutboundRules(rules);
             }
+            securityGroup.refreshRuleStats();
+            securityGroup.setContentHash(null);
             securityGroup.setUpdatedAt(LocalDateTime.now());
+            securityGroup.setGeneration(securityGroup.getGeneration() + 1);
             
             SecurityGroup updated = securityGroupRepository.save(securityGroup);
+            securityGroupCache.invalidate(id);
+            inventoryGenerationService.bump();
             
-            // 만료일이 설정된 경우 스케줄 등록
-            if (rule.getExpiryDate() != null && rule.isAutoDelete()) {
-                expiryScheduleService.scheduleRuleExpiry(id, rule.getRuleId(), rule.getExpiryDate(), createdBy);
+            // 만료일이 설정된 규칙은 스케줄 일괄 등록
+            List<SecurityGroupRule> expiringRules = newRules.stream()
+                    .filter(rule -> rule.getExpiryDate() != null && rule.isAutoDelete())
+                    .collect(Collectors.toList());
+            if (!expiringRules.isEmpty()) {
+                expiryScheduleService.scheduleRuleExpiries(id, expiringRules, createdBy);
             }
             
-            log.info("Added outbound rule to security group: {}", id);
+            log.info("Added {} {} rule(s) to security group: {}", newRules.size(), direction, id);
             
-            return convertToDTO(updated);
+            return convertToDTO(updated, LocalDateTime.now());
             
         } catch (Exception e) {
-            log.error("Failed to add outbound rule to security group: {}", id, e);
-            throw new RuntimeException("Failed to add outbound rule", e);
+            log.error("Failed to add {} rules to security group: {}", direction, id, e);
+            throw new RuntimeException("Failed to add " + direction + " rule", e);
         }
     }
     
@@ -260,9 +434,10 @@ public class SecurityGroupService {
      * 만료된 Security Group 조회
      */
     public List<SecurityGroupDTO> getExpiredSecurityGroups() {
-        List<SecurityGroup> expired = securityGroupRepository.findExpiredSecurityGroups(LocalDateTime.now());
+        LocalDateTime now = LocalDateTime.now();
+        List<SecurityGroup> expired = securityGroupRepository.findExpiredSecurityGroups(now);
         return expired.stream()
-                .map(this::convertToDTO)
+                .map(securityGroup -> convertToDTO(securityGroup, now))
                 .collect(Collectors.toList());
     }
     
@@ -275,58 +450,320 @@ public class SecurityGroupService {
         
         List<SecurityGroup> expiring = securityGroupRepository.findSecurityGroupsExpiringBetween(now, future);
         return expiring.stream()
-                .map(this::convertToDTO)
+                .map(securityGroup -> convertToDTO(securityGroup, now))
                 .collect(Collectors.toList());
     }
     
     /**
      * AWS와 DB 동기화
+     * 기존 그룹을 groupId 기준으로 한 번에 조회한 뒤, 내용 지문(contentHash)이 바뀐 그룹만
+     * unordered bulk upsert로 배치 기록하고, 변경 없는 그룹은 lastSyncedAt만 일괄 갱신한다.
      */
-    private void syncWithDatabase(List<SecurityGroup> awsSecurityGroups) {
+    public SyncStats syncWithDatabase(List<SecurityGroup> awsSecurityGroups) {
+        if (awsSecurityGroups.isEmpty()) {
+            return SyncStats.builder().build();
+        }
+        
+        List<String> groupIds = awsSecurityGroups.stream()
+                .map(SecurityGroup::getGroupId)
+                .collect(Collectors.toList());
+        
+        Map<String, SecurityGroup> existingByGroupId = securityGroupRepository.findByGroupIdIn(groupIds).stream()
+                .collect(Collectors.toMap(SecurityGroup::getGroupId, Function.identity(), (a, b) -> a));
+        
+        LocalDateTime now = LocalDateTime.now();
+        int batchSize = Math.max(1, syncBatchSize);
+        int created = 0;
+        int updated = 0;
+        List<String> unchangedGroupIds = new ArrayList<>();
+        List<String> changedGroupIds = new ArrayList<>();
+        
+        BulkOperations bulkOps = null;
+        int pending = 0;
+        
         for (SecurityGroup awsSecurityGroup : awsSecurityGroups) {
-            Optional<SecurityGroup> existing = securityGroupRepository.findByGroupId(awsSecurityGroup.getGroupId());
-            
-            if (existing.isPresent()) {
-                // 기존 데이터 업데이트
-                SecurityGroup existingGroup = existing.get();
-                existingGroup.setGroupName(awsSecurityGroup.getGroupName());
-                existingGroup.setDescription(awsSecurityGroup.getDescription());
-                existingGroup.setInboundRules(awsSecurityGroup.getInboundRules());
-                existingGroup.setOutboundRules(awsSecurityGroup.getOutboundRules());
-                existingGroup.setTags(awsSecurityGroup.getTags());
-                existingGroup.setSyncStatus(SecurityGroup.SyncStatus.SYNCED);
-                existingGroup.setLastSyncedAt(LocalDateTime.now());
-                
-                securityGroupRepository.save(existingGroup);
+            SecurityGroup existing = existingByGroupId.get(awsSecurityGroup.getGroupId());
+            
+            if (existing != null && isUnchanged(existing, awsSecurityGroup)) {
+                unchangedGroupIds.add(awsSecurityGroup.getGroupId());
+                continue;
+            }
+            
+            if (existing != null) {
+                // 앱에서 관리하는 규칙 메타데이터(ruleId, 만료일 등) 유지
+                carryOverRuleMetadata(existing.getInboundRules(), awsSecurityGroup.getInboundRules());
+                carryOverRuleMetadata(existing.getOutboundRules(), awsSecurityGroup.getOutboundRules());
+                changedGroupIds.add(awsSecurityGroup.getGroupId());
+                updated++;
             } else {
-                // 새 데이터 저장
-                awsSecurityGroup.setCreatedAt(LocalDateTime.now());
-                awsSecurityGroup.setUpdatedAt(LocalDateTime.now());
-                securityGroupRepository.save(awsSecurityGroup);
+                created++;
+            }
+            awsSecurityGroup.refreshRuleStats();
+            
+            if (bulkOps == null) {
+                bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SecurityGroup.class);
+            }
+            bulkOps.upsert(Query.query(Criteria.where("groupId").is(awsSecurityGroup.getGroupId())),
+                    buildSyncUpdate(awsSecurityGroup, now));
+            
+            if (++pending >= batchSize) {
+                bulkOps.execute();
+                bulkOps = null;
+                pending = 0;
             }
         }
+        
+        // 변경 없는 그룹은 lastSyncedAt만 한 번의 $set으로 갱신 (내용이 같으므로 generation/ETag는 유지,
+        // 데이터 신선도는 X-Last-Synced-At 헤더로 전달)
+        if (!unchangedGroupIds.isEmpty()) {
+            if (bulkOps == null) {
+                bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SecurityGroup.class);
+            }
+            bulkOps.updateMulti(Query.query(Criteria.where("groupId").in(unchangedGroupIds)),
+                    Update.update("lastSyncedAt", now));
+        }
+        
+        if (bulkOps != null) {
+            bulkOps.execute();
+        }
+        
+        // 내용이 바뀐 그룹만 캐시 무효화 (변경 없는 그룹의 lastSyncedAt은 캐시 ttl 이내로 늦게 반영)
+        securityGroupCache.invalidateGroupIds(changedGroupIds);
+        if (created + updated > 0) {
+            inventoryGenerationService.bump();
+        }
+        
+        log.debug("Synced {} security groups (created={}, updated={}, unchanged={})",
+                awsSecurityGroups.size(), created, updated, unchangedGroupIds.size());
+        
+        return SyncStats.builder()
+                .created(created)
+                .updated(updated)
+                .unchanged(unchangedGroupIds.size())
+                .build();
+    }
+    
+    /**
+     * AWS에서 사라진 Security Group 처리
+     * 계정/리전별로 이번 동기화에서 확인된 groupId 집합과 DB의 groupId를 비교하여, 동기화 시작 이후 갱신되지 않은
+     * 그룹을 DELETED로 표시(또는 설정 시 만료 스케줄과 함께 일괄 삭제)한다.
+     *
+     * @return 처리된 그룹 수
+     */
+    public int reconcileDeletedGroups(AwsTarget target, Set<String> awsGroupIds, LocalDateTime syncStartedAt) {
+        // 리전 정보가 없는 기존 문서는 기본 리전 소속으로 간주
+        String region = target.region();
+        Criteria regionCriteria = region.equals(ec2ClientPool.getDefaultRegion()) ?
+                Criteria.where("region").in(region, null) : Criteria.where("region").is(region);
+                
+        // accountId가 null이면 필드가 없는 문서(기본 계정)와 일치
+        Query storedQuery = Query.query(new Criteria().andOperator(
+                Criteria.where("accountId").is(target.accountId()),
+                regionCriteria,
+                Criteria.where("syncStatus").ne(SecurityGroup.SyncStatus.DELETED),
+                new Criteria().orOperator(
+                        Criteria.where("lastSyncedAt").lt(syncStartedAt),
+                        Criteria.where("lastSyncedAt").is(null))));
+        storedQuery.fields().include("groupId");
+        
+        List<String> orphanIds = mongoTemplate.find(storedQuery, SecurityGroup.class).stream()
+                .filter(stored -> !awsGroupIds.contains(stored.getGroupId()))
+                .map(SecurityGroup::getId)
+                .collect(Collectors.toList());
+        
+        if (orphanIds.isEmpty()) {
+            return 0;
+        }
+        
+        Query orphanSchedules = Query.query(Criteria.where("securityGroupId").in(orphanIds));
+        
+        if (purgeDeletedGroups) {
+            mongoTemplate.remove(orphanSchedules, ExpirySchedule.class);
+            mongoTemplate.remove(Query.query(Criteria.where("id").in(orphanIds)), SecurityGroup.class);
+            
+            log.info("Purged {} security groups deleted in AWS {}", orphanIds.size(), target);
+        } else {
+            LocalDateTime now = LocalDateTime.now();
+            
+            // 대상이 사라졌으므로 남은 만료 스케줄은 취소
+            mongoTemplate.updateMulti(
+                    Query.query(Criteria.where("securityGroupId").in(orphanIds)
+                            .and("status").is(ExpirySchedule.ExpiryStatus.SCHEDULED)),
+                    Update.update("status", ExpirySchedule.ExpiryStatus.CANCELLED).set("updatedAt", now),
+                    ExpirySchedule.class);
+            mongoTemplate.updateMulti(
+                    Query.query(Criteria.where("id").in(orphanIds)),
+                    Update.update("syncStatus", SecurityGroup.SyncStatus.DELETED).set("lastSyncedAt", now).inc("generation", 1),
+                    SecurityGroup.class);
+            
+            log.info("Marked {} security groups as deleted in AWS {}", orphanIds.size(), target);
+        }
+        securityGroupCache.invalidateAll(orphanIds);
+        inventoryGenerationService.bump();
+        
+        return orphanIds.size();
+    }
+    
+    /**
+     * AWS 내용 지문이 DB와 같고 정상 동기화 상태인지 확인
+     */
+    private boolean isUnchanged(SecurityGroup existing, SecurityGroup awsSecurityGroup) {
+        return existing.getSyncStatus() == SecurityGroup.SyncStatus.SYNCED
+                && existing.getContentHash() != null
+                && existing.getContentHash().equals(awsSecurityGroup.getContentHash());
+    }
+    
+    /**
+     * 동기화 upsert 문 구성
+     */
+    private Update buildSyncUpdate(SecurityGroup awsSecurityGroup, LocalDateTime now) {
+        return new Update()
+                .set("groupName", awsSecurityGroup.getGroupName())
+                .set("description", awsSecurityGroup.getDescription())
+                .set("vpcId", awsSecurityGroup.getVpcId())
+                .set("ownerId", awsSecurityGroup.getOwnerId())
+                .set("accountId", awsSecurityGroup.getAccountId())
+                .set("region", awsSecurityGroup.getRegion())
+                .set("inboundRules", awsSecurityGroup.getInboundRules())
+                .set("outboundRules", awsSecurityGroup.getOutboundRules())
+                .set("totalInboundRules", awsSecurityGroup.getTotalInboundRules())
+                .set("totalOutboundRules", awsSecurityGroup.getTotalOutboundRules())
+                .set("earliestRuleExpiry", awsSecurityGroup.getEarliestRuleExpiry())
+                .set("tags", awsSecurityGroup.getTags())
+                .set("contentHash", awsSecurityGroup.getContentHash())
+                .set("syncStatus", SecurityGroup.SyncStatus.SYNCED)
+                .set("lastSyncedAt", now)
+                .inc("generation", 1)
+                .setOnInsert("createdAt", now)
+                .setOnInsert("updatedAt", now);
+    }
+    
+    /**
+     * 동일한 규칙(프로토콜/포트/대상)에 대해 기존 DB 규칙의 메타데이터를 AWS 규칙으로 복사
+     */
+    private void carryOverRuleMetadata(List<SecurityGroupRule> storedRules, List<SecurityGroupRule> awsRules) {
+        if (storedRules == null || storedRules.isEmpty() || awsRules == null) {
+            return;
+        }
+        
+        Map<String, SecurityGroupRule> storedByKey = new HashMap<>();
+        for (SecurityGroupRule rule : storedRules) {
+            storedByKey.putIfAbsent(ruleKey(rule), rule);
+        }
+        
+        for (SecurityGroupRule awsRule : awsRules) {
+            SecurityGroupRule stored = storedByKey.get(ruleKey(awsRule));
+            if (stored != null) {
+                awsRule.setRuleId(stored.getRuleId());
+                awsRule.setDescription(stored.getDescription());
+                awsRule.setExpiryDate(stored.getExpiryDate());
+                awsRule.setAutoDelete(stored.isAutoDelete());
+                awsRule.setCreatedBy(stored.getCreatedBy());
+                awsRule.setCreatedAt(stored.getCreatedAt());
+                awsRule.setUpdatedAt(stored.getUpdatedAt());
+            }
+        }
+    }
+    
+    /**
+     * 규칙 비교 키 (프로토콜, 포트, CIDR, 참조 그룹)
+     */
+    private String ruleKey(SecurityGroupRule rule) {
+        List<String> references = rule.getSecurityGroupReferences() != null ?
+                rule.getSecurityGroupReferences().stream()
+                        .map(SecurityGroupRule.SecurityGroupReference::getGroupId)
+                        .sorted()
+                        .collect(Collectors.toList()) : List.of();
+        
+        return String.join("|",
+                Objects.toString(rule.getIpProtocol()),
+                Objects.toString(rule.getFromPort()),
+                Objects.toString(rule.getToPort()),
+                sortedOrEmpty(rule.getCidrBlocks()).toString(),
+                sortedOrEmpty(rule.getIpv6CidrBlocks()).toString(),
+                references.toString());
+    }
+    
+    private List<String> sortedOrEmpty(List<String> values) {
+        return values != null ? values.stream().sorted().collect(Collectors.toList()) : List.of();
+    }
+    
+    /**
+     * 규칙 요약 필드가 없는 기존 문서 채우기 (시작 시 한 번, 비동기)
+     * 그 사이 동기화 등으로 이미 채워진 문서는 덮어쓰지 않는다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillRuleStats() {
+        CompletableFuture.runAsync(() -> {
+            Query query = Query.query(Criteria.where("totalInboundRules").exists(false));
+            query.fields().include("inboundRules", "outboundRules");
+            
+            int batchSize = Math.max(1, syncBatchSize);
+            int backfilled = 0;
+            BulkOperations bulkOps = null;
+            int pending = 0;
+            
+            try (Stream<SecurityGroup> securityGroups = mongoTemplate.stream(query, SecurityGroup.class)) {
+                for (SecurityGroup securityGroup : (Iterable<SecurityGroup>) securityGroups::iterator) {
+                    securityGroup.refreshRuleStats();
+                    
+                    if (bulkOps == null) {
+                        bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SecurityGroup.class);
+                    }
+                    bulkOps.updateOne(Query.query(Criteria.where("id").is(securityGroup.getId())
+                                    .and("totalInboundRules").exists(false)), new Update()
+                            .set("inboundRules", securityGroup.getInboundRules())
+                            .set("outboundRules", securityGroup.getOutboundRules())
+                            .set("totalInboundRules", securityGroup.getTotalInboundRules())
+                            .set("totalOutboundRules", securityGroup.getTotalOutboundRules())
+                            .set("earliestRuleExpiry", securityGroup.getEarliestRuleExpiry()));
+                    backfilled++;
+                    
+                    if (++pending >= batchSize) {
+                        bulkOps.execute();
+                        bulkOps = null;
+                        pending = 0;
+                    }
+                }
+                if (bulkOps != null) {
+                    bulkOps.execute();
+                }
+            } catch (Exception e) {
+                log.warn("Failed to backfill rule stats: {}", e.getMessage());
+                return;
+            }
+            
+            if (backfilled > 0) {
+                log.info("Backfilled rule stats for {} security groups", backfilled);
+            }
+        });
+    }
+    
+    /**
+     * 가장 최근 동기화 시각 조회 (DB 기준)
+     */
+    public Optional<LocalDateTime> getLatestSyncedAt() {
+        return securityGroupRepository.findFirstByOrderByLastSyncedAtDesc()
+                .map(SecurityGroup::getLastSyncedAt);
     }
     
     /**
      * SecurityGroup을 DTO로 변환
+     *
+     * @param now 요청 단위 기준 시각 (한 응답 안의 만료 여부가 모두 같은 시각 기준이 되도록)
      */
-    private SecurityGroupDTO convertToDTO(SecurityGroup securityGroup) {
+    private SecurityGroupDTO convertToDTO(SecurityGroup securityGroup, LocalDateTime now) {
         List<SecurityGroupRuleDTO> inboundRules = securityGroup.getInboundRules() != null ?
                 securityGroup.getInboundRules().stream()
-                        .map(this::convertRuleToDTO)
+                        .map(rule -> convertRuleToDTO(rule, now))
                         .collect(Collectors.toList()) : List.of();
                         
         List<SecurityGroupRuleDTO> outboundRules = securityGroup.getOutboundRules() != null ?
                 securityGroup.getOutboundRules().stream()
-                        .map(this::convertRuleToDTO)
+                        .map(rule -> convertRuleToDTO(rule, now))
                         .collect(Collectors.toList()) : List.of();
-        
-        // 만료된 규칙 개수 계산
-        LocalDateTime now = LocalDateTime.now();
-        int expiredRulesCount = (int) (inboundRules.stream().filter(rule -> 
-                rule.getExpiryDate() != null && rule.getExpiryDate().isBefore(now)).count() +
-                outboundRules.stream().filter(rule -> 
-                rule.getExpiryDate() != null && rule.getExpiryDate().isBefore(now)).count());
+                        
+        int expiredRulesCount = countExpiredRules(securityGroup, now);
         
         return SecurityGroupDTO.builder()
                 .id(securityGroup.getId())
@@ -335,6 +772,8 @@ public class SecurityGroupService {
                 .description(securityGroup.getDescription())
                 .vpcId(securityGroup.getVpcId())
                 .ownerId(securityGroup.getOwnerId())
+                .accountId(securityGroup.getAccountId())
+                .region(securityGroup.getRegion())
                 .inboundRules(inboundRules)
                 .outboundRules(outboundRules)
                 .tags(securityGroup.getTags())
@@ -345,6 +784,7 @@ public class SecurityGroupService {
                 .updatedAt(securityGroup.getUpdatedAt())
                 .lastSyncedAt(securityGroup.getLastSyncedAt())
                 .syncStatus(securityGroup.getSyncStatus())
+                .generation(securityGroup.getGeneration())
                 .totalInboundRules(inboundRules.size())
                 .totalOutboundRules(outboundRules.size())
                 .expiredRulesCount(expiredRulesCount)
@@ -353,23 +793,78 @@ public class SecurityGroupService {
     }
     
     /**
-     * SecurityGroupRule을 DTO로 변환
+     * SecurityGroup을 요약 DTO로 변환 (규칙 개수는 저장된 값, 규칙은 만료일만 사용)
      */
-    private SecurityGroupRuleDTO convertRuleToDTO(SecurityGroupRule rule) {
-        LocalDateTime now = LocalDateTime.now();
-        boolean isExpired = rule.getExpiryDate() != null && rule.getExpiryDate().isBefore(now);
-        long daysUntilExpiry = rule.getExpiryDate() != null ? 
-                ChronoUnit.DAYS.between(now, rule.getExpiryDate()) : 0;
+    private SecurityGroupSummaryDTO convertToSummary(SecurityGroup securityGroup, LocalDateTime now) {
+        int expiredRulesCount = countExpiredRules(securityGroup, now);
+        // 규칙 요약이 채워지기 전이면 불러온 규칙 배열(만료일만 포함)의 길이 사용
+        boolean missingRuleStats = isMissingRuleStats(securityGroup);
         
-        String portRange = "All";
-        if (rule.getFromPort() != null && rule.getToPort() != null) {
-            if (rule.getFromPort().equals(rule.getToPort())) {
-                portRange = rule.getFromPort().toString();
-            } else {
-                portRange = rule.getFromPort() + "-" + rule.getToPort();
-            }
+        return SecurityGroupSummaryDTO.builder()
+                .id(securityGroup.getId())
+                .groupId(securityGroup.getGroupId())
+                .groupName(securityGroup.getGroupName())
+                .vpcId(securityGroup.getVpcId())
+                .accountId(securityGroup.getAccountId())
+                .region(securityGroup.getRegion())
+                .tags(securityGroup.getTags())
+                .expiryDate(securityGroup.getExpiryDate())
+                .autoDelete(securityGroup.isAutoDelete())
+                .lastSyncedAt(securityGroup.getLastSyncedAt())
+                .syncStatus(securityGroup.getSyncStatus())
+                .totalInboundRules(missingRuleStats ? size(securityGroup.getInboundRules()) : securityGroup.getTotalInboundRules())
+                .totalOutboundRules(missingRuleStats ? size(securityGroup.getOutboundRules()) : securityGroup.getTotalOutboundRules())
+                .expiredRulesCount(expiredRulesCount)
+                .hasExpiredRules(expiredRulesCount > 0)
+                .build();
+    }
+    
+    /**
+     * 만료된 규칙 개수 (가장 이른 규칙 만료일이 아직 지나지 않았으면 규칙을 살펴보지 않음)
+     * 규칙 요약이 아직 채워지지 않은 문서는 규칙을 직접 살펴본다.
+     */
+    private int countExpiredRules(SecurityGroup securityGroup, LocalDateTime now) {
+        LocalDateTime earliest = securityGroup.getEarliestRuleExpiry();
+        if (!isMissingRuleStats(securityGroup) && (earliest == null || !earliest.isBefore(now))) {
+            return 0;
         }
         
+        int count = 0;
+        for (List<SecurityGroupRule> rules : Arrays.asList(securityGroup.getInboundRules(), securityGroup.getOutboundRules())) {
+            if (rules == null) {
+                continue;
+            }
+            for (SecurityGroupRule rule : rules) {
+                if (rule.getExpiryDate() != null && rule.getExpiryDate().isBefore(now)) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+    
+    /**
+     * 규칙 요약 필드가 없는 문서 여부 (backfill 전이면 개수 0, 만료일 없음으로 읽힘)
+     */
+    private static boolean isMissingRuleStats(SecurityGroup securityGroup) {
+        return securityGroup.getEarliestRuleExpiry() == null
+                && securityGroup.getTotalInboundRules() == 0 && securityGroup.getTotalOutboundRules() == 0;
+    }
+    
+    private static int size(List<SecurityGroupRule> rules) {
+        return rules != null ? rules.size() : 0;
+    }
+    
+    /**
+     * SecurityGroupRule을 DTO로 변환 (포트 범위는 저장된 값 사용, 만료 여부는 now 기준)
+     */
+    private SecurityGroupRuleDTO convertRuleToDTO(SecurityGroupRule rule, LocalDateTime now) {
+        boolean isExpired = rule.getExpiryDate() != null && rule.getExpiryDate().isBefore(now);
+        long daysUntilExpiry = rule.getExpiryDate() != null ? 
+                ChronoUnit.DAYS.between(now, rule.getExpiryDate()) : 0;
+        String portRange = rule.getPortRange() != null ? rule.getPortRange() :
+                SecurityGroupRule.formatPortRange(rule.getFromPort(), rule.getToPort());
+                
         return SecurityGroupRuleDTO.builder()
                 .ruleId(rule.getRuleId())
                 .ipProtocol(rule.getIpProtocol())
@@ -409,4 +904,12 @@ public class SecurityGroupService {
                 .updatedAt(LocalDateTime.now())
                 .build();
     }
+    
+    @lombok.Data
+    @lombok.Builder
+    public static class SyncStats {
+        private int created;
+        private int updated;
+        private int unchanged;
+    }
 }
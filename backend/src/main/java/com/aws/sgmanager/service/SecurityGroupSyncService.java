@@ -0,0 +1,278 @@
+package com.aws.sgmanager.service;
+
+import com.aws.sgmanager.dto.SyncResultDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AWS → MongoDB 백그라운드 동기화 서비스
+ * 조회 API는 DB만 읽고, AWS 호출은 이 서비스의 주기/수동 동기화에서만 발생한다.
+ * 계정/리전별 동기화는 제한된 병렬도로 동시에 수행하므로 전체 소요 시간은 가장 느린 대상에 수렴한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SecurityGroupSyncService {
+    
+    private final AwsEc2Service awsEc2Service;
+    private final SecurityGroupService securityGroupService;
+    private final Ec2ClientPool ec2ClientPool;
+    
+    @Value("${aws.sync.enabled:true}")
+    private boolean syncEnabled;
+    
+    @Value("${aws.sync.page-size:500}")
+    private int pageSize;
+    
+    @Value("${aws.sync.parallelism:4}")
+    private int parallelism;
+    
+    @Value("${aws.sync.region-timeout-seconds:300}")
+    private long regionTimeoutSeconds;
+    
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    
+    private volatile SyncResultDTO lastResult;
+    
+    private volatile LocalDateTime lastSuccessfulSyncAt;
+    
+    private ExecutorService syncExecutor;
+    
+    @PostConstruct
+    public void initialize() {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.syncExecutor = Executors.newFixedThreadPool(Math.max(1, parallelism), runnable -> {
+            Thread thread = new Thread(runnable, "sg-sync-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        syncExecutor.shutdownNow();
+    }
+    
+    /**
+     * 주기적 동기화
+     */
+    @Scheduled(initialDelayString = "${aws.sync.initial-delay-ms:10000}",
+               fixedDelayString = "${aws.sync.interval-ms:300000}")
+    public void scheduledSync() {
+        if (!syncEnabled) {
+            return;
+        }
+        sync("SCHEDULED");
+    }
+    
+    /**
+     * 수동(즉시) 동기화
+     */
+    public SyncResultDTO syncNow() {
+        return sync("MANUAL");
+    }
+    
+    /**
+     * 마지막 동기화 결과 (진행 중이면 현재 진행 상황)
+     */
+    public Optional<SyncResultDTO> getLastResult() {
+        return Optional.ofNullable(lastResult);
+    }
+    
+    /**
+     * 데이터 신선도 기준 시각 (마지막 성공 동기화, 없으면 DB 기준)
+     */
+    public Optional<LocalDateTime> getLastSyncedAt() {
+        if (lastSuccessfulSyncAt != null) {
+            return Optional.of(lastSuccessfulSyncAt);
+        }
+        return securityGroupService.getLatestSyncedAt();
+    }
+    
+    private SyncResultDTO sync(String trigger) {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Security group sync already in progress, skipping {} trigger", trigger);
+            return SyncResultDTO.builder()
+                    .status(SyncResultDTO.SyncRunStatus.SKIPPED)
+                    .trigger(trigger)
+                    .startedAt(LocalDateTime.now())
+                    .completedAt(LocalDateTime.now())
+                    .build();
+        }
+        
+        SyncResultDTO result = SyncResultDTO.builder()
+                .status(SyncResultDTO.SyncRunStatus.RUNNING)
+                .trigger(trigger)
+                .startedAt(LocalDateTime.now())
+                .regionResults(new ArrayList<>())
+                .build();
+        lastResult = result;
+        
+        try {
+            List<AwsTarget> targets = ec2ClientPool.getTargets();
+            log.info("Starting security group sync ({}) for targets {}, page size {}", trigger, targets, pageSize);
+            
+            // 계정/리전별 병렬 실행
+            Map<AwsTarget, Future<SyncResultDTO.RegionResult>> futures = new LinkedHashMap<>();
+            for (AwsTarget target : targets) {
+                futures.put(target, syncExecutor.submit(() -> syncRegion(target, result)));
+            }
+            
+            List<SyncResultDTO.RegionResult> regionResults = new ArrayList<>();
+            for (Map.Entry<AwsTarget, Future<SyncResultDTO.RegionResult>> entry : futures.entrySet()) {
+                regionResults.add(awaitRegion(entry.getKey(), entry.getValue()));
+            }
+            
+            long failed = regionResults.stream()
+                    .filter(regionResult -> regionResult.getStatus() != SyncResultDTO.SyncRunStatus.SUCCESS)
+                    .count();
+                    
+            synchronized (result) {
+                result.setRegionResults(regionResults);
+                if (failed == 0) {
+                    result.setStatus(SyncResultDTO.SyncRunStatus.SUCCESS);
+                    lastSuccessfulSyncAt = result.getStartedAt();
+                } else if (failed < regionResults.size()) {
+                    result.setStatus(SyncResultDTO.SyncRunStatus.PARTIAL);
+                    result.setErrorMessage(failed + " of " + regionResults.size() + " targets failed");
+                } else {
+                    result.setStatus(SyncResultDTO.SyncRunStatus.FAILED);
+                    result.setErrorMessage("All targets failed");
+                }
+            }
+            
+        } catch (Exception e) {
+            log.error("Security group sync failed", e);
+            result.setStatus(SyncResultDTO.SyncRunStatus.FAILED);
+            result.setErrorMessage(e.getMessage());
+            
+        } finally {
+            result.setCompletedAt(LocalDateTime.now());
+            result.setDurationMs(Duration.between(result.getStartedAt(), result.getCompletedAt()).toMillis());
+            running.set(false);
+        }
+        
+        log.info("Completed security group sync ({}): status={}, pages={}, fetched={}, created={}, updated={}, unchanged={}, deleted={}, {}ms",
+                trigger, result.getStatus(), result.getPageCount(), result.getFetchedCount(),
+                result.getCreatedCount(), result.getUpdatedCount(), result.getUnchangedCount(),
+                result.getDeletedCount(), result.getDurationMs());
+                
+        return result;
+    }
+    
+    /**
+     * 단일 계정/리전 동기화 (페이지 단위 반영 후 삭제 감지)
+     */
+    private SyncResultDTO.RegionResult syncRegion(AwsTarget target, SyncResultDTO result) {
+        SyncResultDTO.RegionResult regionResult = SyncResultDTO.RegionResult.builder()
+                .accountId(target.accountId())
+                .region(target.region())
+                .status(SyncResultDTO.SyncRunStatus.RUNNING)
+                .build();
+                
+        long startNanos = System.nanoTime();
+        long deadlineNanos = startNanos + TimeUnit.SECONDS.toNanos(regionTimeoutSeconds);
+        
+        try {
+            // 삭제 감지를 위해 groupId만 보관
+            Set<String> awsGroupIds = new HashSet<>();
+            
+            // 페이지 단위로 조회 즉시 DB 반영 (전체 목록을 메모리에 올리지 않음)
+            awsEc2Service.streamSecurityGroups(target, pageSize, page -> {
+                if (System.nanoTime() > deadlineNanos) {
+                    throw new IllegalStateException("Region sync timed out after " + regionTimeoutSeconds + "s");
+                }
+                
+                SecurityGroupService.SyncStats stats = securityGroupService.syncWithDatabase(page);
+                page.forEach(securityGroup -> awsGroupIds.add(securityGroup.getGroupId()));
+                
+                regionResult.setFetchedCount(regionResult.getFetchedCount() + page.size());
+                regionResult.setCreatedCount(regionResult.getCreatedCount() + stats.getCreated());
+                regionResult.setUpdatedCount(regionResult.getUpdatedCount() + stats.getUpdated());
+                regionResult.setUnchangedCount(regionResult.getUnchangedCount() + stats.getUnchanged());
+                
+                synchronized (result) {
+                    result.setPageCount(result.getPageCount() + 1);
+                    result.setFetchedCount(result.getFetchedCount() + page.size());
+                    result.setCreatedCount(result.getCreatedCount() + stats.getCreated());
+                    result.setUpdatedCount(result.getUpdatedCount() + stats.getUpdated());
+                    result.setUnchangedCount(result.getUnchangedCount() + stats.getUnchanged());
+                }
+                
+                log.info("Synced page in {}: {} groups (fetched={}, created={}, updated={}, unchanged={})",
+                        target, page.size(), regionResult.getFetchedCount(), regionResult.getCreatedCount(),
+                        regionResult.getUpdatedCount(), regionResult.getUnchangedCount());
+            });
+            
+            // 리전 전체 페이지를 끝까지 읽은 경우에만 삭제 판정
+            int deleted = securityGroupService.reconcileDeletedGroups(target, awsGroupIds, result.getStartedAt());
+            regionResult.setDeletedCount(deleted);
+            synchronized (result) {
+                result.setDeletedCount(result.getDeletedCount() + deleted);
+            }
+            
+            regionResult.setStatus(SyncResultDTO.SyncRunStatus.SUCCESS);
+            
+        } catch (Exception e) {
+            log.error("Security group sync failed for {}", target, e);
+            regionResult.setStatus(SyncResultDTO.SyncRunStatus.FAILED);
+            regionResult.setErrorMessage(e.getMessage());
+            
+        } finally {
+            regionResult.setDurationMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        }
+        
+        return regionResult;
+    }
+    
+    /**
+     * 리전 결과 대기 (페이지 사이 검사로는 멈춘 EC2 호출을 끊을 수 없으므로 대기에도 제한 시간 적용)
+     */
+    private SyncResultDTO.RegionResult awaitRegion(AwsTarget target, Future<SyncResultDTO.RegionResult> future) {
+        try {
+            return future.get(regionTimeoutSeconds, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.error("Security group sync for {} did not finish within {}s, cancelling", target, regionTimeoutSeconds);
+            return failedRegion(target, "Region sync timed out after " + regionTimeoutSeconds + "s");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            return failedRegion(target, "Interrupted");
+        } catch (ExecutionException e) {
+            return failedRegion(target, e.getCause().getMessage());
+        }
+    }
+    
+    private SyncResultDTO.RegionResult failedRegion(AwsTarget target, String errorMessage) {
+        return SyncResultDTO.RegionResult.builder()
+                .accountId(target.accountId())
+                .region(target.region())
+                .status(SyncResultDTO.SyncRunStatus.FAILED)
+                .errorMessage(errorMessage)
+                .build();
+    }
+}
@@ -0,0 +1,146 @@
+package com.aws.sgmanager.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.netty.channel.ChannelOption;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Slack webhook 전송 클라이언트
+ * 커넥션 풀을 가진 WebClient 하나를 공유하고, 동시 요청 수는 outbox 워커 수로 제한된다.
+ * 429 응답은 워커 스레드에서 기다리지 않고 Retry-After를 담은 RateLimitedException으로 바로 넘겨
+ * outbox가 다음 전송 시각을 정하게 한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SlackClient {
+    
+    private final WebClient.Builder webClientBuilder;
+    private final MeterRegistry meterRegistry;
+    
+    @Value("${notification.slack.max-connections:20}")
+    private int maxConnections;
+    
+    @Value("${notification.slack.connect-timeout-ms:3000}")
+    private int connectTimeoutMs;
+    
+    @Value("${notification.slack.timeout-ms:10000}")
+    private long timeoutMs;
+    
+    private ConnectionProvider connectionProvider;
+    
+    private WebClient webClient;
+    
+    @PostConstruct
+    public void initialize() {
+        this.connectionProvider = ConnectionProvider.builder("slack")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(Duration.ofMillis(timeoutMs))
+                .maxIdleTime(Duration.ofSeconds(60))
+                .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .responseTimeout(Duration.ofMillis(timeoutMs));
+                
+        this.webClient = webClientBuilder.clone()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+    
+    /**
+     * Slack 429 응답 (retryAfter 이후에 다시 보내야 함)
+     */
+    public static class RateLimitedException extends RuntimeException {
+        
+        private final Duration retryAfter;
+        
+        public RateLimitedException(Duration retryAfter) {
+            super("Slack webhook rate limited (Retry-After " + retryAfter.toSeconds() + "s)");
+            this.retryAfter = retryAfter;
+        }
+        
+        public Duration getRetryAfter() {
+            return retryAfter;
+        }
+    }
+    
+    /**
+     * webhook 전송 (완료까지 대기, 429면 RateLimitedException, 그 외 실패 시 RuntimeException)
+     */
+    public void post(String webhookUrl, Map<String, Object> payload) {
+        ResponseEntity<Void> response = send(webhookUrl, payload);
+        
+        if (response.getStatusCode().is2xxSuccessful()) {
+            record("sent");
+            return;
+        }
+        
+        if (response.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+            record("throttled");
+            throw new RateLimitedException(Duration.ofSeconds(retryAfterSeconds(response)));
+        }
+        
+        record("failed");
+        throw new RuntimeException("Slack webhook returned " + response.getStatusCode().value());
+    }
+    
+    private ResponseEntity<Void> send(String webhookUrl, Map<String, Object> payload) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return webClient.post()
+                    .uri(webhookUrl)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(payload)
+                    .exchangeToMono(response -> response.toBodilessEntity())
+                    .block(Duration.ofMillis(timeoutMs));
+        } catch (Exception e) {
+            record("error");
+            throw new RuntimeException("Slack webhook request failed: " + e.getMessage(), e);
+        } finally {
+            sample.stop(Timer.builder("slack.webhook.latency")
+                    .description("Slack webhook request latency")
+                    .register(meterRegistry));
+        }
+    }
+    
+    private static long retryAfterSeconds(ResponseEntity<Void> response) {
+        String retryAfter = response.getHeaders().getFirst("Retry-After");
+        if (retryAfter == null) {
+            return 1;
+        }
+        try {
+            return Math.max(0, Long.parseLong(retryAfter.trim()));
+        } catch (NumberFormatException e) {
+            return 1;
+        }
+    }
+    
+    private void record(String outcome) {
+        Counter.builder("slack.webhook.requests")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+    
+    @PreDestroy
+    public void close() {
+        connectionProvider.dispose();
+    }
+}
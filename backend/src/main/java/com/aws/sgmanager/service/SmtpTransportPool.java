@@ -0,0 +1,186 @@
+package com.aws.sgmanager.service;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMailMessage;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 인증된 SMTP 연결 풀
+ * 메일마다 연결/STARTTLS/AUTH를 반복하지 않도록 연결된 Transport를 pool-size개까지 열어 두고 재사용한다.
+ * idle-timeout 동안 쓰이지 않은 연결은 닫는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SmtpTransportPool {
+    
+    private final JavaMailSenderImpl mailSender;
+    
+    @Value("${notification.mail.pool-size:4}")
+    private int poolSize;
+    
+    @Value("${notification.mail.borrow-timeout-ms:30000}")
+    private long borrowTimeoutMs;
+    
+    @Value("${notification.mail.idle-timeout-ms:60000}")
+    private long idleTimeoutMs;
+    
+    // 최근 반납한 연결부터 재사용 (오래 쉰 연결은 뒤에 남아 정리됨)
+    private final LinkedBlockingDeque<PooledTransport> idle = new LinkedBlockingDeque<>();
+    
+    private Semaphore permits;
+    
+    @PostConstruct
+    public void initialize() {
+        this.permits = new Semaphore(poolSize);
+    }
+    
+    /**
+     * 메일 묶음 전송 (연결 하나로 순서대로 전송)
+     *
+     * @return 실패한 메시지의 인덱스별 예외 (모두 성공하면 빈 map)
+     */
+    public Map<Integer, Exception> send(List<SimpleMailMessage> messages) {
+        Map<Integer, Exception> failures = new HashMap<>();
+        PooledTransport pooled;
+        try {
+            pooled = borrow();
+        } catch (Exception e) {
+            for (int i = 0; i < messages.size(); i++) {
+                failures.put(i, e);
+            }
+            return failures;
+        }
+        
+        boolean healthy = true;
+        try {
+            for (int i = 0; i < messages.size(); i++) {
+                try {
+                    if (!pooled.transport.isConnected()) {
+                        connect(pooled.transport);
+                    }
+                    MimeMessage mimeMessage = mailSender.createMimeMessage();
+                    messages.get(i).copyTo(new MimeMailMessage(mimeMessage));
+                    mimeMessage.saveChanges();
+                    pooled.transport.sendMessage(mimeMessage, mimeMessage.getAllRecipients());
+                } catch (Exception e) {
+                    failures.put(i, e);
+                }
+            }
+            healthy = pooled.transport.isConnected();
+        } finally {
+            release(pooled, healthy);
+        }
+        
+        return failures;
+    }
+    
+    private PooledTransport borrow() throws MessagingException, InterruptedException {
+        if (!permits.tryAcquire(borrowTimeoutMs, TimeUnit.MILLISECONDS)) {
+            throw new IllegalStateException("Timed out waiting for an SMTP connection");
+        }
+        
+        try {
+            PooledTransport pooled = idle.pollFirst();
+            if (pooled != null && pooled.transport.isConnected()) {
+                return pooled;
+            }
+            if (pooled != null) {
+                close(pooled);
+            }
+            
+            Transport transport = mailSender.getSession().getTransport(protocol());
+            connect(transport);
+            log.debug("Opened SMTP connection to {}", mailSender.getHost());
+            return new PooledTransport(transport);
+        } catch (MessagingException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+    
+    private void release(PooledTransport pooled, boolean healthy) {
+        if (healthy) {
+            pooled.lastUsedAt = System.currentTimeMillis();
+            idle.offerFirst(pooled);
+        } else {
+            close(pooled);
+        }
+        permits.release();
+    }
+    
+    /**
+     * 전송 프로토콜 (지정하지 않았으면 JavaMailSenderImpl과 같이 세션 설정, 없으면 smtp)
+     */
+    private String protocol() {
+        if (mailSender.getProtocol() != null) {
+            return mailSender.getProtocol();
+        }
+        String protocol = mailSender.getSession().getProperty("mail.transport.protocol");
+        return protocol != null ? protocol : "smtp";
+    }
+    
+    private void connect(Transport transport) throws MessagingException {
+        transport.connect(mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(), mailSender.getPassword());
+    }
+    
+    /**
+     * 유휴 연결 정리
+     */
+    @Scheduled(fixedDelayString = "${notification.mail.idle-timeout-ms:60000}")
+    public void evictIdleTransports() {
+        long cutoff = System.currentTimeMillis() - idleTimeoutMs;
+        Iterator<PooledTransport> iterator = idle.descendingIterator();
+        while (iterator.hasNext()) {
+            PooledTransport pooled = iterator.next();
+            if (pooled.lastUsedAt < cutoff && idle.remove(pooled)) {
+                close(pooled);
+            }
+        }
+    }
+    
+    private void close(PooledTransport pooled) {
+        try {
+            pooled.transport.close();
+        } catch (MessagingException e) {
+            log.debug("Failed to close SMTP connection: {}", e.getMessage());
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        PooledTransport pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            close(pooled);
+        }
+    }
+    
+    private static class PooledTransport {
+        
+        private final Transport transport;
+        
+        private volatile long lastUsedAt = System.currentTimeMillis();
+        
+        PooledTransport(Transport transport) {
+            this.transport = transport;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.aws.sgmanager.controller;
+
+import com.aws.sgmanager.dto.SecurityGroupDTO;
+import com.aws.sgmanager.service.InventoryGenerationService;
+import com.aws.sgmanager.service.SecurityGroupExportService;
+import com.aws.sgmanager.service.SecurityGroupService;
+import com.aws.sgmanager.service.SecurityGroupSyncService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(SecurityGroupController.class)
+@WithMockUser(roles = "USER")
+class SecurityGroupControllerTest {
+    
+    private static final LocalDateTime AS_OF = LocalDateTime.of(2024, 1, 1, 9, 0);
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @MockBean
+    private SecurityGroupService securityGroupService;
+    
+    @MockBean
+    private SecurityGroupSyncService securityGroupSyncService;
+    
+    @MockBean
+    private SecurityGroupExportService securityGroupExportService;
+    
+    @MockBean
+    private InventoryGenerationService inventoryGenerationService;
+    
+    private SecurityGroupDTO securityGroup;
+    
+    @BeforeEach
+    void setUp() {
+        securityGroup = SecurityGroupDTO.builder()
+                .id("test-id")
+                .groupId("sg-12345")
+                .groupName("test-sg")
+                .generation(3)
+                .build();
+                
+        when(inventoryGenerationService.asOf()).thenReturn(AS_OF);
+        when(inventoryGenerationService.current()).thenReturn(7L);
+        when(securityGroupService.getAllSecurityGroups(any(LocalDateTime.class))).thenReturn(List.of(securityGroup));
+        when(securityGroupSyncService.getLastSyncedAt()).thenReturn(Optional.empty());
+    }
+    
+    @Test
+    void testListReturnsEtagAndAnswersMatchingIfNoneMatchWith304() throws Exception {
+        // Given
+        String etag = InventoryGenerationService.etag(7, AS_OF);
+        
+        // When & Then
+        mockMvc.perform(get("/api/security-groups"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(jsonPath("$[0].groupId").value("sg-12345"));
+                
+        mockMvc.perform(get("/api/security-groups").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+                
+        // 304는 본문을 만들지 않음
+        verify(securityGroupService, times(1)).getAllSecurityGroups(any(LocalDateTime.class));
+    }
+    
+    @Test
+    void testWeakAndMultiValueIfNoneMatchAreHonoured() throws Exception {
+        // Given
+        String etag = InventoryGenerationService.etag(7, AS_OF);
+        
+        // When & Then
+        mockMvc.perform(get("/api/security-groups").header(HttpHeaders.IF_NONE_MATCH, "W/" + etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/security-groups").header(HttpHeaders.IF_NONE_MATCH, "\"1-0\", W/\"2-0\" , " + etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/security-groups").header(HttpHeaders.IF_NONE_MATCH, "\"1-0\", W/\"2-0\""))
+                .andExpect(status().isOk());
+    }
+    
+    @Test
+    void testListEtagChangesAfterInventoryBump() throws Exception {
+        // Given
+        String before = InventoryGenerationService.etag(7, AS_OF);
+        when(inventoryGenerationService.current()).thenReturn(8L);
+        
+        // When & Then
+        mockMvc.perform(get("/api/security-groups").header(HttpHeaders.IF_NONE_MATCH, before))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, InventoryGenerationService.etag(8, AS_OF)));
+    }
+    
+    @Test
+    void testListReportsLastSuccessfulSyncInHeader() throws Exception {
+        // Given
+        LocalDateTime lastSyncedAt = LocalDateTime.of(2024, 1, 1, 8, 55, 30);
+        when(securityGroupSyncService.getLastSyncedAt()).thenReturn(Optional.of(lastSyncedAt));
+        
+        // When & Then
+        mockMvc.perform(get("/api/security-groups"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Last-Synced-At", "2024-01-01T08:55:30"));
+    }
+    
+    @Test
+    void testListOmitsLastSyncedHeaderBeforeAnySync() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/security-groups"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Last-Synced-At"));
+    }
+    
+    @Test
+    void testGroupEtagFollowsGroupGeneration() throws Exception {
+        // Given
+        String etag = InventoryGenerationService.etag(3, AS_OF);
+        when(securityGroupService.getSecurityGroup("test-id", AS_OF)).thenReturn(Optional.of(securityGroup));
+        
+        // When & Then
+        mockMvc.perform(get("/api/security-groups/test-id"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+        mockMvc.perform(get("/api/security-groups/test-id").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+                
+        // 그룹에 쓰기가 반영되면 (generation 증가) 이전 ETag로는 304가 아님
+        securityGroup.setGeneration(4);
+        mockMvc.perform(get("/api/security-groups/test-id").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, InventoryGenerationService.etag(4, AS_OF)));
+    }
+    
+    @Test
+    void testVisualizationAnswersMatchingIfNoneMatchWith304() throws Exception {
+        // Given
+        String etag = InventoryGenerationService.etag(7, AS_OF);
+        
+        // When & Then
+        mockMvc.perform(get("/api/security-groups/visualization"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(jsonPath("$.nodes[0].id").value("sg-12345"));
+        mockMvc.perform(get("/api/security-groups/visualization").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+                
+        when(inventoryGenerationService.current()).thenReturn(8L);
+        mockMvc.perform(get("/api/security-groups/visualization").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,106 @@
+package com.aws.sgmanager.dto;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AwsAccountRequestDTOTest {
+    
+    private static ValidatorFactory validatorFactory;
+    
+    private static Validator validator;
+    
+    @BeforeAll
+    static void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+    }
+    
+    @AfterAll
+    static void tearDown() {
+        validatorFactory.close();
+    }
+    
+    @Test
+    void testValidRequest() {
+        // Given
+        AwsAccountRequestDTO request = valid().build();
+        
+        // When
+        Set<ConstraintViolation<AwsAccountRequestDTO>> violations = validator.validate(request);
+        
+        // Then
+        assertTrue(violations.isEmpty());
+    }
+    
+    @Test
+    void testRejectsMalformedAccountId() {
+        // Given
+        AwsAccountRequestDTO request = valid().accountId("12345").build();
+        
+        // When
+        Set<ConstraintViolation<AwsAccountRequestDTO>> violations = validator.validate(request);
+        
+        // Then
+        assertTrue(hasViolation(violations, "accountId"));
+    }
+    
+    @Test
+    void testRejectsNonRoleArn() {
+        // Given
+        AwsAccountRequestDTO request = valid().roleArn("arn:aws:iam::123456789012:user/admin").build();
+        
+        // When
+        Set<ConstraintViolation<AwsAccountRequestDTO>> violations = validator.validate(request);
+        
+        // Then
+        assertTrue(hasViolation(violations, "roleArn"));
+    }
+    
+    @Test
+    void testRejectsRoleFromAnotherAccount() {
+        // Given
+        AwsAccountRequestDTO request = valid().roleArn("arn:aws:iam::210987654321:role/sg-manager").build();
+        
+        // When
+        Set<ConstraintViolation<AwsAccountRequestDTO>> violations = validator.validate(request);
+        
+        // Then
+        assertTrue(hasViolation(violations, "roleInAccount"));
+    }
+    
+    @Test
+    void testRejectsInvalidRegion() {
+        // Given
+        AwsAccountRequestDTO request = valid().regions(List.of("ap-northeast-2", "Seoul")).build();
+        
+        // When
+        Set<ConstraintViolation<AwsAccountRequestDTO>> violations = validator.validate(request);
+        
+        // Then
+        assertEquals(1, violations.size());
+        assertTrue(violations.iterator().next().getPropertyPath().toString().startsWith("regions"));
+    }
+    
+    private AwsAccountRequestDTO.AwsAccountRequestDTOBuilder valid() {
+        return AwsAccountRequestDTO.builder()
+                .accountId("123456789012")
+                .name("prod")
+                .roleArn("arn:aws:iam::123456789012:role/sg-manager")
+                .regions(List.of("ap-northeast-2", "us-gov-west-1"));
+    }
+    
+    private boolean hasViolation(Set<ConstraintViolation<AwsAccountRequestDTO>> violations, String property) {
+        return violations.stream()
+                .anyMatch(violation -> violation.getPropertyPath().toString().equals(property));
+    }
+}
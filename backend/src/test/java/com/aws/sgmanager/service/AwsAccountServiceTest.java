@@ -0,0 +1,106 @@
+package com.aws.sgmanager.service;
+
+import com.aws.sgmanager.dto.AwsAccountRequestDTO;
+import com.aws.sgmanager.model.AwsAccount;
+import com.aws.sgmanager.repository.AwsAccountRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AwsAccountServiceTest {
+    
+    @Mock
+    private AwsAccountRepository awsAccountRepository;
+    
+    @Mock
+    private Ec2ClientPool ec2ClientPool;
+    
+    @InjectMocks
+    private AwsAccountService awsAccountService;
+    
+    @Test
+    void testRegisterAccountEnablesByDefault() {
+        // Given
+        when(awsAccountRepository.existsByAccountId("123456789012")).thenReturn(false);
+        when(awsAccountRepository.save(any(AwsAccount.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        
+        // When
+        AwsAccount saved = awsAccountService.registerAccount(request(null), "admin");
+        
+        // Then
+        assertTrue(saved.isEnabled());
+        assertNull(saved.getId());
+        assertEquals("admin", saved.getCreatedBy());
+        assertEquals(List.of("ap-northeast-2"), saved.getRegions());
+    }
+    
+    @Test
+    void testRegisterAccountKeepsExplicitDisable() {
+        // Given
+        when(awsAccountRepository.existsByAccountId("123456789012")).thenReturn(false);
+        when(awsAccountRepository.save(any(AwsAccount.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        
+        // When
+        AwsAccount saved = awsAccountService.registerAccount(request(false), "admin");
+        
+        // Then
+        assertFalse(saved.isEnabled());
+    }
+    
+    @Test
+    void testUpdateAccountKeepsEnabledWhenOmittedAndEvictsClients() {
+        // Given
+        AwsAccount existing = AwsAccount.builder()
+                .id("account-1")
+                .accountId("123456789012")
+                .roleArn("arn:aws:iam::123456789012:role/old")
+                .enabled(true)
+                .build();
+        when(awsAccountRepository.findById("account-1")).thenReturn(Optional.of(existing));
+        when(awsAccountRepository.save(any(AwsAccount.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        
+        // When
+        AwsAccount saved = awsAccountService.updateAccount("account-1", request(null));
+        
+        // Then
+        assertTrue(saved.isEnabled());
+        assertEquals("arn:aws:iam::123456789012:role/sg-manager", saved.getRoleArn());
+        verify(ec2ClientPool).evictAccount("123456789012");
+    }
+    
+    @Test
+    void testUpdateAccountRejectsAccountIdChange() {
+        // Given
+        AwsAccount existing = AwsAccount.builder()
+                .id("account-1")
+                .accountId("210987654321")
+                .enabled(true)
+                .build();
+        when(awsAccountRepository.findById("account-1")).thenReturn(Optional.of(existing));
+        
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> awsAccountService.updateAccount("account-1", request(null)));
+        verify(awsAccountRepository, never()).save(any());
+        verifyNoInteractions(ec2ClientPool);
+    }
+    
+    private AwsAccountRequestDTO request(Boolean enabled) {
+        return AwsAccountRequestDTO.builder()
+                .accountId("123456789012")
+                .name("prod")
+                .roleArn("arn:aws:iam::123456789012:role/sg-manager")
+                .regions(List.of("ap-northeast-2"))
+                .enabled(enabled)
+                .build();
+    }
+}
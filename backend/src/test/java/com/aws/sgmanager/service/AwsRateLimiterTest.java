@@ -0,0 +1,117 @@
+package com.aws.sgmanager.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AwsRateLimiterTest {
+    
+    private static final AwsTarget TARGET = new AwsTarget(null, "us-east-1");
+    
+    private SimpleMeterRegistry meterRegistry;
+    
+    private AwsRateLimiter awsRateLimiter;
+    
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        awsRateLimiter = new AwsRateLimiter(meterRegistry);
+        
+        ReflectionTestUtils.setField(awsRateLimiter, "initialRate", 20.0);
+        ReflectionTestUtils.setField(awsRateLimiter, "minRate", 1.0);
+        ReflectionTestUtils.setField(awsRateLimiter, "maxRate", 50.0);
+        ReflectionTestUtils.setField(awsRateLimiter, "burst", 20.0);
+        ReflectionTestUtils.setField(awsRateLimiter, "increasePerSuccess", 0.5);
+        ReflectionTestUtils.setField(awsRateLimiter, "decreaseFactor", 0.5);
+        ReflectionTestUtils.setField(awsRateLimiter, "maxAttempts", 5);
+        ReflectionTestUtils.setField(awsRateLimiter, "baseDelayMs", 1L);
+        ReflectionTestUtils.setField(awsRateLimiter, "maxDelayMs", 5L);
+        ReflectionTestUtils.setField(awsRateLimiter, "retryBudgetCapacity", 100.0);
+        ReflectionTestUtils.setField(awsRateLimiter, "retryCost", 5.0);
+    }
+    
+    @Test
+    void testThrottledCallIsRetriedAndLowersRate() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+        
+        // When
+        String result = awsRateLimiter.executeBlocking(TARGET, "DescribeSecurityGroups", () -> {
+            if (calls.incrementAndGet() == 1) {
+                throw throttling();
+            }
+            return "ok";
+        });
+        
+        // Then
+        assertEquals("ok", result);
+        assertEquals(2, calls.get());
+        assertTrue(awsRateLimiter.getCurrentRate(TARGET) < 20.0);
+        assertEquals(1.0, meterRegistry.get("aws.ec2.requests").tag("outcome", "throttled").counter().count());
+        assertEquals(1.0, meterRegistry.get("aws.ec2.retries").counter().count());
+    }
+    
+    @Test
+    void testRetriesStopWhenBudgetIsExhausted() {
+        // Given
+        ReflectionTestUtils.setField(awsRateLimiter, "retryBudgetCapacity", 5.0);
+        AtomicInteger calls = new AtomicInteger();
+        
+        // When & Then
+        assertThrows(AwsServiceException.class, () -> awsRateLimiter.executeBlocking(TARGET, "DescribeSecurityGroups", () -> {
+            calls.incrementAndGet();
+            throw throttling();
+        }));
+        assertEquals(2, calls.get());
+        assertEquals(1.0, meterRegistry.get("aws.ec2.retry.budget.exhausted").counter().count());
+    }
+    
+    @Test
+    void testClientErrorIsNotRetried() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+        AwsServiceException invalid = AwsServiceException.builder()
+                .statusCode(400)
+                .awsErrorDetails(AwsErrorDetails.builder().errorCode("InvalidGroup.NotFound").build())
+                .build();
+                
+        // When & Then
+        assertThrows(AwsServiceException.class, () -> awsRateLimiter.executeBlocking(TARGET, "DeleteSecurityGroup", () -> {
+            calls.incrementAndGet();
+            throw invalid;
+        }));
+        assertEquals(1, calls.get());
+    }
+    
+    @Test
+    void testAsyncCallIsRetriedAfterThrottling() throws Exception {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+        
+        // When
+        CompletableFuture<String> future = awsRateLimiter.execute(TARGET, "AuthorizeSecurityGroupIngress", () ->
+                calls.incrementAndGet() == 1 ?
+                        CompletableFuture.failedFuture(throttling()) :
+                        CompletableFuture.completedFuture("ok"));
+                        
+        // Then
+        assertEquals("ok", future.get(5, TimeUnit.SECONDS));
+        assertEquals(2, calls.get());
+    }
+    
+    private AwsServiceException throttling() {
+        return AwsServiceException.builder()
+                .statusCode(400)
+                .awsErrorDetails(AwsErrorDetails.builder().errorCode("RequestLimitExceeded").build())
+                .build();
+    }
+}
@@ -0,0 +1,77 @@
+package com.aws.sgmanager.service;
+
+import com.aws.sgmanager.repository.AwsAccountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.services.ec2.Ec2AsyncClient;
+import software.amazon.awssdk.services.ec2.Ec2Client;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class Ec2ClientPoolTest {
+    
+    @Mock
+    private AwsAccountRepository awsAccountRepository;
+    
+    @Mock
+    private SdkHttpClient sdkHttpClient;
+    
+    @Mock
+    private SdkAsyncHttpClient sdkAsyncHttpClient;
+    
+    @Mock
+    private Ec2Client evictedClient;
+    
+    @Mock
+    private Ec2AsyncClient evictedAsyncClient;
+    
+    @Mock
+    private Ec2Client otherClient;
+    
+    @InjectMocks
+    private Ec2ClientPool ec2ClientPool;
+    
+    private Map<AwsTarget, Ec2Client> clients;
+    
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        ReflectionTestUtils.setField(ec2ClientPool, "evictedClientCloseDelayMs", 200L);
+        clients = (Map<AwsTarget, Ec2Client>) ReflectionTestUtils.getField(ec2ClientPool, "clients");
+        Map<AwsTarget, Ec2AsyncClient> asyncClients =
+                (Map<AwsTarget, Ec2AsyncClient>) ReflectionTestUtils.getField(ec2ClientPool, "asyncClients");
+                
+        clients.put(new AwsTarget("123456789012", "ap-northeast-2"), evictedClient);
+        clients.put(new AwsTarget("210987654321", "ap-northeast-2"), otherClient);
+        asyncClients.put(new AwsTarget("123456789012", "ap-northeast-2"), evictedAsyncClient);
+    }
+    
+    @Test
+    void testEvictAccountRemovesClientsImmediatelyButClosesLater() {
+        // When
+        ec2ClientPool.evictAccount("123456789012");
+        
+        // Then
+        assertFalse(clients.containsKey(new AwsTarget("123456789012", "ap-northeast-2")));
+        assertTrue(clients.containsKey(new AwsTarget("210987654321", "ap-northeast-2")));
+        
+        // 진행 중 호출이 쓰는 클라이언트는 바로 닫지 않음
+        verify(evictedClient, never()).close();
+        verify(evictedAsyncClient, never()).close();
+        
+        verify(evictedClient, timeout(2000)).close();
+        verify(evictedAsyncClient, timeout(2000)).close();
+        verify(otherClient, never()).close();
+    }
+}
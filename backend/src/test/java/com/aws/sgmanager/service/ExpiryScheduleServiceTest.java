@@ -0,0 +1,445 @@
+package com.aws.sgmanager.service;
+
+import com.aws.sgmanager.model.ExpirySchedule;
+import com.aws.sgmanager.model.SecurityGroup;
+import com.aws.sgmanager.model.SecurityGroupRule;
+import com.aws.sgmanager.repository.ExpiryScheduleRepository;
+import com.aws.sgmanager.repository.SecurityGroupRepository;
+import com.mongodb.client.result.UpdateResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExpiryScheduleServiceTest {
+    
+    @Mock
+    private ExpiryScheduleRepository expiryScheduleRepository;
+    
+    @Mock
+    private SecurityGroupRepository securityGroupRepository;
+    
+    @Mock
+    private AwsEc2AsyncService awsEc2AsyncService;
+    
+    @Mock
+    private NotificationService notificationService;
+    
+    @Mock
+    private MongoTemplate mongoTemplate;
+    
+    @Mock
+    private PartitionedTaskExecutor partitionedTaskExecutor;
+    
+    @Mock
+    private ExpiryTimingWheel expiryTimingWheel;
+    
+    @Mock
+    private LeaseLockService leaseLockService;
+    
+    @Mock
+    private SecurityGroupCache securityGroupCache;
+    
+    @Mock
+    private InventoryGenerationService inventoryGenerationService;
+    
+    @Mock
+    private BulkOperations groupUpdates;
+    
+    @Mock
+    private BulkOperations scheduleUpdates;
+    
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    
+    private ExpiryScheduleService expiryScheduleService;
+    
+    private SecurityGroup securityGroup;
+    
+    @BeforeEach
+    void setUp() {
+        expiryScheduleService = new ExpiryScheduleService(expiryScheduleRepository, securityGroupRepository,
+                awsEc2AsyncService, notificationService, mongoTemplate, partitionedTaskExecutor, meterRegistry,
+                expiryTimingWheel, leaseLockService, securityGroupCache, inventoryGenerationService);
+                
+        securityGroup = SecurityGroup.builder()
+                .id("test-id")
+                .groupId("sg-12345")
+                .groupName("test-sg")
+                .region("us-east-1")
+                .inboundRules(new ArrayList<>(List.of(rule("in-1"), rule("in-2"))))
+                .outboundRules(new ArrayList<>(List.of(rule("out-1"))))
+                .build();
+                
+        // 선점 실패/스윕 테스트는 실행 단계까지 가지 않으므로 lenient
+        lenient().when(leaseLockService.getInstanceId()).thenReturn("instance-1");
+        lenient().when(securityGroupRepository.findAllById(any())).thenReturn(List.of(securityGroup));
+        lenient().when(partitionedTaskExecutor.submit(anyString(), any())).thenAnswer(invocation -> {
+            Supplier<CompletableFuture<?>> task = invocation.getArgument(1);
+            return task.get();
+        });
+        lenient().when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SecurityGroup.class)).thenReturn(groupUpdates);
+        lenient().when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ExpirySchedule.class)).thenReturn(scheduleUpdates);
+    }
+    
+    @Test
+    void testMixedDirectionsRevokeOncePerDirectionAndPullOnlyRevokedRules() {
+        // Given
+        List<ExpirySchedule> schedules = claim(schedule("s-1", "in-1"), schedule("s-2", "out-1"), schedule("s-3", "gone"));
+        when(awsEc2AsyncService.removeInboundRules(any(), eq("sg-12345"), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        when(awsEc2AsyncService.removeOutboundRules(any(), eq("sg-12345"), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+                
+        // When
+        expiryScheduleService.executeDueSchedules(ids(schedules));
+        
+        // Then
+        verify(awsEc2AsyncService).removeInboundRules(any(), eq("sg-12345"), argThat(rules -> ruleIds(rules).equals(Set.of("in-1"))));
+        verify(awsEc2AsyncService).removeOutboundRules(any(), eq("sg-12345"), argThat(rules -> ruleIds(rules).equals(Set.of("out-1"))));
+        
+        List<Document> update = capturedGroupUpdate();
+        assertEquals(Set.of("in-1"), pulledRuleIds(update, "inboundRules"));
+        assertEquals(Set.of("out-1"), pulledRuleIds(update, "outboundRules"));
+        verify(groupUpdates).execute();
+        verify(securityGroupCache).invalidateAll(List.of("test-id"));
+        verify(inventoryGenerationService).bump();
+        
+        assertEquals(ExpirySchedule.ExpiryStatus.EXECUTED, schedules.get(0).getStatus());
+        assertEquals(ExpirySchedule.ExpiryStatus.EXECUTED, schedules.get(1).getStatus());
+        assertEquals(ExpirySchedule.ExpiryStatus.FAILED, schedules.get(2).getStatus());
+        assertEquals("Rule not found", schedules.get(2).getErrorMessage());
+    }
+    
+    @Test
+    void testPartialRevokeFailureOnlyPullsSucceededDirection() {
+        // Given
+        List<ExpirySchedule> schedules = claim(schedule("s-1", "in-1"), schedule("s-2", "out-1"));
+        when(awsEc2AsyncService.removeInboundRules(any(), eq("sg-12345"), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        when(awsEc2AsyncService.removeOutboundRules(any(), eq("sg-12345"), any()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("InvalidPermission.NotFound")));
+                
+        // When
+        expiryScheduleService.executeDueSchedules(ids(schedules));
+        
+        // Then
+        List<Document> update = capturedGroupUpdate();
+        assertEquals(Set.of("in-1"), pulledRuleIds(update, "inboundRules"));
+        assertFalse(update.get(0).get("$set", Document.class).containsKey("outboundRules"));
+        
+        assertEquals(ExpirySchedule.ExpiryStatus.EXECUTED, schedules.get(0).getStatus());
+        assertEquals(ExpirySchedule.ExpiryStatus.FAILED, schedules.get(1).getStatus());
+        assertEquals("InvalidPermission.NotFound", schedules.get(1).getErrorMessage());
+        verify(notificationService).sendDeletionNotification(schedules.get(0), securityGroup, true, null);
+        verify(notificationService).sendDeletionNotification(schedules.get(1), securityGroup, false, "InvalidPermission.NotFound");
+    }
+    
+    @Test
+    void testAllRevokesFailedLeavesGroupUntouched() {
+        // Given
+        List<ExpirySchedule> schedules = claim(schedule("s-1", "in-1"));
+        when(awsEc2AsyncService.removeInboundRules(any(), eq("sg-12345"), any()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Throttling")));
+                
+        // When
+        expiryScheduleService.executeDueSchedules(ids(schedules));
+        
+        // Then
+        verify(groupUpdates, never()).execute();
+        verifyNoInteractions(inventoryGenerationService);
+        assertEquals(ExpirySchedule.ExpiryStatus.FAILED, schedules.get(0).getStatus());
+        verify(scheduleUpdates).execute();
+    }
+    
+    @Test
+    void testRejectedGroupWithoutDocumentFailsSchedules() {
+        // Given: 그룹 문서가 없고 실행기가 작업을 거부
+        List<ExpirySchedule> schedules = claim(schedule("s-1", "in-1"));
+        when(securityGroupRepository.findAllById(any())).thenReturn(List.of());
+        doReturn(CompletableFuture.failedFuture(new RejectedExecutionException("Executor shut down")))
+                .when(partitionedTaskExecutor).submit(anyString(), any());
+                
+        // When
+        expiryScheduleService.executeDueSchedules(ids(schedules));
+        
+        // Then
+        assertEquals(ExpirySchedule.ExpiryStatus.FAILED, schedules.get(0).getStatus());
+        assertEquals("Executor shut down", schedules.get(0).getErrorMessage());
+        verify(scheduleUpdates).execute();
+        verifyNoInteractions(awsEc2AsyncService, notificationService);
+    }
+    
+    @Test
+    void testRuleStatsDerivedFromArraysAfterRemoval() {
+        // Given
+        List<ExpirySchedule> schedules = claim(schedule("s-1", "in-1"));
+        when(awsEc2AsyncService.removeInboundRules(any(), eq("sg-12345"), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+                
+        // When
+        expiryScheduleService.executeDueSchedules(ids(schedules));
+        
+        // Then: 스윕 시점 스냅샷 값이 아니라 제거 후 배열에서 계산 (그 사이 추가된 규칙도 반영)
+        List<Document> pipeline = capturedGroupUpdate();
+        assertEquals(2, pipeline.size());
+        Document removeRules = pipeline.get(0).get("$set", Document.class);
+        assertTrue(removeRules.containsKey("contentHash"));
+        assertNull(removeRules.get("contentHash"));
+        assertEquals("$$NOW", removeRules.get("updatedAt"));
+        
+        Document ruleStats = pipeline.get(1).get("$set", Document.class);
+        assertEquals(new Document("$size", new Document("$ifNull", List.of("$inboundRules", List.of()))),
+                ruleStats.get("totalInboundRules"));
+        assertEquals(new Document("$size", new Document("$ifNull", List.of("$outboundRules", List.of()))),
+                ruleStats.get("totalOutboundRules"));
+        assertEquals(new Document("$min", new Document("$concatArrays", List.of(
+                        new Document("$ifNull", List.of("$inboundRules.expiryDate", List.of())),
+                        new Document("$ifNull", List.of("$outboundRules.expiryDate", List.of()))))),
+                ruleStats.get("earliestRuleExpiry"));
+    }
+    
+    @Test
+    void testScheduleStatusesWrittenInOneBulkGuardedByClaimToken() {
+        // Given
+        List<ExpirySchedule> schedules = claim(schedule("s-1", "in-1"), schedule("s-2", "in-2"));
+        when(awsEc2AsyncService.removeInboundRules(any(), eq("sg-12345"), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+                
+        // When
+        expiryScheduleService.executeDueSchedules(ids(schedules));
+        
+        // Then
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(scheduleUpdates, times(2)).updateOne(queries.capture(), updates.capture());
+        verify(scheduleUpdates, times(1)).execute();
+        
+        for (int i = 0; i < schedules.size(); i++) {
+            Document query = queries.getAllValues().get(i).getQueryObject();
+            assertEquals(schedules.get(i).getId(), query.get("id"));
+            assertEquals(schedules.get(i).getClaimToken(), query.get("claimToken"));
+            Document set = updates.getAllValues().get(i).getUpdateObject().get("$set", Document.class);
+            assertEquals(ExpirySchedule.ExpiryStatus.EXECUTED, set.get("status"));
+        }
+        
+        // 같은 방향의 두 규칙은 revoke 한 번으로 처리
+        verify(awsEc2AsyncService, times(1)).removeInboundRules(any(), eq("sg-12345"),
+                argThat(rules -> ruleIds(rules).equals(Set.of("in-1", "in-2"))));
+        assertEquals(Set.of("in-1", "in-2"), pulledRuleIds(capturedGroupUpdate(), "inboundRules"));
+    }
+    
+    @Test
+    void testLatencyRecordedOncePerGroupAndLagPerSchedule() {
+        // Given
+        List<ExpirySchedule> schedules = claim(schedule("s-1", "in-1"), schedule("s-2", "in-2"), schedule("s-3", "out-1"));
+        when(awsEc2AsyncService.removeInboundRules(any(), eq("sg-12345"), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        when(awsEc2AsyncService.removeOutboundRules(any(), eq("sg-12345"), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+                
+        // When
+        expiryScheduleService.executeDueSchedules(ids(schedules));
+        
+        // Then
+        assertEquals(1, meterRegistry.timer("expiry.schedule.latency").count());
+        assertEquals(3, meterRegistry.timer("expiry.schedule.lag").count());
+    }
+    
+    @Test
+    void testClaimMovesOnlyScheduledSchedulesToExecutingWithOwnToken() {
+        // Given
+        List<ExpirySchedule> schedules = claim(schedule("s-1", "in-1"));
+        when(awsEc2AsyncService.removeInboundRules(any(), eq("sg-12345"), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+                
+        // When
+        expiryScheduleService.executeDueSchedules(ids(schedules));
+        
+        // Then
+        ArgumentCaptor<Query> claimQuery = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> claimUpdate = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateMulti(claimQuery.capture(), claimUpdate.capture(), eq(ExpirySchedule.class));
+        assertEquals(ExpirySchedule.ExpiryStatus.SCHEDULED, claimQuery.getValue().getQueryObject().get("status"));
+        
+        Document set = claimUpdate.getValue().getUpdateObject().get("$set", Document.class);
+        assertEquals(ExpirySchedule.ExpiryStatus.EXECUTING, set.get("status"));
+        assertEquals("instance-1", set.get("claimedBy"));
+        String claimToken = set.getString("claimToken");
+        assertTrue(claimToken.startsWith("instance-1-"));
+        
+        // 이번 선점에서 가져간 스케줄만 token으로 다시 조회
+        ArgumentCaptor<Query> findQuery = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(findQuery.capture(), eq(ExpirySchedule.class));
+        assertEquals(claimToken, findQuery.getValue().getQueryObject().get("claimToken"));
+        verify(expiryTimingWheel).cancel("s-1");
+    }
+    
+    @Test
+    void testNothingRunsWhenAnotherInstanceClaimedFirst() {
+        // Given
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(ExpirySchedule.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+                
+        // When
+        expiryScheduleService.executeDueSchedules(List.of("s-1", "s-2"));
+        
+        // Then
+        verify(mongoTemplate, never()).find(any(Query.class), eq(ExpirySchedule.class));
+        verifyNoInteractions(awsEc2AsyncService, partitionedTaskExecutor, notificationService);
+    }
+    
+    @Test
+    void testSweepReleasesStaleClaimsBackToScheduled() {
+        // Given
+        ReflectionTestUtils.setField(expiryScheduleService, "claimTimeoutSeconds", 900L);
+        when(leaseLockService.runIfAcquired(anyString(), any(), any())).thenAnswer(invocation -> {
+            Runnable task = invocation.getArgument(2);
+            task.run();
+            return true;
+        });
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(ExpirySchedule.class)))
+                .thenReturn(UpdateResult.acknowledged(2, 2L, null));
+        when(expiryScheduleRepository.findSchedulesReadyForExecution(any(LocalDateTime.class))).thenReturn(List.of());
+        LocalDateTime before = LocalDateTime.now();
+        
+        // When
+        expiryScheduleService.executeExpiredSchedules();
+        
+        // Then
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateMulti(query.capture(), update.capture(), eq(ExpirySchedule.class));
+        
+        Document queryObject = query.getValue().getQueryObject();
+        assertEquals(ExpirySchedule.ExpiryStatus.EXECUTING, queryObject.get("status"));
+        LocalDateTime staleBefore = (LocalDateTime) queryObject.get("claimedAt", Document.class).get("$lt");
+        assertFalse(staleBefore.isAfter(before.minusSeconds(900).plusSeconds(5)));
+        
+        Document updateObject = update.getValue().getUpdateObject();
+        assertEquals(ExpirySchedule.ExpiryStatus.SCHEDULED, updateObject.get("$set", Document.class).get("status"));
+        assertTrue(updateObject.get("$unset", Document.class).containsKey("claimToken"));
+    }
+    
+    @Test
+    void testLegacyNotificationFlagsSeedNotifiedHorizons() {
+        // Given
+        ReflectionTestUtils.setField(expiryScheduleService, "configuredHorizons", "7d,1d,1h");
+        expiryScheduleService.parseNotificationHorizons();
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(ExpirySchedule.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+                
+        // When
+        expiryScheduleService.migrateLegacyNotificationFlags();
+        
+        // Then
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(3)).updateMulti(queries.capture(), updates.capture(), eq(ExpirySchedule.class));
+        
+        // 당일 알림을 받은 스케줄은 모든 경고 시점을 보낸 것으로 기록
+        assertEquals(true, queries.getAllValues().get(0).getQueryObject().get("notificationSentSameDay"));
+        assertEquals(legacyFlagMigration().addToSet("notifiedHorizons").each("7d", "1d", "1h"), updates.getAllValues().get(0));
+        
+        // 1일 전 알림만 받은 스케줄은 1일 이상 경고 시점만 기록 (1h 경고는 그대로 발송)
+        assertEquals(true, queries.getAllValues().get(1).getQueryObject().get("notificationSent1Day"));
+        assertEquals(legacyFlagMigration().addToSet("notifiedHorizons").each("7d", "1d"), updates.getAllValues().get(1));
+        
+        // 나머지 스케줄은 이전 필드만 제거
+        assertEquals(legacyFlagMigration(), updates.getAllValues().get(2));
+    }
+    
+    private Update legacyFlagMigration() {
+        return new Update()
+                .unset("notificationSent1Day")
+                .unset("notificationSentSameDay");
+    }
+    
+    /**
+     * 선점 단계(updateMulti → claimToken 조회)가 주어진 스케줄을 돌려주도록 설정
+     */
+    private List<ExpirySchedule> claim(ExpirySchedule... schedules) {
+        List<ExpirySchedule> claimed = List.of(schedules);
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(ExpirySchedule.class)))
+                .thenReturn(UpdateResult.acknowledged(claimed.size(), (long) claimed.size(), null));
+        when(mongoTemplate.find(any(Query.class), eq(ExpirySchedule.class))).thenReturn(claimed);
+        return claimed;
+    }
+    
+    private List<Document> capturedGroupUpdate() {
+        ArgumentCaptor<AggregationUpdate> captor = ArgumentCaptor.forClass(AggregationUpdate.class);
+        verify(groupUpdates).updateOne(any(Query.class), captor.capture());
+        return captor.getValue().toPipeline(Aggregation.DEFAULT_CONTEXT);
+    }
+    
+    /**
+     * 첫 단계 $set의 $filter 조건 ({$not: [{$in: ["$$this.ruleId", ids]}]})에서 제거 대상 ruleId 추출
+     */
+    private Set<String> pulledRuleIds(List<Document> pipeline, String field) {
+        Document filter = pipeline.get(0).get("$set", Document.class).get(field, Document.class).get("$filter", Document.class);
+        Document in = (Document) filter.get("cond", Document.class).get("$not", List.class).get(0);
+        Collection<?> ruleIds = (Collection<?>) in.get("$in", List.class).get(1);
+        return ruleIds.stream().map(String::valueOf).collect(Collectors.toSet());
+    }
+    
+    private List<String> ids(List<ExpirySchedule> schedules) {
+        return schedules.stream().map(ExpirySchedule::getId).collect(Collectors.toList());
+    }
+    
+    private static Set<String> ruleIds(List<SecurityGroupRule> rules) {
+        return rules.stream().map(SecurityGroupRule::getRuleId).collect(Collectors.toCollection(HashSet::new));
+    }
+    
+    private ExpirySchedule schedule(String id, String ruleId) {
+        return ExpirySchedule.builder()
+                .id(id)
+                .securityGroupId("test-id")
+                .ruleId(ruleId)
+                .expiryDate(LocalDateTime.now().minusMinutes(1))
+                .action(ExpirySchedule.ExpiryAction.DELETE_RULE)
+                .status(ExpirySchedule.ExpiryStatus.EXECUTING)
+                .claimToken("instance-1-token")
+                .build();
+    }
+    
+    private SecurityGroupRule rule(String ruleId) {
+        return SecurityGroupRule.builder()
+                .ruleId(ruleId)
+                .ipProtocol("tcp")
+                .fromPort(443)
+                .toPort(443)
+                .cidrBlocks(List.of("10.0.0.0/24"))
+                .expiryDate(LocalDateTime.now().minusMinutes(1))
+                .autoDelete(true)
+                .build();
+    }
+}
@@ -0,0 +1,88 @@
+package com.aws.sgmanager.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpiryTimingWheelTest {
+    
+    private ExpiryTimingWheel expiryTimingWheel;
+    
+    private List<String> firedIds;
+    
+    @BeforeEach
+    void setUp() {
+        expiryTimingWheel = new ExpiryTimingWheel();
+        ReflectionTestUtils.setField(expiryTimingWheel, "tickMs", 100L);
+        ReflectionTestUtils.setField(expiryTimingWheel, "wheelSize", 10);
+        ReflectionTestUtils.setField(expiryTimingWheel, "horizonHours", 2L);
+        expiryTimingWheel.start();
+        
+        firedIds = new CopyOnWriteArrayList<>();
+        expiryTimingWheel.setHandler(firedIds::addAll);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        expiryTimingWheel.stop();
+    }
+    
+    @Test
+    void testFiresAtExpiryAcrossOverflowWheel() throws InterruptedException {
+        // Given - 1.5초는 첫 번째 휠 범위(1초)를 넘어 상위 휠을 거친다
+        LocalDateTime expiryDate = LocalDateTime.now().plusNanos(TimeUnit.MILLISECONDS.toNanos(1500));
+        
+        // When
+        assertTrue(expiryTimingWheel.schedule("schedule-1", expiryDate));
+        
+        // Then
+        Thread.sleep(1000);
+        assertTrue(firedIds.isEmpty());
+        awaitFired(1, 3000);
+        assertEquals(List.of("schedule-1"), firedIds);
+        assertFalse(LocalDateTime.now().isBefore(expiryDate));
+    }
+    
+    @Test
+    void testCancelledScheduleDoesNotFire() throws InterruptedException {
+        // Given
+        expiryTimingWheel.schedule("schedule-1", LocalDateTime.now().plusNanos(TimeUnit.MILLISECONDS.toNanos(300)));
+        expiryTimingWheel.schedule("schedule-2", LocalDateTime.now().plusNanos(TimeUnit.MILLISECONDS.toNanos(300)));
+        
+        // When
+        expiryTimingWheel.cancel("schedule-1");
+        
+        // Then
+        awaitFired(1, 2000);
+        Thread.sleep(300);
+        assertEquals(List.of("schedule-2"), firedIds);
+    }
+    
+    @Test
+    void testPastDueScheduleFiresImmediatelyAndBeyondHorizonIsIgnored() throws InterruptedException {
+        // When
+        assertTrue(expiryTimingWheel.schedule("overdue", LocalDateTime.now().minusMinutes(5)));
+        assertFalse(expiryTimingWheel.schedule("far-future", LocalDateTime.now().plusDays(1)));
+        
+        // Then
+        awaitFired(1, 1000);
+        assertEquals(List.of("overdue"), firedIds);
+        assertEquals(0, expiryTimingWheel.size());
+    }
+    
+    private void awaitFired(int count, long timeoutMs) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        while (firedIds.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(count, firedIds.size());
+    }
+}
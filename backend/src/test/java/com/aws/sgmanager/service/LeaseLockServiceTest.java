@@ -0,0 +1,137 @@
+package com.aws.sgmanager.service;
+
+import com.aws.sgmanager.model.LeaseLock;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LeaseLockServiceTest {
+    
+    @Mock
+    private MongoTemplate mongoTemplate;
+    
+    @InjectMocks
+    private LeaseLockService leaseLockService;
+    
+    @AfterEach
+    void tearDown() {
+        leaseLockService.shutdown();
+    }
+    
+    @Test
+    void testTryAcquireReturnsIncrementedFencingToken() {
+        // Given
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(LeaseLock.class)))
+                .thenReturn(LeaseLock.builder().name("expiry-sweep").owner(leaseLockService.getInstanceId()).fencingToken(42).build());
+                
+        // When
+        Optional<Long> token = leaseLockService.tryAcquire("expiry-sweep", Duration.ofMinutes(5));
+        
+        // Then
+        assertEquals(Optional.of(42L), token);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).findAndModify(any(Query.class), update.capture(), any(FindAndModifyOptions.class), eq(LeaseLock.class));
+        assertEquals(1, update.getValue().getUpdateObject().get("$inc", Document.class).get("fencingToken"));
+    }
+    
+    @Test
+    void testTryAcquireIsEmptyWhileAnotherInstanceHoldsTheLease() {
+        // Given: 유효한 잠금이 있으면 조건이 맞지 않아 upsert가 기존 _id와 충돌
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(LeaseLock.class)))
+                .thenThrow(new DuplicateKeyException("E11000 duplicate key error"));
+                
+        // When
+        Optional<Long> token = leaseLockService.tryAcquire("expiry-sweep", Duration.ofMinutes(5));
+        
+        // Then
+        assertTrue(token.isEmpty());
+    }
+    
+    @Test
+    void testRunIfAcquiredSkipsTaskWithoutLease() {
+        // Given
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(LeaseLock.class)))
+                .thenThrow(new DuplicateKeyException("E11000 duplicate key error"));
+        AtomicBoolean ran = new AtomicBoolean();
+        
+        // When
+        boolean executed = leaseLockService.runIfAcquired("expiry-sweep", Duration.ofMinutes(5), () -> ran.set(true));
+        
+        // Then
+        assertFalse(executed);
+        assertFalse(ran.get());
+        verify(mongoTemplate, never()).updateFirst(any(Query.class), any(Update.class), eq(LeaseLock.class));
+    }
+    
+    @Test
+    void testRunIfAcquiredRenewsLeaseWhileTaskRunsAndReleasesByToken() {
+        // Given
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(LeaseLock.class)))
+                .thenReturn(LeaseLock.builder().name("expiry-sweep").owner(leaseLockService.getInstanceId()).fencingToken(7).build());
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(LeaseLock.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+                
+        // When: TTL보다 오래 걸리는 작업
+        boolean executed = leaseLockService.runIfAcquired("expiry-sweep", Duration.ofMillis(300), () -> sleep(500));
+        
+        // Then
+        assertTrue(executed);
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, atLeast(2)).updateFirst(queries.capture(), updates.capture(), eq(LeaseLock.class));
+        
+        // 연장/해제 모두 보유자 + token 조건
+        queries.getAllValues().forEach(query -> {
+            assertEquals(7L, query.getQueryObject().get("fencingToken"));
+            assertEquals(leaseLockService.getInstanceId(), query.getQueryObject().get("owner"));
+        });
+        
+        // 연장은 작업 종료 이후까지 잠금을 유지하고, 해제는 현재 시각으로 만료시키며 보유자를 비움
+        List<Document> released = updates.getAllValues().stream()
+                .map(Update::getUpdateObject)
+                .filter(update -> update.containsKey("$unset"))
+                .collect(Collectors.toList());
+        assertEquals(1, released.size());
+        LocalDateTime releasedAt = (LocalDateTime) released.get(0).get("$set", Document.class).get("expiresAt");
+        LocalDateTime renewedUntil = updates.getAllValues().stream()
+                .map(Update::getUpdateObject)
+                .filter(update -> !update.containsKey("$unset"))
+                .map(update -> (LocalDateTime) update.get("$set", Document.class).get("expiresAt"))
+                .max(Comparator.naturalOrder())
+                .orElseThrow();
+        assertTrue(renewedUntil.isAfter(releasedAt));
+    }
+    
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.aws.sgmanager.service;
+
+import com.aws.sgmanager.model.NotificationOutbox;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationDigestTest {
+    
+    private static final String ADMIN = "admin@sgmanager.com";
+    
+    private final NotificationDigest digest = new NotificationDigest(60_000, 2, ZoneOffset.UTC);
+    
+    @Test
+    void testItemsInSameWindowShareWindowEnd() {
+        // Given
+        LocalDateTime windowStart = LocalDateTime.of(2024, 1, 1, 9, 0, 0);
+        
+        // When
+        LocalDateTime first = digest.windowEnd(windowStart);
+        LocalDateTime last = digest.windowEnd(windowStart.plusSeconds(59).plusNanos(999_000_000));
+        LocalDateTime next = digest.windowEnd(windowStart.plusSeconds(60));
+        
+        // Then
+        assertEquals(windowStart.plusMinutes(1), first);
+        assertEquals(first, last);
+        assertEquals(windowStart.plusMinutes(2), next);
+    }
+    
+    @Test
+    void testPlanGroupsByChannelAndRecipient() {
+        // Given
+        List<NotificationOutbox> claimed = List.of(
+                item("1", NotificationOutbox.Channel.EMAIL, ADMIN, "warning"),
+                item("2", NotificationOutbox.Channel.SLACK, NotificationDispatcher.DEFAULT_SLACK_CHANNEL, "warning"),
+                item("3", NotificationOutbox.Channel.EMAIL, "ops@sgmanager.com", "warning"),
+                item("4", NotificationOutbox.Channel.EMAIL, ADMIN, "warning"));
+                
+        // When
+        NotificationDigest.Plan plan = digest.plan(claimed);
+        
+        // Then
+        assertEquals(3, plan.batches().size());
+        assertEquals(List.of("1", "4"), ids(plan.batches().get(0).items()));
+        assertEquals(new NotificationDigest.Key(NotificationOutbox.Channel.EMAIL, ADMIN), plan.batches().get(0).key());
+        assertTrue(plan.deferred().isEmpty());
+    }
+    
+    @Test
+    void testItemsOverMaxItemsAreDeferredToNextWindow() {
+        // Given
+        List<NotificationOutbox> claimed = new ArrayList<>();
+        for (String id : List.of("1", "2", "3", "4", "5")) {
+            claimed.add(item(id, NotificationOutbox.Channel.EMAIL, ADMIN, "warning"));
+        }
+        
+        // When
+        NotificationDigest.Plan plan = digest.plan(claimed);
+        
+        // Then: 수신자당 window마다 maxItems건
+        assertEquals(1, plan.batches().size());
+        assertEquals(List.of("1", "2"), ids(plan.batches().get(0).items()));
+        assertEquals(List.of("3", "4", "5"), ids(plan.deferred()));
+    }
+    
+    @Test
+    void testComposeSingleItemKeepsOriginalMessage() {
+        // Given
+        NotificationOutbox single = item("1", NotificationOutbox.Channel.EMAIL, ADMIN, "good");
+        
+        // When
+        NotificationOutbox composed = NotificationDigest.compose(digest.plan(List.of(single)).batches().get(0));
+        
+        // Then
+        assertEquals(single.getSubject(), composed.getSubject());
+        assertEquals(single.getMessage(), composed.getMessage());
+        assertEquals(ADMIN, composed.getRecipient());
+    }
+    
+    @Test
+    void testComposeSummarizesItemsWithMostSevereColor() {
+        // Given
+        List<NotificationOutbox> claimed = List.of(
+                item("1", NotificationOutbox.Channel.SLACK, NotificationDispatcher.DEFAULT_SLACK_CHANNEL, "good"),
+                item("2", NotificationOutbox.Channel.SLACK, NotificationDispatcher.DEFAULT_SLACK_CHANNEL, "danger"));
+                
+        // When
+        NotificationOutbox composed = NotificationDigest.compose(digest.plan(claimed).batches().get(0));
+        
+        // Then
+        assertEquals("[AWS SG Manager] 만료 알림 요약 (2건)", composed.getSubject());
+        assertTrue(composed.getMessage().contains("■ subject 1\nmessage 1"));
+        assertTrue(composed.getMessage().contains("■ subject 2\nmessage 2"));
+        assertEquals("danger", composed.getColor());
+        assertEquals(NotificationOutbox.Channel.SLACK, composed.getChannel());
+    }
+    
+    private NotificationOutbox item(String id, NotificationOutbox.Channel channel, String recipient, String color) {
+        return NotificationOutbox.builder()
+                .id(id)
+                .channel(channel)
+                .recipient(recipient)
+                .subject("subject " + id)
+                .message("message " + id)
+                .color(color)
+                .digest(true)
+                .build();
+    }
+    
+    private List<String> ids(List<NotificationOutbox> items) {
+        return items.stream().map(NotificationOutbox::getId).collect(Collectors.toList());
+    }
+}
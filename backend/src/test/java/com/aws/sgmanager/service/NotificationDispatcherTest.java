@@ -0,0 +1,74 @@
+package com.aws.sgmanager.service;
+
+import com.aws.sgmanager.model.NotificationOutbox;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationDispatcherTest {
+    
+    private static final String WEBHOOK = "https://hooks.slack.com/services/T000/B000/secret";
+    
+    @Mock
+    private SmtpTransportPool smtpTransportPool;
+    
+    @Mock
+    private SlackClient slackClient;
+    
+    private NotificationDispatcher notificationDispatcher;
+    
+    @BeforeEach
+    void setUp() {
+        notificationDispatcher = new NotificationDispatcher(smtpTransportPool, slackClient);
+        ReflectionTestUtils.setField(notificationDispatcher, "fromEmail", "noreply@sgmanager.com");
+        ReflectionTestUtils.setField(notificationDispatcher, "slackWebhookUrl", WEBHOOK);
+    }
+    
+    @Test
+    void testSlackChannelResolvesConfiguredWebhookAtSendTime() {
+        // When
+        notificationDispatcher.deliver(slack(NotificationDispatcher.DEFAULT_SLACK_CHANNEL));
+        
+        // Then: outbox에는 채널 이름만 있고 webhook URL은 설정에서 찾음
+        verify(slackClient).post(eq(WEBHOOK), anyMap());
+    }
+    
+    @Test
+    void testUnknownSlackChannelIsRejected() {
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> notificationDispatcher.deliver(slack("ops")));
+        verify(slackClient, never()).post(any(), anyMap());
+    }
+    
+    @Test
+    void testSlackWithoutConfiguredWebhookFails() {
+        // Given
+        ReflectionTestUtils.setField(notificationDispatcher, "slackWebhookUrl", "");
+        
+        // When & Then
+        assertThrows(IllegalStateException.class,
+                () -> notificationDispatcher.deliver(slack(NotificationDispatcher.DEFAULT_SLACK_CHANNEL)));
+        verifyNoInteractions(slackClient);
+    }
+    
+    private NotificationOutbox slack(String channel) {
+        return NotificationOutbox.builder()
+                .id("slack-1")
+                .channel(NotificationOutbox.Channel.SLACK)
+                .recipient(channel)
+                .subject("subject")
+                .message("message")
+                .color("warning")
+                .build();
+    }
+}
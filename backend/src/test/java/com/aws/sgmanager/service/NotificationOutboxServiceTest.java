@@ -0,0 +1,207 @@
+package com.aws.sgmanager.service;
+
+import com.aws.sgmanager.model.NotificationOutbox;
+import com.aws.sgmanager.repository.NotificationOutboxRepository;
+import com.mongodb.client.result.UpdateResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationOutboxServiceTest {
+    
+    private static final String ADMIN = "admin@sgmanager.com";
+    
+    @Mock
+    private NotificationOutboxRepository notificationOutboxRepository;
+    
+    @Mock
+    private NotificationDispatcher notificationDispatcher;
+    
+    @Mock
+    private MongoTemplate mongoTemplate;
+    
+    @Mock
+    private LeaseLockService leaseLockService;
+    
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    
+    private NotificationOutboxService notificationOutboxService;
+    
+    @BeforeEach
+    void setUp() {
+        notificationOutboxService = new NotificationOutboxService(notificationOutboxRepository, notificationDispatcher,
+                mongoTemplate, leaseLockService, meterRegistry);
+        ReflectionTestUtils.setField(notificationOutboxService, "workers", 2);
+        ReflectionTestUtils.setField(notificationOutboxService, "batchSize", 50);
+        ReflectionTestUtils.setField(notificationOutboxService, "maxAttempts", 8);
+        ReflectionTestUtils.setField(notificationOutboxService, "baseDelayMs", 5000L);
+        ReflectionTestUtils.setField(notificationOutboxService, "maxDelayMs", 3600000L);
+        ReflectionTestUtils.setField(notificationOutboxService, "mailBatchSize", 20);
+        ReflectionTestUtils.setField(notificationOutboxService, "lockTimeoutSeconds", 300L);
+        ReflectionTestUtils.setField(notificationOutboxService, "digestWindowMs", 60000L);
+        ReflectionTestUtils.setField(notificationOutboxService, "digestMaxItems", 2);
+        ReflectionTestUtils.setField(notificationOutboxService, "digestClaimLimit", 1000);
+        notificationOutboxService.initialize();
+        
+        lenient().when(leaseLockService.getInstanceId()).thenReturn("instance-1");
+        lenient().when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(NotificationOutbox.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+    }
+    
+    @AfterEach
+    void tearDown() {
+        notificationOutboxService.shutdown();
+    }
+    
+    @Test
+    void testEnqueueDigestPersistsItemUntilWindowEnd() {
+        // Given
+        when(notificationOutboxRepository.insert(any(NotificationOutbox.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        LocalDateTime before = LocalDateTime.now();
+        
+        // When
+        NotificationOutbox stored = notificationOutboxService.enqueueDigest(NotificationOutbox.Channel.EMAIL, ADMIN,
+                "subject", "message", "warning");
+                
+        // Then: 생성 즉시 저장되고 window 끝에 전송 대상이 됨
+        verify(notificationOutboxRepository).insert(stored);
+        assertTrue(stored.isDigest());
+        assertEquals(NotificationOutbox.OutboxStatus.PENDING, stored.getStatus());
+        assertTrue(stored.getNextAttemptAt().isAfter(before));
+        assertFalse(stored.getNextAttemptAt().isAfter(before.plusMinutes(1)));
+    }
+    
+    @Test
+    void testDrainOutboxSendsOneSummaryPerRecipient() {
+        // Given
+        List<NotificationOutbox> claimed = List.of(item("1"), item("2"));
+        stubDigestClaim(claimed);
+        
+        // When
+        notificationOutboxService.drainOutbox();
+        
+        // Then
+        ArgumentCaptor<NotificationOutbox> delivered = ArgumentCaptor.forClass(NotificationOutbox.class);
+        verify(notificationDispatcher).deliver(delivered.capture());
+        assertEquals("[AWS SG Manager] 만료 알림 요약 (2건)", delivered.getValue().getSubject());
+        assertEquals(ADMIN, delivered.getValue().getRecipient());
+        verify(mongoTemplate, times(2)).updateFirst(any(Query.class),
+                argThat(update -> statusOf(update) == NotificationOutbox.OutboxStatus.SENT), eq(NotificationOutbox.class));
+    }
+    
+    @Test
+    void testDrainOutboxDefersItemsOverMaxItems() {
+        // Given
+        List<NotificationOutbox> claimed = List.of(item("1"), item("2"), item("3"));
+        stubDigestClaim(claimed);
+        
+        // When
+        notificationOutboxService.drainOutbox();
+        
+        // Then: 세 번째 알림은 다음 window로 돌아감
+        verify(notificationDispatcher).deliver(any(NotificationOutbox.class));
+        verify(mongoTemplate).updateMulti(
+                argThat(query -> new Document("$in", List.of("3")).equals(query.getQueryObject().get("id"))),
+                argThat(update -> statusOf(update) == NotificationOutbox.OutboxStatus.PENDING),
+                eq(NotificationOutbox.class));
+        assertEquals(1.0, meterRegistry.counter("notification.digest.deferred").count());
+    }
+    
+    @Test
+    void testDrainOutboxRetriesEveryItemWhenSummaryFails() {
+        // Given
+        List<NotificationOutbox> claimed = List.of(item("1"), item("2"));
+        stubDigestClaim(claimed);
+        doThrow(new IllegalStateException("SMTP down")).when(notificationDispatcher).deliver(any(NotificationOutbox.class));
+        
+        // When
+        notificationOutboxService.drainOutbox();
+        
+        // Then
+        verify(mongoTemplate, times(2)).updateFirst(any(Query.class),
+                argThat(update -> statusOf(update) == NotificationOutbox.OutboxStatus.PENDING), eq(NotificationOutbox.class));
+        verify(mongoTemplate, never()).updateFirst(any(Query.class),
+                argThat(update -> statusOf(update) == NotificationOutbox.OutboxStatus.SENT), eq(NotificationOutbox.class));
+    }
+    
+    @Test
+    void testRateLimitedSlackNotificationWaitsForRetryAfter() {
+        // Given
+        NotificationOutbox slack = NotificationOutbox.builder()
+                .id("slack-1")
+                .channel(NotificationOutbox.Channel.SLACK)
+                .recipient(NotificationDispatcher.DEFAULT_SLACK_CHANNEL)
+                .subject("subject")
+                .message("message")
+                .status(NotificationOutbox.OutboxStatus.SENDING)
+                .attempts(2)
+                .build();
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(NotificationOutbox.class))).thenReturn(slack, (NotificationOutbox) null);
+        when(mongoTemplate.find(any(Query.class), eq(NotificationOutbox.class))).thenReturn(List.of());
+        doThrow(new SlackClient.RateLimitedException(Duration.ofSeconds(30)))
+                .when(notificationDispatcher).deliver(slack);
+        LocalDateTime before = LocalDateTime.now();
+        
+        // When
+        notificationOutboxService.drainOutbox();
+        
+        // Then: 워커가 기다리지 않고 Retry-After 시각으로 미루며, 시도 횟수는 늘리지 않음
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(any(Query.class), update.capture(), eq(NotificationOutbox.class));
+        Document set = update.getValue().getUpdateObject().get("$set", Document.class);
+        assertEquals(NotificationOutbox.OutboxStatus.PENDING, set.get("status"));
+        assertFalse(((LocalDateTime) set.get("nextAttemptAt")).isBefore(before.plusSeconds(30)));
+        assertFalse(set.containsKey("attempts"));
+        assertNull(update.getValue().getUpdateObject().get("$inc"));
+    }
+    
+    private void stubDigestClaim(List<NotificationOutbox> claimed) {
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(NotificationOutbox.class))).thenReturn(null);
+        // 첫 조회는 전송 시각이 된 id, 두 번째는 이번 선점으로 잠근 문서
+        when(mongoTemplate.find(any(Query.class), eq(NotificationOutbox.class))).thenReturn(claimed, claimed);
+    }
+    
+    private static Object statusOf(UpdateDefinition update) {
+        Document set = update.getUpdateObject().get("$set", Document.class);
+        return set == null ? null : set.get("status");
+    }
+    
+    private NotificationOutbox item(String id) {
+        return NotificationOutbox.builder()
+                .id(id)
+                .channel(NotificationOutbox.Channel.EMAIL)
+                .recipient(ADMIN)
+                .subject("subject " + id)
+                .message("message " + id)
+                .color("warning")
+                .digest(true)
+                .status(NotificationOutbox.OutboxStatus.SENDING)
+                .attempts(0)
+                .build();
+    }
+}
@@ -0,0 +1,128 @@
+package com.aws.sgmanager.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PartitionedTaskExecutorTest {
+    
+    private PartitionedTaskExecutor partitionedTaskExecutor;
+    
+    private final Map<String, CompletableFuture<String>> running = new ConcurrentHashMap<>();
+    
+    private final List<String> started = new CopyOnWriteArrayList<>();
+    
+    @AfterEach
+    void tearDown() {
+        running.values().forEach(future -> future.complete(null));
+        partitionedTaskExecutor.shutdown();
+    }
+    
+    @Test
+    void testTasksWithSameKeyRunInSubmissionOrder() throws Exception {
+        // Given
+        createExecutor(4, 16, 100);
+        
+        // When
+        CompletableFuture<String> first = partitionedTaskExecutor.submit("sg-1", () -> task("first"));
+        CompletableFuture<String> second = partitionedTaskExecutor.submit("sg-1", () -> task("second"));
+        CompletableFuture<String> third = partitionedTaskExecutor.submit("sg-1", () -> task("third"));
+        
+        // Then
+        awaitStarted(1);
+        Thread.sleep(100);
+        assertEquals(List.of("first"), started);
+        
+        running.get("first").complete("first");
+        assertEquals("first", first.get(1, TimeUnit.SECONDS));
+        awaitStarted(2);
+        assertEquals(List.of("first", "second"), started);
+        
+        // 앞선 작업이 실패해도 다음 작업은 실행
+        running.get("second").completeExceptionally(new RuntimeException("boom"));
+        awaitStarted(3);
+        running.get("third").complete("third");
+        assertEquals("third", third.get(1, TimeUnit.SECONDS));
+        assertTrue(second.isCompletedExceptionally());
+    }
+    
+    @Test
+    void testTasksWithDifferentKeysAreCappedByMaxConcurrency() throws Exception {
+        // Given
+        createExecutor(4, 2, 100);
+        
+        // When
+        List<CompletableFuture<String>> results = List.of(
+                partitionedTaskExecutor.submit("sg-1", () -> task("sg-1")),
+                partitionedTaskExecutor.submit("sg-2", () -> task("sg-2")),
+                partitionedTaskExecutor.submit("sg-3", () -> task("sg-3")));
+                
+        // Then: 키가 달라도 동시에 두 개까지만 시작 (어느 두 개가 먼저인지는 보장하지 않음)
+        awaitStarted(2);
+        Thread.sleep(100);
+        assertEquals(2, started.size());
+        
+        running.get(started.get(0)).complete("done");
+        awaitStarted(3);
+        running.values().forEach(future -> future.complete("done"));
+        for (CompletableFuture<String> result : results) {
+            assertEquals("done", result.get(1, TimeUnit.SECONDS));
+        }
+    }
+    
+    @Test
+    void testSubmitBlocksWhenQueueCapacityIsReached() throws Exception {
+        // Given
+        createExecutor(4, 16, 2);
+        partitionedTaskExecutor.submit("sg-1", () -> task("sg-1"));
+        partitionedTaskExecutor.submit("sg-2", () -> task("sg-2"));
+        awaitStarted(2);
+        
+        // When
+        CompletableFuture<CompletableFuture<String>> blockedSubmit = CompletableFuture.supplyAsync(
+                () -> partitionedTaskExecutor.submit("sg-3", () -> task("sg-3")));
+                
+        // Then
+        Thread.sleep(200);
+        assertFalse(blockedSubmit.isDone());
+        
+        running.get("sg-1").complete("sg-1");
+        CompletableFuture<String> third = blockedSubmit.get(1, TimeUnit.SECONDS);
+        awaitStarted(3);
+        running.get("sg-3").complete("sg-3");
+        assertEquals("sg-3", third.get(1, TimeUnit.SECONDS));
+    }
+    
+    private void createExecutor(int threads, int maxConcurrency, int queueCapacity) {
+        partitionedTaskExecutor = new PartitionedTaskExecutor(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(partitionedTaskExecutor, "threads", threads);
+        ReflectionTestUtils.setField(partitionedTaskExecutor, "maxConcurrency", maxConcurrency);
+        ReflectionTestUtils.setField(partitionedTaskExecutor, "queueCapacity", queueCapacity);
+        partitionedTaskExecutor.initialize();
+    }
+    
+    private CompletableFuture<String> task(String name) {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        running.put(name, future);
+        started.add(name);
+        return future;
+    }
+    
+    private void awaitStarted(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (started.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(count, started.size());
+    }
+}
@@ -0,0 +1,128 @@
+package com.aws.sgmanager.service;
+
+import com.aws.sgmanager.model.SecurityGroup;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecurityGroupCacheTest {
+    
+    private SecurityGroupCache securityGroupCache;
+    
+    private final AtomicInteger loads = new AtomicInteger();
+    
+    private final AtomicInteger resolves = new AtomicInteger();
+    
+    @BeforeEach
+    void setUp() {
+        securityGroupCache = new SecurityGroupCache(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(securityGroupCache, "maxWeight", 1000L);
+        ReflectionTestUtils.setField(securityGroupCache, "ttlSeconds", 60L);
+        securityGroupCache.initialize();
+    }
+    
+    @Test
+    void testRepeatedLookupsHitCacheAcrossBothKeys() {
+        // When
+        Optional<SecurityGroup> first = securityGroupCache.getById("test-id", this::load);
+        Optional<SecurityGroup> second = securityGroupCache.getById("test-id", this::load);
+        Optional<SecurityGroup> byGroupId = securityGroupCache.getByGroupId("sg-12345", this::resolve, this::load);
+        
+        // Then: 같은 캐시 객체를 공유 (읽기 전용)
+        assertTrue(first.isPresent());
+        assertSame(first.get(), second.get());
+        assertSame(first.get(), byGroupId.get());
+        assertEquals(1, loads.get());
+    }
+    
+    @Test
+    void testMissingGroupIsNotCached() {
+        // When
+        securityGroupCache.getById("non-existent", id -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        });
+        Optional<SecurityGroup> result = securityGroupCache.getById("non-existent", this::load);
+        
+        // Then
+        assertTrue(result.isPresent());
+        assertEquals(2, loads.get());
+    }
+    
+    @Test
+    void testInvalidateByGroupIdForcesReload() {
+        // Given
+        securityGroupCache.getById("test-id", this::load);
+        
+        // When
+        securityGroupCache.invalidateGroupIds(List.of("sg-12345"));
+        securityGroupCache.getById("test-id", this::load);
+        
+        // Then
+        assertEquals(2, loads.get());
+    }
+    
+    @Test
+    void testGetByGroupIdResolvesIdOnceThenUsesIndex() {
+        // When
+        Optional<SecurityGroup> first = securityGroupCache.getByGroupId("sg-12345", this::resolve, this::load);
+        Optional<SecurityGroup> second = securityGroupCache.getByGroupId("sg-12345", this::resolve, this::load);
+        
+        // Then
+        assertEquals("test-id", first.get().getId());
+        assertSame(first.get(), second.get());
+        assertEquals(1, resolves.get());
+        assertEquals(1, loads.get());
+    }
+    
+    @Test
+    void testGetByGroupIdForUnknownGroupLoadsNothing() {
+        // When
+        Optional<SecurityGroup> result = securityGroupCache.getByGroupId("sg-missing", groupId -> Optional.empty(), this::load);
+        
+        // Then
+        assertTrue(result.isEmpty());
+        assertEquals(0, loads.get());
+    }
+    
+    @Test
+    void testInvalidateDuringGroupIdLoadIsNotOverwritten() throws Exception {
+        // Given: 로드 도중 다른 스레드에서 무효화 (저장 후 캐시 무효화 흐름)
+        Thread[] invalidator = new Thread[1];
+        
+        // When
+        securityGroupCache.getByGroupId("sg-12345", this::resolve, id -> {
+            invalidator[0] = new Thread(() -> securityGroupCache.invalidate(id));
+            invalidator[0].start();
+            return load(id);
+        });
+        invalidator[0].join();
+        securityGroupCache.getById("test-id", this::load);
+        
+        // Then: 무효화가 로드 결과보다 먼저 반영되지 않으므로 다시 읽음
+        assertEquals(2, loads.get());
+    }
+    
+    private Optional<String> resolve(String groupId) {
+        resolves.incrementAndGet();
+        return Optional.of("test-id");
+    }
+    
+    private Optional<SecurityGroup> load(String id) {
+        loads.incrementAndGet();
+        return Optional.of(SecurityGroup.builder()
+                .id(id)
+                .groupId("sg-12345")
+                .groupName("test-sg")
+                .inboundRules(List.of())
+                .outboundRules(List.of())
+                .build());
+    }
+}
@@ -0,0 +1,162 @@
+package com.aws.sgmanager.service;
+
+import com.aws.sgmanager.model.SecurityGroup;
+import com.aws.sgmanager.model.SecurityGroupRule;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SecurityGroupExportServiceTest {
+    
+    @Mock
+    private MongoTemplate mongoTemplate;
+    
+    private SecurityGroupExportService securityGroupExportService;
+    
+    @BeforeEach
+    void setUp() {
+        securityGroupExportService = new SecurityGroupExportService(mongoTemplate, new ObjectMapper().findAndRegisterModules());
+        ReflectionTestUtils.setField(securityGroupExportService, "cursorBatchSize", 500);
+        securityGroupExportService.initialize();
+    }
+    
+    @Test
+    void testCsvWritesGroupRowForGroupWithoutRules() throws Exception {
+        // Given
+        SecurityGroup empty = group("sg-1", "empty");
+        
+        // When
+        List<String> lines = exportCsv(null, empty);
+        
+        // Then: 규칙 열은 비우고 그룹 한 줄
+        assertEquals(2, lines.size());
+        assertEquals("sg-1,empty,vpc-1,123456789012,us-east-1,,,,,,,,,,,", lines.get(1));
+        assertEquals(lines.get(0).split(",", -1).length, lines.get(1).split(",", -1).length);
+    }
+    
+    @Test
+    void testCsvWritesOneRowPerRule() throws Exception {
+        // Given
+        SecurityGroup web = group("sg-1", "web");
+        web.setInboundRules(List.of(rule("rule-1", SecurityGroupRule.RuleType.INBOUND, "tcp", 443, "https")));
+        web.setOutboundRules(List.of(rule("rule-2", SecurityGroupRule.RuleType.OUTBOUND, "-1", -1, "all traffic")));
+        
+        // When
+        List<String> lines = exportCsv(null, web);
+        
+        // Then
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(1).startsWith("sg-1,web,vpc-1,123456789012,us-east-1,INBOUND,rule-1,tcp,443,443,10.0.0.0/24,"));
+        // 숫자인 -1은 그대로 둠
+        assertTrue(lines.get(2).startsWith("sg-1,web,vpc-1,123456789012,us-east-1,OUTBOUND,rule-2,-1,-1,-1,"));
+    }
+    
+    @Test
+    void testCsvQuotesSeparatorsAndNeutralisesFormulas() throws Exception {
+        // Given
+        SecurityGroup group = group("sg-1", "=HYPERLINK(\"http://evil\",\"x\")");
+        group.setInboundRules(List.of(
+                rule("rule-1", SecurityGroupRule.RuleType.INBOUND, "tcp", 22, "ssh, \"bastion\""),
+                rule("rule-2", SecurityGroupRule.RuleType.INBOUND, "tcp", 80, "@SUM(A1:A2)"),
+                rule("rule-3", SecurityGroupRule.RuleType.INBOUND, "tcp", 8080, "+cmd|' /C calc'!A0"),
+                rule("rule-4", SecurityGroupRule.RuleType.INBOUND, "tcp", 8443, "-2+3")));
+                
+        // When
+        String csv = export(SecurityGroupExportService.ExportFormat.CSV, null, group);
+        
+        // Then
+        assertTrue(csv.contains("sg-1,\"'=HYPERLINK(\"\"http://evil\"\",\"\"x\"\")\",vpc-1,"));
+        assertTrue(csv.contains(",\"ssh, \"\"bastion\"\"\","));
+        assertTrue(csv.contains(",'@SUM(A1:A2),"));
+        assertTrue(csv.contains(",'+cmd|' /C calc'!A0,"));
+        assertTrue(csv.contains(",'-2+3,"));
+    }
+    
+    @Test
+    void testExportResumesAfterGroupId() throws Exception {
+        // Given
+        when(mongoTemplate.stream(any(Query.class), eq(SecurityGroup.class))).thenReturn(Stream.of(group("sg-3", "db")));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        
+        // When
+        long count = securityGroupExportService.export(SecurityGroupExportService.ExportFormat.NDJSON, "sg-2", output);
+        
+        // Then: groupId 순으로 after 다음 그룹부터
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).stream(query.capture(), eq(SecurityGroup.class));
+        assertEquals(new Document("$gt", "sg-2"), query.getValue().getQueryObject().get("groupId"));
+        assertEquals(new Document("groupId", 1), query.getValue().getSortObject());
+        assertEquals(1, count);
+        assertEquals(1, output.toString(StandardCharsets.UTF_8).lines().count());
+    }
+    
+    @Test
+    void testCsvKeepsRowsOfGroupTogetherInGroupIdOrder() throws Exception {
+        // Given
+        SecurityGroup first = group("sg-1", "web");
+        first.setInboundRules(List.of(
+                rule("rule-1", SecurityGroupRule.RuleType.INBOUND, "tcp", 80, null),
+                rule("rule-2", SecurityGroupRule.RuleType.INBOUND, "tcp", 443, null)));
+        SecurityGroup second = group("sg-2", "db");
+        
+        // When
+        List<String> lines = exportCsv(null, first, second);
+        
+        // Then: 마지막 groupId 앞의 그룹은 모두 온전하므로 그 groupId로 이어받을 수 있음
+        assertEquals(List.of("sg-1", "sg-1", "sg-2"), lines.subList(1, lines.size()).stream()
+                .map(line -> line.substring(0, line.indexOf(',')))
+                .toList());
+    }
+    
+    private List<String> exportCsv(String after, SecurityGroup... groups) throws Exception {
+        return export(SecurityGroupExportService.ExportFormat.CSV, after, groups).lines().toList();
+    }
+    
+    private String export(SecurityGroupExportService.ExportFormat format, String after, SecurityGroup... groups) throws Exception {
+        when(mongoTemplate.stream(any(Query.class), eq(SecurityGroup.class))).thenReturn(Stream.of(groups));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        securityGroupExportService.export(format, after, output);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+    
+    private SecurityGroup group(String groupId, String groupName) {
+        return SecurityGroup.builder()
+                .groupId(groupId)
+                .groupName(groupName)
+                .vpcId("vpc-1")
+                .accountId("123456789012")
+                .region("us-east-1")
+                .build();
+    }
+    
+    private SecurityGroupRule rule(String ruleId, SecurityGroupRule.RuleType ruleType, String protocol, int port, String description) {
+        return SecurityGroupRule.builder()
+                .ruleId(ruleId)
+                .ruleType(ruleType)
+                .ipProtocol(protocol)
+                .fromPort(port)
+                .toPort(port)
+                .cidrBlocks(List.of("10.0.0.0/24"))
+                .description(description)
+                .build();
+    }
+}
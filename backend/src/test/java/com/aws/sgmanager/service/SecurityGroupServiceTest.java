@@ -1,22 +1,43 @@
 package com.aws.sgmanager.service;
 
 import com.aws.sgmanager.dto.SecurityGroupDTO;
+import com.aws.sgmanager.dto.SecurityGroupRuleDTO;
+import com.aws.sgmanager.dto.SecurityGroupSearchDTO;
+import com.aws.sgmanager.dto.SecurityGroupSummaryDTO;
+import com.aws.sgmanager.model.ExpirySchedule;
 import com.aws.sgmanager.model.SecurityGroup;
+import com.aws.sgmanager.model.SecurityGroupRule;
 import com.aws.sgmanager.repository.SecurityGroupRepository;
+import org.bson.Document;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,6 +55,21 @@ class SecurityGroupServiceTest {
     @Mock
     private NotificationService notificationService;
     
+    @Mock
+    private MongoTemplate mongoTemplate;
+    
+    @Mock
+    private BulkOperations bulkOperations;
+    
+    @Mock
+    private Ec2ClientPool ec2ClientPool;
+    
+    @Mock
+    private SecurityGroupCache securityGroupCache;
+    
+    @Mock
+    private InventoryGenerationService inventoryGenerationService;
+    
     @InjectMocks
     private SecurityGroupService securityGroupService;
     
@@ -48,6 +84,7 @@ class SecurityGroupServiceTest {
                 .description("Test Security Group")
                 .vpcId("vpc-12345")
                 .ownerId("123456789012")
+                .region("us-east-1")
                 .createdBy("test-user")
                 .createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now())
@@ -58,6 +95,7 @@ class SecurityGroupServiceTest {
     @Test
     void testGetSecurityGroup() {
         // Given
+        loadThroughCache();
         when(securityGroupRepository.findById("test-id")).thenReturn(Optional.of(testSecurityGroup));
         
         // When
@@ -72,6 +110,7 @@ class SecurityGroupServiceTest {
     @Test
     void testGetSecurityGroupNotFound() {
         // Given
+        loadThroughCache();
         when(securityGroupRepository.findById("non-existent")).thenReturn(Optional.empty());
         
         // When
@@ -107,16 +146,17 @@ class SecurityGroupServiceTest {
     void testDeleteSecurityGroup() {
         // Given
         when(securityGroupRepository.findById("test-id")).thenReturn(Optional.of(testSecurityGroup));
-        doNothing().when(awsEc2Service).deleteSecurityGroup("sg-12345");
+        doNothing().when(awsEc2Service).deleteSecurityGroup(new AwsTarget(null, "us-east-1"), "sg-12345");
         doNothing().when(expiryScheduleService).cancelSecurityGroupExpiry("test-id");
         doNothing().when(securityGroupRepository).deleteById("test-id");
         
         // When & Then
         assertDoesNotThrow(() -> securityGroupService.deleteSecurityGroup("test-id"));
         
-        verify(awsEc2Service).deleteSecurityGroup("sg-12345");
+        verify(awsEc2Service).deleteSecurityGroup(new AwsTarget(null, "us-east-1"), "sg-12345");
         verify(expiryScheduleService).cancelSecurityGroupExpiry("test-id");
         verify(securityGroupRepository).deleteById("test-id");
+        verify(inventoryGenerationService).bump();
     }
     
     @Test
@@ -130,4 +170,457 @@ class SecurityGroupServiceTest {
         
         assertEquals("Security Group not found", exception.getMessage());
     }
+    
+    @Test
+    void testSyncWithDatabaseUsesSingleLookupAndBatchedBulkUpserts() {
+        // Given
+        ReflectionTestUtils.setField(securityGroupService, "syncBatchSize", 2);
+        
+        SecurityGroupRule storedRule = SecurityGroupRule.builder()
+                .ruleId("rule-1")
+                .ipProtocol("tcp")
+                .fromPort(443)
+                .toPort(443)
+                .cidrBlocks(new ArrayList<>(List.of("10.0.0.0/8")))
+                .expiryDate(LocalDateTime.now().plusDays(3))
+                .autoDelete(true)
+                .ruleType(SecurityGroupRule.RuleType.INBOUND)
+                .build();
+        testSecurityGroup.setInboundRules(new ArrayList<>(List.of(storedRule)));
+        
+        SecurityGroupRule awsRule = SecurityGroupRule.builder()
+                .ipProtocol("tcp")
+                .fromPort(443)
+                .toPort(443)
+                .cidrBlocks(List.of("10.0.0.0/8"))
+                .ruleType(SecurityGroupRule.RuleType.INBOUND)
+                .build();
+        
+        List<SecurityGroup> awsGroups = List.of(
+                SecurityGroup.builder().groupId("sg-12345").groupName("test-sg")
+                        .inboundRules(new ArrayList<>(List.of(awsRule))).outboundRules(new ArrayList<>()).build(),
+                SecurityGroup.builder().groupId("sg-new-1").groupName("new-1").build(),
+                SecurityGroup.builder().groupId("sg-new-2").groupName("new-2").build());
+        
+        when(securityGroupRepository.findByGroupIdIn(anyCollection())).thenReturn(List.of(testSecurityGroup));
+        when(mongoTemplate.bulkOps(eq(BulkOperations.BulkMode.UNORDERED), eq(SecurityGroup.class)))
+                .thenReturn(bulkOperations);
+        
+        // When
+        SecurityGroupService.SyncStats stats = securityGroupService.syncWithDatabase(awsGroups);
+        
+        // Then
+        assertEquals(1, stats.getUpdated());
+        assertEquals(2, stats.getCreated());
+        assertEquals("rule-1", awsRule.getRuleId());
+        assertTrue(awsRule.isAutoDelete());
+        
+        verify(securityGroupRepository, times(1)).findByGroupIdIn(anyCollection());
+        verify(securityGroupRepository, never()).findByGroupId(any());
+        verify(securityGroupRepository, never()).save(any());
+        verify(bulkOperations, times(3)).upsert(any(Query.class), any(Update.class));
+        verify(bulkOperations, times(2)).execute();
+        verify(securityGroupCache).invalidateGroupIds(List.of("sg-12345"));
+        verify(inventoryGenerationService, times(1)).bump();
+    }
+    
+    @Test
+    void testSyncWithDatabaseOnlyTouchesLastSyncedAtForUnchangedGroups() {
+        // Given
+        testSecurityGroup.setContentHash("hash-1");
+        SecurityGroup awsGroup = SecurityGroup.builder()
+                .groupId("sg-12345")
+                .groupName("test-sg")
+                .contentHash("hash-1")
+                .build();
+        
+        when(securityGroupRepository.findByGroupIdIn(anyCollection())).thenReturn(List.of(testSecurityGroup));
+        when(mongoTemplate.bulkOps(eq(BulkOperations.BulkMode.UNORDERED), eq(SecurityGroup.class)))
+                .thenReturn(bulkOperations);
+        
+        // When
+        SecurityGroupService.SyncStats stats = securityGroupService.syncWithDatabase(List.of(awsGroup));
+        
+        // Then
+        assertEquals(1, stats.getUnchanged());
+        assertEquals(0, stats.getUpdated());
+        assertEquals(0, stats.getCreated());
+        
+        verify(bulkOperations, never()).upsert(any(Query.class), any(Update.class));
+        ArgumentCaptor<Update> touch = ArgumentCaptor.forClass(Update.class);
+        verify(bulkOperations).updateMulti(any(Query.class), touch.capture());
+        verify(bulkOperations).execute();
+        
+        // 내용이 같으면 그룹/인벤토리 세대(ETag)는 그대로
+        assertEquals(Set.of("$set"), touch.getValue().getUpdateObject().keySet());
+        verify(securityGroupCache).invalidateGroupIds(List.of());
+        verifyNoInteractions(inventoryGenerationService);
+    }
+    
+    @Test
+    void testReconcileMarksMissingGroupsDeletedAndCancelsTheirSchedules() {
+        // Given
+        LocalDateTime syncStartedAt = LocalDateTime.now().minusMinutes(1);
+        SecurityGroup stillInAws = SecurityGroup.builder().id("alive-id").groupId("sg-alive").build();
+        when(ec2ClientPool.getDefaultRegion()).thenReturn("us-east-1");
+        when(mongoTemplate.find(any(Query.class), eq(SecurityGroup.class))).thenReturn(List.of(testSecurityGroup, stillInAws));
+        
+        // When
+        int deleted = securityGroupService.reconcileDeletedGroups(new AwsTarget(null, "us-east-1"), Set.of("sg-alive"), syncStartedAt);
+        
+        // Then
+        assertEquals(1, deleted);
+        ArgumentCaptor<Query> scheduleQuery = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> scheduleUpdate = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateMulti(scheduleQuery.capture(), scheduleUpdate.capture(), eq(ExpirySchedule.class));
+        assertEquals(List.of("test-id"), scheduleQuery.getValue().getQueryObject().get("securityGroupId", Document.class).get("$in"));
+        assertEquals(ExpirySchedule.ExpiryStatus.SCHEDULED, scheduleQuery.getValue().getQueryObject().get("status"));
+        assertEquals(ExpirySchedule.ExpiryStatus.CANCELLED, scheduleUpdate.getValue().getUpdateObject().get("$set", Document.class).get("status"));
+        
+        ArgumentCaptor<Query> groupQuery = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> groupUpdate = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateMulti(groupQuery.capture(), groupUpdate.capture(), eq(SecurityGroup.class));
+        assertEquals(List.of("test-id"), groupQuery.getValue().getQueryObject().get("id", Document.class).get("$in"));
+        assertEquals(SecurityGroup.SyncStatus.DELETED, groupUpdate.getValue().getUpdateObject().get("$set", Document.class).get("syncStatus"));
+        
+        verify(mongoTemplate, never()).remove(any(Query.class), any(Class.class));
+        verify(securityGroupCache).invalidateAll(List.of("test-id"));
+        verify(inventoryGenerationService).bump();
+    }
+    
+    @Test
+    void testReconcilePurgesMissingGroupsWithTheirSchedulesWhenConfigured() {
+        // Given
+        ReflectionTestUtils.setField(securityGroupService, "purgeDeletedGroups", true);
+        when(ec2ClientPool.getDefaultRegion()).thenReturn("us-east-1");
+        when(mongoTemplate.find(any(Query.class), eq(SecurityGroup.class))).thenReturn(List.of(testSecurityGroup));
+        
+        // When
+        int deleted = securityGroupService.reconcileDeletedGroups(new AwsTarget(null, "us-east-1"), Set.of(), LocalDateTime.now());
+        
+        // Then
+        assertEquals(1, deleted);
+        verify(mongoTemplate).remove(argThat((Query query) -> query.getQueryObject().containsKey("securityGroupId")), eq(ExpirySchedule.class));
+        verify(mongoTemplate).remove(argThat((Query query) -> query.getQueryObject().containsKey("id")), eq(SecurityGroup.class));
+        verify(mongoTemplate, never()).updateMulti(any(Query.class), any(Update.class), any(Class.class));
+        verify(securityGroupCache).invalidateAll(List.of("test-id"));
+        verify(inventoryGenerationService).bump();
+    }
+    
+    @Test
+    void testReconcileOnlyConsidersGroupsNotSyncedSinceTheRunStarted() {
+        // Given
+        LocalDateTime syncStartedAt = LocalDateTime.now().minusMinutes(1);
+        when(ec2ClientPool.getDefaultRegion()).thenReturn("us-east-1");
+        when(mongoTemplate.find(any(Query.class), eq(SecurityGroup.class))).thenReturn(List.of());
+        
+        // When
+        int deleted = securityGroupService.reconcileDeletedGroups(new AwsTarget(null, "us-east-1"), Set.of(), syncStartedAt);
+        
+        // Then: 동기화 시작 이후 갱신된 그룹(다른 경로로 생성/동기화)은 조회 조건에서 제외
+        assertEquals(0, deleted);
+        List<Document> criteria = andCriteria(capturedReconcileQuery());
+        assertEquals(new Document("syncStatus", new Document("$ne", SecurityGroup.SyncStatus.DELETED)), criteria.get(2));
+        assertEquals(new Document("$or", List.of(
+                        new Document("lastSyncedAt", new Document("$lt", syncStartedAt)),
+                        new Document("lastSyncedAt", null))),
+                criteria.get(3));
+        verify(mongoTemplate, never()).updateMulti(any(Query.class), any(Update.class), any(Class.class));
+        verifyNoInteractions(securityGroupCache, inventoryGenerationService);
+    }
+    
+    @Test
+    void testReconcileIsScopedToTargetAccountAndRegion() {
+        // Given
+        when(ec2ClientPool.getDefaultRegion()).thenReturn("us-east-1");
+        when(mongoTemplate.find(any(Query.class), eq(SecurityGroup.class))).thenReturn(List.of());
+        
+        // When
+        securityGroupService.reconcileDeletedGroups(new AwsTarget("111122223333", "eu-west-1"), Set.of(), LocalDateTime.now());
+        
+        // Then
+        List<Document> criteria = andCriteria(capturedReconcileQuery());
+        assertEquals(new Document("accountId", "111122223333"), criteria.get(0));
+        assertEquals(new Document("region", "eu-west-1"), criteria.get(1));
+    }
+    
+    @Test
+    void testReconcileTreatsGroupsWithoutRegionAsDefaultRegion() {
+        // Given
+        when(ec2ClientPool.getDefaultRegion()).thenReturn("us-east-1");
+        when(mongoTemplate.find(any(Query.class), eq(SecurityGroup.class))).thenReturn(List.of());
+        
+        // When
+        securityGroupService.reconcileDeletedGroups(new AwsTarget(null, "us-east-1"), Set.of(), LocalDateTime.now());
+        
+        // Then: 기본 계정은 accountId 필드가 없는 문서와, 기본 리전은 region이 없는 문서와도 일치
+        List<Document> criteria = andCriteria(capturedReconcileQuery());
+        assertEquals(new Document("accountId", null), criteria.get(0));
+        assertEquals(new Document("region", new Document("$in", Arrays.asList("us-east-1", null))), criteria.get(1));
+    }
+    
+    @Test
+    void testAddInboundRulesUsesSingleAwsCallAndBulkSchedules() {
+        // Given
+        when(securityGroupRepository.findById("test-id")).thenReturn(Optional.of(testSecurityGroup));
+        when(securityGroupRepository.save(any(SecurityGroup.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        
+        List<SecurityGroupRuleDTO> ruleDTOs = List.of(
+                ruleDTO("10.0.0.0/24", LocalDateTime.now().plusDays(7)),
+                ruleDTO("10.0.1.0/24", null),
+                ruleDTO("10.0.0.0/24", LocalDateTime.now().plusDays(7)));
+                
+        // When
+        SecurityGroupDTO result = securityGroupService.addInboundRules("test-id", ruleDTOs, "admin");
+        
+        // Then
+        assertEquals(2, result.getInboundRules().size());
+        verify(awsEc2Service).addInboundRules(eq(new AwsTarget(null, "us-east-1")), eq("sg-12345"),
+                argThat(rules -> rules.size() == 2));
+        verify(securityGroupRepository, times(1)).save(any(SecurityGroup.class));
+        verify(expiryScheduleService).scheduleRuleExpiries(eq("test-id"), argThat(rules -> rules.size() == 1), eq("admin"));
+    }
+    
+    @Test
+    void testAddInboundRulesStoresRuleStatsAndDerivesExpiryFromSnapshot() {
+        // Given
+        when(securityGroupRepository.findById("test-id")).thenReturn(Optional.of(testSecurityGroup));
+        when(securityGroupRepository.save(any(SecurityGroup.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        
+        LocalDateTime earliest = LocalDateTime.now().minusHours(1);
+        List<SecurityGroupRuleDTO> ruleDTOs = List.of(
+                ruleDTO("10.0.0.0/24", earliest),
+                ruleDTO("10.0.1.0/24", LocalDateTime.now().plusDays(7)));
+                
+        // When
+        SecurityGroupDTO result = securityGroupService.addInboundRules("test-id", ruleDTOs, "admin");
+        
+        // Then
+        assertEquals(2, testSecurityGroup.getTotalInboundRules());
+        assertEquals(earliest, testSecurityGroup.getEarliestRuleExpiry());
+        assertEquals("443", testSecurityGroup.getInboundRules().get(0).getPortRange());
+        assertEquals(1, result.getExpiredRulesCount());
+        assertTrue(result.getInboundRules().get(0).isExpired());
+        assertFalse(result.getInboundRules().get(1).isExpired());
+        assertEquals(1, result.getGeneration());
+        verify(inventoryGenerationService).bump();
+    }
+    
+    @Test
+    void testAddInboundRuleRejectsRuleThatAlreadyExists() {
+        // Given
+        SecurityGroupRule existing = SecurityGroupRule.builder()
+                .ruleId("rule-1")
+                .ruleType(SecurityGroupRule.RuleType.INBOUND)
+                .ipProtocol("tcp")
+                .fromPort(443)
+                .toPort(443)
+                .cidrBlocks(List.of("10.0.0.0/24"))
+                .build();
+        testSecurityGroup.setInboundRules(new ArrayList<>(List.of(existing)));
+        when(securityGroupRepository.findById("test-id")).thenReturn(Optional.of(testSecurityGroup));
+        
+        // When & Then
+        SecurityGroupRuleDTO duplicate = ruleDTO("10.0.0.0/24", LocalDateTime.now().plusDays(7));
+        assertThrows(IllegalStateException.class,
+                () -> securityGroupService.addInboundRule("test-id", duplicate, "admin"));
+        verifyNoInteractions(awsEc2Service, expiryScheduleService);
+        verify(securityGroupRepository, never()).save(any(SecurityGroup.class));
+    }
+    
+    @Test
+    void testSearchSecurityGroupsCombinesFiltersWithAnd() {
+        // Given
+        SecurityGroupSearchDTO filter = SecurityGroupSearchDTO.builder()
+                .vpcId("vpc-12345")
+                .accountId("123456789012")
+                .region("us-east-1")
+                .namePrefix("web")
+                .tagKey("env")
+                .tagValue("prod")
+                .build();
+                
+        // When
+        Query query = search(filter, PageRequest.of(0, 20));
+        
+        // Then: syncStatus가 없으면 DELETED 제외
+        List<Document> criteria = andCriteria(query);
+        assertEquals(6, criteria.size());
+        assertEquals(new Document("syncStatus", new Document("$ne", SecurityGroup.SyncStatus.DELETED)), criteria.get(0));
+        assertEquals(new Document("vpcId", "vpc-12345"), criteria.get(1));
+        assertEquals(new Document("accountId", "123456789012"), criteria.get(2));
+        assertEquals(new Document("region", "us-east-1"), criteria.get(3));
+        assertTrue(criteria.get(4).containsKey("groupName"));
+        assertEquals(new Document("tags.env", "prod"), criteria.get(5));
+    }
+    
+    @Test
+    void testSearchWithoutTagValueMatchesTagPresence() {
+        // Given
+        SecurityGroupSearchDTO filter = SecurityGroupSearchDTO.builder()
+                .tagKey("env")
+                .syncStatus(SecurityGroup.SyncStatus.SYNCED)
+                .build();
+                
+        // When
+        Query query = search(filter, PageRequest.of(0, 20));
+        
+        // Then
+        List<Document> criteria = andCriteria(query);
+        assertEquals(new Document("syncStatus", SecurityGroup.SyncStatus.SYNCED), criteria.get(0));
+        assertEquals(new Document("tags.env", new Document("$exists", true)), criteria.get(1));
+    }
+    
+    @Test
+    void testSearchForGroupsWithoutExpiredRulesUsesNor() {
+        // Given
+        SecurityGroupSearchDTO filter = SecurityGroupSearchDTO.builder()
+                .hasExpiredRules(false)
+                .build();
+                
+        // When
+        Query query = search(filter, PageRequest.of(0, 20));
+        
+        // Then: 만료 규칙이 하나도 없는 그룹 (inbound/outbound 모두)
+        Document expired = andCriteria(query).get(1);
+        List<?> nor = expired.get("$nor", List.class);
+        assertEquals(2, nor.size());
+        assertTrue(((Document) nor.get(0)).containsKey("inboundRules"));
+        assertTrue(((Document) nor.get(1)).containsKey("outboundRules"));
+    }
+    
+    @Test
+    void testSearchForGroupsWithExpiredRulesUsesOr() {
+        // Given
+        SecurityGroupSearchDTO filter = SecurityGroupSearchDTO.builder()
+                .hasExpiredRules(true)
+                .build();
+                
+        // When
+        Query query = search(filter, PageRequest.of(0, 20));
+        
+        // Then
+        assertEquals(2, andCriteria(query).get(1).get("$or", List.class).size());
+    }
+    
+    @Test
+    void testSearchRejectsInvalidTagKey() {
+        // Given
+        SecurityGroupSearchDTO nested = SecurityGroupSearchDTO.builder().tagKey("env.name").build();
+        SecurityGroupSearchDTO operator = SecurityGroupSearchDTO.builder().tagKey("$where").build();
+        
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+                () -> securityGroupService.searchSecurityGroups(nested, PageRequest.of(0, 20)));
+        assertThrows(IllegalArgumentException.class,
+                () -> securityGroupService.searchSecurityGroupSummaries(operator, PageRequest.of(0, 20)));
+        verifyNoInteractions(mongoTemplate);
+    }
+    
+    @Test
+    void testSearchRejectsUnsupportedSortProperty() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 20, Sort.by("groupName").and(Sort.by("contentHash")));
+        
+        // When & Then
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> securityGroupService.searchSecurityGroups(new SecurityGroupSearchDTO(), pageable));
+        assertTrue(error.getMessage().contains("contentHash"));
+        verifyNoInteractions(mongoTemplate);
+    }
+    
+    @Test
+    void testSearchSortsByRequestedFieldThenId() {
+        // When
+        Query sorted = search(new SecurityGroupSearchDTO(), PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "expiryDate")));
+        
+        // Then
+        assertEquals(new Document("expiryDate", -1).append("id", 1), sorted.getSortObject());
+    }
+    
+    @Test
+    void testSearchDefaultsToGroupNameSort() {
+        // When
+        Query unsorted = search(new SecurityGroupSearchDTO(), PageRequest.of(0, 20));
+        
+        // Then
+        assertEquals(new Document("groupName", 1).append("id", 1), unsorted.getSortObject());
+    }
+    
+    @Test
+    void testSummaryCountsExpiredRulesWhenRuleStatsAreMissing() {
+        // Given: backfill 전 문서 (규칙 요약 필드 없음)
+        testSecurityGroup.setInboundRules(List.of(
+                SecurityGroupRule.builder().expiryDate(LocalDateTime.now().minusDays(1)).build(),
+                SecurityGroupRule.builder().expiryDate(LocalDateTime.now().plusDays(1)).build()));
+        testSecurityGroup.setOutboundRules(List.of(SecurityGroupRule.builder().build()));
+        when(mongoTemplate.find(any(Query.class), eq(SecurityGroup.class))).thenReturn(List.of(testSecurityGroup));
+        
+        // When
+        SecurityGroupSummaryDTO summary = securityGroupService
+                .searchSecurityGroupSummaries(new SecurityGroupSearchDTO(), PageRequest.of(0, 20))
+                .getContent().get(0);
+                
+        // Then: 규칙을 직접 살펴봄
+        assertEquals(1, summary.getExpiredRulesCount());
+        assertTrue(summary.isHasExpiredRules());
+        assertEquals(2, summary.getTotalInboundRules());
+        assertEquals(1, summary.getTotalOutboundRules());
+    }
+    
+    @Test
+    void testSummaryTrustsRuleStatsWhenEarliestExpiryIsInFuture() {
+        // Given
+        testSecurityGroup.setInboundRules(List.of(SecurityGroupRule.builder().expiryDate(LocalDateTime.now().plusDays(1)).build()));
+        testSecurityGroup.setTotalInboundRules(1);
+        testSecurityGroup.setEarliestRuleExpiry(LocalDateTime.now().plusDays(1));
+        when(mongoTemplate.find(any(Query.class), eq(SecurityGroup.class))).thenReturn(List.of(testSecurityGroup));
+        
+        // When
+        SecurityGroupSummaryDTO summary = securityGroupService
+                .searchSecurityGroupSummaries(new SecurityGroupSearchDTO(), PageRequest.of(0, 20))
+                .getContent().get(0);
+                
+        // Then
+        assertEquals(0, summary.getExpiredRulesCount());
+        assertEquals(1, summary.getTotalInboundRules());
+    }
+    
+    private Query search(SecurityGroupSearchDTO filter, Pageable pageable) {
+        when(mongoTemplate.find(any(Query.class), eq(SecurityGroup.class))).thenReturn(List.of());
+        securityGroupService.searchSecurityGroups(filter, pageable);
+        
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(SecurityGroup.class));
+        return query.getValue();
+    }
+    
+    private Query capturedReconcileQuery() {
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(SecurityGroup.class));
+        return query.getValue();
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static List<Document> andCriteria(Query query) {
+        return (List<Document>) query.getQueryObject().get("$and", List.class);
+    }
+    
+    private SecurityGroupRuleDTO ruleDTO(String cidr, LocalDateTime expiryDate) {
+        return SecurityGroupRuleDTO.builder()
+                .ipProtocol("tcp")
+                .fromPort(443)
+                .toPort(443)
+                .cidrBlocks(List.of(cidr))
+                .expiryDate(expiryDate)
+                .autoDelete(expiryDate != null)
+                .build();
+    }
+    
+    private void loadThroughCache() {
+        when(securityGroupCache.getById(any(), any())).thenAnswer(invocation -> {
+            Function<String, Optional<SecurityGroup>> loader = invocation.getArgument(1);
+            return loader.apply(invocation.getArgument(0));
+        });
+    }
 }
@@ -0,0 +1,222 @@
+package com.aws.sgmanager.service;
+
+import com.aws.sgmanager.dto.SyncResultDTO;
+import com.aws.sgmanager.model.SecurityGroup;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SecurityGroupSyncServiceTest {
+    
+    @Mock
+    private AwsEc2Service awsEc2Service;
+    
+    @Mock
+    private SecurityGroupService securityGroupService;
+    
+    @Mock
+    private Ec2ClientPool ec2ClientPool;
+    
+    @InjectMocks
+    private SecurityGroupSyncService securityGroupSyncService;
+    
+    private final CountDownLatch stalled = new CountDownLatch(1);
+    
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(securityGroupSyncService, "pageSize", 500);
+        ReflectionTestUtils.setField(securityGroupSyncService, "parallelism", 2);
+        ReflectionTestUtils.setField(securityGroupSyncService, "regionTimeoutSeconds", 1L);
+        securityGroupSyncService.initialize();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        stalled.countDown();
+        securityGroupSyncService.shutdown();
+    }
+    
+    @Test
+    void testStalledRegionTimesOutWithoutBlockingOtherRegions() throws Exception {
+        // Given
+        AwsTarget stalledTarget = new AwsTarget(null, "ap-northeast-2");
+        AwsTarget healthyTarget = new AwsTarget(null, "us-east-1");
+        when(ec2ClientPool.getTargets()).thenReturn(List.of(stalledTarget, healthyTarget));
+        when(awsEc2Service.streamSecurityGroups(eq(stalledTarget), anyInt(), any())).thenAnswer(invocation -> {
+            // 첫 페이지 응답이 오지 않는 EC2 호출
+            stalled.await();
+            return 0;
+        });
+        when(awsEc2Service.streamSecurityGroups(eq(healthyTarget), anyInt(), any())).thenReturn(0);
+        
+        // When
+        SyncResultDTO result = securityGroupSyncService.syncNow();
+        
+        // Then
+        assertEquals(SyncResultDTO.SyncRunStatus.PARTIAL, result.getStatus());
+        SyncResultDTO.RegionResult stalledResult = result.getRegionResults().get(0);
+        assertEquals(SyncResultDTO.SyncRunStatus.FAILED, stalledResult.getStatus());
+        assertTrue(stalledResult.getErrorMessage().contains("timed out"));
+        assertEquals(SyncResultDTO.SyncRunStatus.SUCCESS, result.getRegionResults().get(1).getStatus());
+        verify(securityGroupService, never()).reconcileDeletedGroups(eq(stalledTarget), any(), any());
+        
+        // 다음 동기화가 SKIPPED로 막히지 않아야 함
+        SyncResultDTO next = securityGroupSyncService.syncNow();
+        assertNotEquals(SyncResultDTO.SyncRunStatus.SKIPPED, next.getStatus());
+    }
+    
+    @Test
+    void testSecondTriggerIsSkippedWhileSyncIsRunning() throws Exception {
+        // Given
+        AwsTarget target = new AwsTarget(null, "us-east-1");
+        CountDownLatch entered = new CountDownLatch(1);
+        when(ec2ClientPool.getTargets()).thenReturn(List.of(target));
+        when(awsEc2Service.streamSecurityGroups(eq(target), anyInt(), any())).thenAnswer(invocation -> {
+            entered.countDown();
+            stalled.await();
+            return 0;
+        });
+        CompletableFuture<SyncResultDTO> first = CompletableFuture.supplyAsync(securityGroupSyncService::syncNow);
+        assertTrue(entered.await(1, TimeUnit.SECONDS));
+        
+        // When
+        SyncResultDTO second = securityGroupSyncService.syncNow();
+        
+        // Then
+        assertEquals(SyncResultDTO.SyncRunStatus.SKIPPED, second.getStatus());
+        assertEquals(SyncResultDTO.SyncRunStatus.RUNNING, securityGroupSyncService.getLastResult().orElseThrow().getStatus());
+        stalled.countDown();
+        assertEquals(SyncResultDTO.SyncRunStatus.SUCCESS, first.get(2, TimeUnit.SECONDS).getStatus());
+        verify(awsEc2Service, times(1)).streamSecurityGroups(any(), anyInt(), any());
+    }
+    
+    @Test
+    void testSuccessfulSyncAggregatesRegionsAndAdvancesLastSyncedAt() {
+        // Given
+        AwsTarget first = new AwsTarget(null, "us-east-1");
+        AwsTarget second = new AwsTarget("111122223333", "eu-west-1");
+        when(ec2ClientPool.getTargets()).thenReturn(List.of(first, second));
+        when(securityGroupService.syncWithDatabase(any())).thenReturn(
+                SecurityGroupService.SyncStats.builder().created(1).updated(1).unchanged(1).build());
+        when(awsEc2Service.streamSecurityGroups(any(), anyInt(), any())).thenAnswer(invocation -> {
+            Consumer<List<SecurityGroup>> pageConsumer = invocation.getArgument(2);
+            pageConsumer.accept(List.of(group("sg-1"), group("sg-2"), group("sg-3")));
+            return 3;
+        });
+        when(securityGroupService.reconcileDeletedGroups(any(), any(), any())).thenReturn(1);
+        
+        // When
+        SyncResultDTO result = securityGroupSyncService.syncNow();
+        
+        // Then
+        assertEquals(SyncResultDTO.SyncRunStatus.SUCCESS, result.getStatus());
+        assertEquals(2, result.getPageCount());
+        assertEquals(6, result.getFetchedCount());
+        assertEquals(2, result.getCreatedCount());
+        assertEquals(2, result.getUpdatedCount());
+        assertEquals(2, result.getUnchangedCount());
+        assertEquals(2, result.getDeletedCount());
+        assertEquals("111122223333", result.getRegionResults().get(1).getAccountId());
+        assertEquals(3, result.getRegionResults().get(1).getFetchedCount());
+        verify(securityGroupService).reconcileDeletedGroups(eq(first), eq(Set.of("sg-1", "sg-2", "sg-3")), eq(result.getStartedAt()));
+        
+        // 성공한 동기화의 시작 시각이 신선도 기준 (DB 조회 없음)
+        assertEquals(Optional.of(result.getStartedAt()), securityGroupSyncService.getLastSyncedAt());
+        verify(securityGroupService, never()).getLatestSyncedAt();
+    }
+    
+    @Test
+    void testFailedSyncKeepsPreviousLastSyncedAt() {
+        // Given
+        AwsTarget first = new AwsTarget(null, "us-east-1");
+        AwsTarget second = new AwsTarget(null, "eu-west-1");
+        when(ec2ClientPool.getTargets()).thenReturn(List.of(first, second));
+        when(awsEc2Service.streamSecurityGroups(any(), anyInt(), any())).thenReturn(0);
+        SyncResultDTO succeeded = securityGroupSyncService.syncNow();
+        
+        when(awsEc2Service.streamSecurityGroups(any(), anyInt(), any())).thenThrow(new RuntimeException("AuthFailure"));
+        
+        // When
+        SyncResultDTO failed = securityGroupSyncService.syncNow();
+        
+        // Then: 모든 대상이 실패하면 FAILED, 신선도 기준은 이전 성공 시각 유지
+        assertEquals(SyncResultDTO.SyncRunStatus.FAILED, failed.getStatus());
+        assertEquals("All targets failed", failed.getErrorMessage());
+        assertTrue(failed.getRegionResults().stream()
+                .allMatch(regionResult -> regionResult.getStatus() == SyncResultDTO.SyncRunStatus.FAILED));
+        assertEquals(Optional.of(succeeded.getStartedAt()), securityGroupSyncService.getLastSyncedAt());
+        assertEquals(failed, securityGroupSyncService.getLastResult().orElseThrow());
+    }
+    
+    @Test
+    void testPartialSyncReportsFailedTargetCount() {
+        // Given
+        AwsTarget failing = new AwsTarget(null, "us-east-1");
+        AwsTarget healthy = new AwsTarget(null, "eu-west-1");
+        when(ec2ClientPool.getTargets()).thenReturn(List.of(failing, healthy));
+        when(awsEc2Service.streamSecurityGroups(eq(failing), anyInt(), any())).thenThrow(new RuntimeException("AuthFailure"));
+        when(awsEc2Service.streamSecurityGroups(eq(healthy), anyInt(), any())).thenReturn(0);
+        LocalDateTime storedSyncAt = LocalDateTime.now().minusHours(1);
+        when(securityGroupService.getLatestSyncedAt()).thenReturn(Optional.of(storedSyncAt));
+        
+        // When
+        SyncResultDTO result = securityGroupSyncService.syncNow();
+        
+        // Then: 부분 성공은 신선도 기준을 올리지 않음 (성공한 동기화가 없으면 DB의 최신 lastSyncedAt)
+        assertEquals(SyncResultDTO.SyncRunStatus.PARTIAL, result.getStatus());
+        assertEquals("1 of 2 targets failed", result.getErrorMessage());
+        assertEquals("AuthFailure", result.getRegionResults().get(0).getErrorMessage());
+        assertEquals(Optional.of(storedSyncAt), securityGroupSyncService.getLastSyncedAt());
+    }
+    
+    @Test
+    void testRegionFailingMidPaginationNeverReachesReconciliation() {
+        // Given: 첫 페이지는 반영됐지만 다음 페이지 조회가 실패한 리전
+        AwsTarget failingTarget = new AwsTarget(null, "ap-northeast-2");
+        AwsTarget healthyTarget = new AwsTarget(null, "us-east-1");
+        when(ec2ClientPool.getTargets()).thenReturn(List.of(failingTarget, healthyTarget));
+        when(securityGroupService.syncWithDatabase(any())).thenReturn(SecurityGroupService.SyncStats.builder().build());
+        when(awsEc2Service.streamSecurityGroups(eq(failingTarget), anyInt(), any())).thenAnswer(invocation -> {
+            Consumer<List<SecurityGroup>> pageConsumer = invocation.getArgument(2);
+            pageConsumer.accept(List.of(group("sg-1")));
+            throw new IllegalStateException("RequestLimitExceeded");
+        });
+        when(awsEc2Service.streamSecurityGroups(eq(healthyTarget), anyInt(), any())).thenReturn(0);
+        
+        // When
+        SyncResultDTO result = securityGroupSyncService.syncNow();
+        
+        // Then: 일부 페이지만 본 리전에서 삭제를 판정하면 나머지 그룹이 모두 DELETED가 됨
+        SyncResultDTO.RegionResult failedResult = result.getRegionResults().get(0);
+        assertEquals(SyncResultDTO.SyncRunStatus.FAILED, failedResult.getStatus());
+        assertEquals("RequestLimitExceeded", failedResult.getErrorMessage());
+        assertEquals(1, failedResult.getFetchedCount());
+        verify(securityGroupService, never()).reconcileDeletedGroups(eq(failingTarget), any(), any());
+        verify(securityGroupService).reconcileDeletedGroups(eq(healthyTarget), eq(Set.of()), eq(result.getStartedAt()));
+    }
+    
+    private SecurityGroup group(String groupId) {
+        return SecurityGroup.builder().groupId(groupId).build();
+    }
+}
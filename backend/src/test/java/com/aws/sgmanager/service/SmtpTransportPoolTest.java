@@ -0,0 +1,129 @@
+package com.aws.sgmanager.service;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.Transport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SmtpTransportPoolTest {
+    
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+    
+    private SmtpTransportPool smtpTransportPool;
+    
+    @BeforeEach
+    void setUp() {
+        smtpTransportPool = pool(greenMail.getSmtp().getPort());
+    }
+    
+    @AfterEach
+    void tearDown() {
+        smtpTransportPool.shutdown();
+    }
+    
+    @Test
+    void testSendReusesPooledConnection() {
+        // When
+        smtpTransportPool.send(List.of(message("first@sgmanager.com")));
+        Object first = idle().peekFirst();
+        smtpTransportPool.send(List.of(message("second@sgmanager.com")));
+        
+        // Then: 두 번째 묶음도 같은 연결로 전송
+        assertEquals(1, idle().size());
+        assertSame(first, idle().peekFirst());
+        assertEquals(2, greenMail.getReceivedMessages().length);
+    }
+    
+    @Test
+    void testEvictIdleTransportsClosesUnusedConnections() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(smtpTransportPool, "idleTimeoutMs", 1L);
+        smtpTransportPool.send(List.of(message("admin@sgmanager.com")));
+        Transport transport = transportOf(idle().peekFirst());
+        Thread.sleep(20);
+        
+        // When
+        smtpTransportPool.evictIdleTransports();
+        
+        // Then
+        assertTrue(idle().isEmpty());
+        assertFalse(transport.isConnected());
+    }
+    
+    @Test
+    void testSendReportsFailuresPerMessage() {
+        // Given
+        List<SimpleMailMessage> messages = List.of(
+                message("first@sgmanager.com"),
+                message("not an address@@"),
+                message("third@sgmanager.com"));
+                
+        // When
+        Map<Integer, Exception> failures = smtpTransportPool.send(messages);
+        
+        // Then: 실패한 메시지만 보고하고 나머지는 같은 연결로 전송
+        assertEquals(Map.of(1, failures.get(1)), failures);
+        assertEquals(2, greenMail.getReceivedMessages().length);
+        assertEquals(1, idle().size());
+    }
+    
+    @Test
+    void testSendReportsEveryMessageWhenServerIsUnreachable() {
+        // Given
+        SmtpTransportPool unreachable = pool(1);
+        
+        // When
+        Map<Integer, Exception> failures = unreachable.send(List.of(
+                message("first@sgmanager.com"),
+                message("second@sgmanager.com")));
+                
+        // Then
+        assertEquals(2, failures.size());
+        assertSame(failures.get(0), failures.get(1));
+        assertEquals(0, greenMail.getReceivedMessages().length);
+    }
+    
+    private SmtpTransportPool pool(int port) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(port);
+        
+        SmtpTransportPool pool = new SmtpTransportPool(mailSender);
+        ReflectionTestUtils.setField(pool, "poolSize", 2);
+        ReflectionTestUtils.setField(pool, "borrowTimeoutMs", 1000L);
+        ReflectionTestUtils.setField(pool, "idleTimeoutMs", 60000L);
+        pool.initialize();
+        return pool;
+    }
+    
+    private SimpleMailMessage message(String to) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom("noreply@sgmanager.com");
+        message.setTo(to);
+        message.setSubject("[AWS SG Manager] test");
+        message.setText("body");
+        return message;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private Deque<Object> idle() {
+        return (Deque<Object>) ReflectionTestUtils.getField(smtpTransportPool, "idle");
+    }
+    
+    private static Transport transportOf(Object pooled) {
+        return (Transport) ReflectionTestUtils.getField(pooled, "transport");
+    }
+}